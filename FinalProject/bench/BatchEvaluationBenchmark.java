@@ -0,0 +1,40 @@
+import java.util.SplittableRandom;
+
+/**
+ * Compares scoring hands one at a time through {@code HoldemModel.createHand} with the stateless
+ * {@code HoldemModel.evaluateBatch} path, on the same random hands.
+ */
+public class BatchEvaluationBenchmark {
+  private static final int HANDS = 1 << 16;
+
+  public static void main(String[] args) {
+    SplittableRandom random = new SplittableRandom(5004);
+    int[] encoded = new int[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      int card1 = random.nextInt(CardF.DECK_SIZE);
+      int card2 = (card1 + 1 + random.nextInt(CardF.DECK_SIZE - 1)) % CardF.DECK_SIZE;
+      encoded[i] = card1 * CardF.DECK_SIZE + card2;
+    }
+
+    HoldemModel model = new HoldemModel();
+    BenchmarkRunner.run("HoldemModel.createHand + score/combination", HANDS, () -> {
+      long checksum = 0;
+      for (int hand : encoded) {
+        CardF card1 = CardF.of(hand / CardF.DECK_SIZE);
+        CardF card2 = CardF.of(hand % CardF.DECK_SIZE);
+        model.createHand(card1.getValue(), card1.getSuit(), card2.getValue(), card2.getSuit());
+        checksum += model.calculateScore() + model.getHandCombination().length()
+            + model.getPositionDecisions().size();
+      }
+      return checksum;
+    });
+
+    int[] scores = new int[HANDS];
+    byte[] combinations = new byte[HANDS];
+    byte[] decisions = new byte[HANDS];
+    BenchmarkRunner.run("HoldemModel.evaluateBatch (caller arrays)", HANDS, () -> {
+      HoldemModel.evaluateBatch(encoded, 0, HANDS, scores, combinations, decisions);
+      return scores[HANDS - 1] + combinations[HANDS / 2] + decisions[0];
+    });
+  }
+}
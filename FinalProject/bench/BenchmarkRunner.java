@@ -0,0 +1,59 @@
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal benchmark harness for the Model package. Each benchmark is a batch of operations that returns a
+ * checksum, so the JIT cannot discard the work. The runner repeats the batch for a fixed warm-up time, then
+ * for a fixed measurement time, and reports throughput and the bytes allocated per operation by the measuring
+ * thread.
+ */
+public final class BenchmarkRunner {
+  private static final long WARMUP_NANOS = 2_000_000_000L;
+  private static final long MEASURE_NANOS = 3_000_000_000L;
+
+  private BenchmarkRunner() {
+  }
+
+  /**
+   * Runs a benchmark and prints one result line.
+   *
+   * @param name the name printed in the report.
+   * @param operationsPerBatch how many operations one call of {@code batch} performs.
+   * @param batch the work to measure; returns a checksum of the results.
+   * @return the measured throughput in operations per second.
+   */
+  public static double run(String name, long operationsPerBatch, LongSupplier batch) {
+    long checksum = 0;
+    long warmupStart = System.nanoTime();
+    while (System.nanoTime() - warmupStart < WARMUP_NANOS) {
+      checksum += batch.getAsLong();
+    }
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+    long rounds = 0;
+    long elapsed;
+    do {
+      checksum += batch.getAsLong();
+      rounds++;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < MEASURE_NANOS);
+    long allocated = allocatedBytes() - allocatedBefore;
+
+    long operations = operationsPerBatch * rounds;
+    double opsPerSecond = operations * 1e9 / elapsed;
+    System.out.printf("%-48s %,16.0f ops/s %10.1f ns/op %10.1f B/op  (checksum %d)%n",
+        name, opsPerSecond, (double) elapsed / operations, (double) allocated / operations, checksum);
+    return opsPerSecond;
+  }
+
+  /**
+   * Returns the bytes allocated so far by the current thread, or 0 if the JVM does not report it.
+   */
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load generator for {@code HoldemBinaryServer} on loopback. Each connection sends a request, waits for its
+ * response and sends the next, like a bot asking once per decision, and records the round-trip time of every
+ * request. After a warm-up, it reports requests and evaluations per second and the p50, p99 and p99.9 latency.
+ *
+ * <p>Usage: {@code BinaryServerLoadTest [connections] [hands per request] [host port]}. Without a host and port
+ * it starts a server in the same JVM.</p>
+ */
+public final class BinaryServerLoadTest {
+  private static final long WARMUP_NANOS = 3_000_000_000L;
+  private static final long MEASURE_NANOS = 5_000_000_000L;
+
+  private BinaryServerLoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+    int hands = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    HoldemBinaryServer local = null;
+    InetSocketAddress address;
+    if (args.length > 3) {
+      address = new InetSocketAddress(args[2], Integer.parseInt(args[3]));
+    } else {
+      local = HoldemBinaryServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      address = new InetSocketAddress(InetAddress.getLoopbackAddress(), local.getPort());
+    }
+    try {
+      System.out.printf("%d connections, %d hands per request%n", connections, hands);
+      run(address, connections, hands, WARMUP_NANOS);
+      long start = System.nanoTime();
+      long[] latencies = run(address, connections, hands, MEASURE_NANOS);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      Arrays.sort(latencies);
+      System.out.printf("%,12.0f requests/s %,14.0f evaluations/s   p50 %6.1f us   p99 %6.1f us   p99.9 %6.1f us%n",
+          latencies.length / seconds, latencies.length * (double) hands / seconds,
+          percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3, percentile(latencies, 0.999) / 1e3);
+    } finally {
+      if (local != null) {
+        local.close();
+      }
+    }
+  }
+
+  private static long percentile(long[] sorted, double fraction) {
+    return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+  }
+
+  /**
+   * Keeps every connection busy for a while and returns the latency of every request, in nanoseconds.
+   */
+  private static long[] run(InetSocketAddress address, int connections, int hands, long nanos)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + nanos;
+    Recorder[] recorders = new Recorder[connections];
+    List<Thread> threads = new ArrayList<>();
+    for (int c = 0; c < connections; c++) {
+      Recorder recorder = new Recorder();
+      recorders[c] = recorder;
+      long seed = c;
+      threads.add(Thread.ofPlatform().start(() -> recorder.drive(address, hands, deadline, seed)));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    int total = 0;
+    for (Recorder recorder : recorders) {
+      total += recorder.count;
+    }
+    long[] latencies = new long[total];
+    int position = 0;
+    for (Recorder recorder : recorders) {
+      System.arraycopy(recorder.latencies, 0, latencies, position, recorder.count);
+      position += recorder.count;
+    }
+    return latencies;
+  }
+
+  /**
+   * One connection sending requests in a closed loop and recording their latencies.
+   */
+  private static final class Recorder {
+    private long[] latencies = new long[1 << 16];
+    private int count;
+
+    void drive(InetSocketAddress address, int hands, long deadline, long seed) {
+      Random random = new Random(seed);
+      ByteBuffer request = ByteBuffer.allocateDirect(2 + 2 * hands);
+      ByteBuffer response = ByteBuffer.allocateDirect(2 + 4 * hands);
+      try (SocketChannel channel = SocketChannel.open(address)) {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        while (System.nanoTime() < deadline) {
+          request.clear();
+          request.putShort((short) hands);
+          for (int i = 0; i < hands; i++) {
+            int card1 = random.nextInt(52);
+            request.put((byte) card1).put((byte) ((card1 + 1 + random.nextInt(51)) % 52));
+          }
+          request.flip();
+          long start = System.nanoTime();
+          while (request.hasRemaining()) {
+            channel.write(request);
+          }
+          response.clear();
+          while (response.hasRemaining()) {
+            if (channel.read(response) < 0) {
+              throw new IOException("Server closed the connection");
+            }
+          }
+          record(System.nanoTime() - start);
+          if ((response.getShort(0) & 0xFFFF) != hands || (response.get(4) & 0xFF) == HoldemBinaryServer.INVALID_HAND) {
+            throw new IOException("Unexpected response");
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Connection failed", e);
+      }
+    }
+
+    private void record(long nanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+  }
+}
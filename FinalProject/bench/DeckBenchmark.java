@@ -0,0 +1,25 @@
+/**
+ * Measures the cost of dealing one card from a {@code Deck}, with the default and the Xoshiro generator.
+ */
+public class DeckBenchmark {
+  private static final int HANDS = 1 << 16;
+  private static final int CARDS_PER_HAND = 9 * 2 + 5;
+
+  public static void main(String[] args) {
+    int[] dealt = new int[CARDS_PER_HAND];
+    String[] names = {"SplittableRandom", "Xoshiro256PlusPlus"};
+    Deck[] decks = {Deck.seeded(5004), Deck.xoshiro(5004)};
+    for (int i = 0; i < decks.length; i++) {
+      Deck deck = decks[i];
+      BenchmarkRunner.run("Deck.deal per card, " + names[i], (long) HANDS * CARDS_PER_HAND, () -> {
+        long checksum = 0;
+        for (int hand = 0; hand < HANDS; hand++) {
+          deck.reset();
+          deck.deal(dealt, 0, CARDS_PER_HAND);
+          checksum += dealt[hand % CARDS_PER_HAND];
+        }
+        return checksum;
+      });
+    }
+  }
+}
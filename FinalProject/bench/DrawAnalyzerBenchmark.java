@@ -0,0 +1,27 @@
+/**
+ * Measures the cost of counting the outs of one hand on a flop and on a turn with {@code DrawAnalyzer}.
+ */
+public class DrawAnalyzerBenchmark {
+  private static final int DEALS = 1 << 16;
+
+  public static void main(String[] args) {
+    Deck deck = Deck.seeded(5004);
+    int[][] deals = new int[DEALS][6];
+    for (int[] deal : deals) {
+      deck.reset();
+      deck.deal(deal, 0, deal.length);
+    }
+    int[] board = new int[4];
+    for (int boardCount = 3; boardCount <= 4; boardCount++) {
+      int count = boardCount;
+      BenchmarkRunner.run("DrawAnalyzer.analyze, " + (count == 3 ? "flop" : "turn"), DEALS, () -> {
+        long checksum = 0;
+        for (int[] deal : deals) {
+          System.arraycopy(deal, 2, board, 0, 4);
+          checksum += DrawAnalyzer.analyze(deal[0], deal[1], board, count);
+        }
+        return checksum;
+      });
+    }
+  }
+}
@@ -0,0 +1,18 @@
+/**
+ * Measures Monte Carlo equity throughput: one million heads-up preflop trials per operation, on all cores.
+ */
+public class EquityBenchmark {
+  private static final int TRIALS = 1_000_000;
+
+  public static void main(String[] args) {
+    EquityCalculator calculator = new EquityCalculator();
+    int[][] hands = {{CardF.indexOf("A", "S"), CardF.indexOf("K", "S")},
+        {CardF.indexOf("Q", "H"), CardF.indexOf("Q", "D")}};
+    int[] board = new int[0];
+
+    double perSecond = BenchmarkRunner.run("EquityCalculator.simulate(1M trials, heads-up)", 1, () ->
+        Double.doubleToLongBits(calculator.simulate(hands, board, TRIALS).getEquity(0)));
+    System.out.printf("%.3f s per million trials on %d cores%n", 1 / perSecond,
+        Runtime.getRuntime().availableProcessors());
+  }
+}
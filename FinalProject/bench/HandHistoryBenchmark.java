@@ -0,0 +1,71 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures hand-history ingestion on a generated file: the parsing rate of {@code HandHistoryReader} alone, and
+ * the end-to-end throughput of {@code HandHistoryAnalyzer} with one worker per core.
+ */
+public class HandHistoryBenchmark {
+  private static final int HANDS = 5_000_000;
+  private static final String[] POSITIONS = {"EARLY", "MIDDLE", "LATE"};
+  private static final String RANKS = "23456789TJQKA";
+  private static final String SUITS = "shcd";
+
+  public static void main(String[] args) throws IOException {
+    Path file = Files.createTempFile("history", ".txt");
+    try {
+      generate(file);
+      System.out.printf("Generated %d hands, %.1f MB%n", HANDS, Files.size(file) / (1024.0 * 1024.0));
+      int[] records = new int[HandHistoryAnalyzer.BATCH_SIZE];
+      BenchmarkRunner.run("HandHistoryReader per hand", HANDS, () -> {
+        long checksum = 0;
+        try (HandHistoryReader reader = new HandHistoryReader(file)) {
+          for (int count = reader.read(records); count >= 0; count = reader.read(records)) {
+            checksum += count == 0 ? 0 : records[count - 1];
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return checksum;
+      });
+      for (int run = 0; run < 5; run++) {
+        HandHistoryStats stats = HandHistoryAnalyzer.analyze(file);
+        System.out.printf("HandHistoryAnalyzer run %d: %.1f MB/s, %.1f M hands/s%n", run,
+            stats.getMegabytesPerSecond(), stats.getHands() * 1e3 / stats.getElapsedNanos());
+        if (run == 4) {
+          System.out.println(stats);
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Writes a file of random hands where players bet the hands the default strategy bets, plus one in ten others.
+   */
+  private static void generate(Path file) throws IOException {
+    Deck deck = Deck.seeded(5004);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+      writer.write("# id position cards action\n");
+      for (int hand = 0; hand < HANDS; hand++) {
+        deck.reset();
+        int card1 = deck.deal();
+        int card2 = deck.deal();
+        Position position = Position.ofOrdinal(hand % 3);
+        boolean bet = StartingHandTable.getAction(StartingHandTable.classOf(card1, card2), position) == Action.BET
+            || hand % 10 == 0;
+        writer.write(hand + " " + POSITIONS[position.ordinal()] + " " + card(card1) + card(card2)
+            + (bet ? " BET\n" : " FOLD\n"));
+      }
+    }
+  }
+
+  private static String card(int index) {
+    return "" + RANKS.charAt(CardF.rankOf(index)) + SUITS.charAt(CardF.suitOf(index));
+  }
+}
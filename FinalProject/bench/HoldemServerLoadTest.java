@@ -0,0 +1,156 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test for {@code HoldemServer} on loopback. Several keep-alive connections each send a window of pipelined
+ * requests, read the responses, and repeat, for a fixed time. One run sends single-hand {@code GET} requests and
+ * one sends {@code POST} batches; both report requests and evaluations per second.
+ *
+ * <p>Usage: {@code HoldemServerLoadTest [connections] [pipelined requests] [hands per batch]}.</p>
+ */
+public final class HoldemServerLoadTest {
+  private static final long WARMUP_NANOS = 3_000_000_000L;
+  private static final long MEASURE_NANOS = 5_000_000_000L;
+  private static final String RANKS = "23456789TJQKA";
+  private static final String SUITS = "shcd";
+
+  private HoldemServerLoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int connections = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    int pipeline = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    int batchHands = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+    try (HoldemServer server = HoldemServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      Random random = new Random(5004);
+      List<String> hands = new ArrayList<>();
+      for (int i = 0; i < 1024; i++) {
+        hands.add(randomHand(random));
+      }
+      byte[][] singles = new byte[hands.size()][];
+      for (int i = 0; i < singles.length; i++) {
+        singles[i] = ("GET /evaluate?hand=" + hands.get(i) + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+            .getBytes(StandardCharsets.US_ASCII);
+      }
+      StringBuilder body = new StringBuilder("[");
+      for (int i = 0; i < batchHands; i++) {
+        body.append(i == 0 ? "\"" : ",\"").append(hands.get(i % hands.size())).append('"');
+      }
+      body.append(']');
+      byte[] batch = ("POST /evaluate/batch HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+          + "Content-Length: " + body.length() + "\r\n\r\n" + body).getBytes(StandardCharsets.US_ASCII);
+
+      System.out.printf("%d connections, %d pipelined requests, %d hands per batch%n",
+          connections, pipeline, batchHands);
+      run("GET /evaluate", server.getPort(), connections, pipeline, singles, 1);
+      run("POST /evaluate/batch", server.getPort(), connections, pipeline, new byte[][] {batch}, batchHands);
+    }
+  }
+
+  private static String randomHand(Random random) {
+    int card1 = random.nextInt(52);
+    int card2;
+    do {
+      card2 = random.nextInt(52);
+    } while (card2 == card1);
+    return "" + RANKS.charAt(card1 / 4) + SUITS.charAt(card1 % 4) + RANKS.charAt(card2 / 4) + SUITS.charAt(card2 % 4);
+  }
+
+  /**
+   * Runs a warm-up and a measured phase and prints one result line.
+   */
+  private static void run(String name, int port, int connections, int pipeline, byte[][] requests,
+      int handsPerRequest) throws InterruptedException {
+    measure(port, connections, pipeline, requests, WARMUP_NANOS);
+    long start = System.nanoTime();
+    long responses = measure(port, connections, pipeline, requests, MEASURE_NANOS);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%-24s %,12.0f requests/s %,14.0f evaluations/s%n",
+        name, responses / seconds, responses * (double) handsPerRequest / seconds);
+  }
+
+  /**
+   * Keeps every connection busy for a while and returns the number of responses read.
+   */
+  private static long measure(int port, int connections, int pipeline, byte[][] requests, long nanos)
+      throws InterruptedException {
+    LongAdder responses = new LongAdder();
+    long deadline = System.nanoTime() + nanos;
+    List<Thread> threads = new ArrayList<>();
+    for (int c = 0; c < connections; c++) {
+      int offset = c;
+      threads.add(Thread.ofVirtual().start(() -> {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+          socket.setTcpNoDelay(true);
+          OutputStream out = socket.getOutputStream();
+          InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+          int next = offset;
+          while (System.nanoTime() < deadline) {
+            for (int i = 0; i < pipeline; i++) {
+              out.write(requests[next++ % requests.length]);
+            }
+            out.flush();
+            for (int i = 0; i < pipeline; i++) {
+              readResponse(in);
+            }
+            responses.add(pipeline);
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException("Connection failed", e);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return responses.sum();
+  }
+
+  /**
+   * Reads one response, checking its status and skipping its body.
+   */
+  private static void readResponse(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    int contentLength = -1;
+    boolean statusLine = true;
+    while (true) {
+      int b = in.read();
+      if (b < 0) {
+        throw new IOException("Connection closed mid-response");
+      }
+      if (b != '\n') {
+        if (b != '\r') {
+          line.append((char) b);
+        }
+        continue;
+      }
+      if (line.isEmpty()) {
+        break;
+      }
+      String header = line.toString();
+      if (statusLine && !header.startsWith("HTTP/1.1 200")) {
+        throw new IOException("Unexpected response: " + header);
+      }
+      statusLine = false;
+      if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+        contentLength = Integer.parseInt(header.substring(15).trim());
+      }
+      line.setLength(0);
+    }
+    if (contentLength < 0) {
+      throw new IOException("Response without a length");
+    }
+    in.skipNBytes(contentLength);
+  }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the per-hand paths the Swing application goes through: building cards, scoring a starting hand,
+ * building its position comments, creating a hand through the model and formatting it for display.
+ */
+public class HotPathBenchmark {
+  private static final int HANDS = 1 << 14;
+
+  public static void main(String[] args) {
+    SplittableRandom random = new SplittableRandom(5004);
+    CardF[] firstCards = new CardF[HANDS];
+    CardF[] secondCards = new CardF[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      int card1 = random.nextInt(CardF.DECK_SIZE);
+      int card2 = (card1 + 1 + random.nextInt(CardF.DECK_SIZE - 1)) % CardF.DECK_SIZE;
+      firstCards[i] = CardF.of(card1);
+      secondCards[i] = CardF.of(card2);
+    }
+
+    BenchmarkRunner.run("new CardF(value, suit)", HANDS, () -> {
+      long checksum = 0;
+      for (CardF card : firstCards) {
+        checksum += new CardF(card.getValue(), card.getSuit()).getIndex();
+      }
+      return checksum;
+    });
+
+    BenchmarkRunner.run("CardF.of(value, suit)", HANDS, () -> {
+      long checksum = 0;
+      for (CardF card : firstCards) {
+        checksum += CardF.of(card.getValue(), card.getSuit()).getIndex();
+      }
+      return checksum;
+    });
+
+    TexasHoldemHandEvaluator[] evaluators = new TexasHoldemHandEvaluator[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      evaluators[i] = new TexasHoldemHandEvaluator(Arrays.asList(firstCards[i], secondCards[i]));
+    }
+    BenchmarkRunner.run("TexasHoldemHandEvaluator.calculateScore", HANDS, () -> {
+      long checksum = 0;
+      for (TexasHoldemHandEvaluator evaluator : evaluators) {
+        checksum += evaluator.calculateScore();
+      }
+      return checksum;
+    });
+
+    BenchmarkRunner.run("TexasHoldemHandEvaluator.getPositionBasedComments", HANDS, () -> {
+      long checksum = 0;
+      for (TexasHoldemHandEvaluator evaluator : evaluators) {
+        checksum += evaluator.getPositionBasedComments().size();
+      }
+      return checksum;
+    });
+
+    BenchmarkRunner.run("TexasHoldemHandEvaluator.getPositionComment", HANDS, () -> {
+      long checksum = 0;
+      for (TexasHoldemHandEvaluator evaluator : evaluators) {
+        checksum += evaluator.getPositionComment(Position.LATE).length();
+      }
+      return checksum;
+    });
+
+    HoldemModel model = new HoldemModel();
+    BenchmarkRunner.run("HoldemModel.createHand", HANDS, () -> {
+      long checksum = 0;
+      for (int i = 0; i < HANDS; i++) {
+        model.createHand(firstCards[i].getValue(), firstCards[i].getSuit(),
+            secondCards[i].getValue(), secondCards[i].getSuit());
+        checksum += model.getCards().size();
+      }
+      return checksum;
+    });
+
+    HandF[] hands = new HandF[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      hands[i] = new ConcreteHandF(firstCards[i], secondCards[i]);
+    }
+    HandInfoDisplayFormat format = new HandInfoDisplayFormat();
+    BenchmarkRunner.run("HandInfoDisplayFormat.formatHandInformation", HANDS, () -> {
+      long checksum = 0;
+      for (HandF hand : hands) {
+        checksum += format.formatHandInformation(hand).length();
+      }
+      return checksum;
+    });
+  }
+}
@@ -0,0 +1,48 @@
+/**
+ * Compares ranking a hand on the flop, turn and river with one {@code IncrementalHandEvaluator}, which adds each
+ * street's cards to its running state, against ranking every street with its own evaluation. Both are reported
+ * per street, next to one seven-card evaluation of the river: each street of the incremental evaluator is one
+ * lookup of its running key, so it costs no more than that single seven-card call.
+ */
+public class IncrementalEvaluatorBenchmark {
+  private static final int DEALS = 1 << 16;
+  private static final int STREETS = 3;
+
+  public static void main(String[] args) {
+    Deck deck = Deck.seeded(5004);
+    int[][] deals = new int[DEALS][7];
+    for (int[] deal : deals) {
+      deck.reset();
+      deck.deal(deal, 0, deal.length);
+    }
+    BenchmarkRunner.run("River only, one seven-card evaluation", DEALS, () -> {
+      long checksum = 0;
+      for (int[] deal : deals) {
+        checksum += SevenCardHandEvaluator.evaluate(deal[0], deal[1], deal[2], deal[3], deal[4], deal[5], deal[6]);
+      }
+      return checksum;
+    });
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator();
+    BenchmarkRunner.run("Per street, incremental evaluator", DEALS * STREETS, () -> {
+      long checksum = 0;
+      for (int[] deal : deals) {
+        evaluator.reset();
+        evaluator.add(deal, 0, 5);
+        checksum += evaluator.getRank();
+        evaluator.add(deal[5]);
+        checksum += evaluator.getRank();
+        evaluator.add(deal[6]);
+        checksum += evaluator.getRank();
+      }
+      return checksum;
+    });
+    BenchmarkRunner.run("Per street, independent evaluations", DEALS * STREETS, () -> {
+      long checksum = 0;
+      for (int[] deal : deals) {
+        checksum += SevenCardHandEvaluator.evaluate(deal, 5) + SevenCardHandEvaluator.evaluate(deal, 6)
+            + SevenCardHandEvaluator.evaluate(deal, 7);
+      }
+      return checksum;
+    });
+  }
+}
@@ -0,0 +1,66 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures what {@code ModelMetrics} costs on the path the Swing application takes for every hand: creating the
+ * hand through the model and reading its score, decisions and comments. After warming up both modes, the path
+ * runs in many short pairs of slices with metrics off and on, in alternating order, so drifts in machine speed
+ * affect both halves of a pair alike; the median and quartiles of the per-pair slowdown are reported.
+ */
+public class MetricsOverheadBenchmark {
+  private static final int HANDS = 1 << 12;
+  private static final int PAIRS = 201;
+  private static final int BATCHES_PER_SLICE = 16;
+
+  public static void main(String[] args) {
+    SplittableRandom random = new SplittableRandom(5004);
+    CardF[] firstCards = new CardF[HANDS];
+    CardF[] secondCards = new CardF[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      int card1 = random.nextInt(CardF.DECK_SIZE);
+      int card2 = (card1 + 1 + random.nextInt(CardF.DECK_SIZE - 1)) % CardF.DECK_SIZE;
+      firstCards[i] = CardF.of(card1);
+      secondCards[i] = CardF.of(card2);
+    }
+
+    HoldemModel model = new HoldemModel();
+    LongSupplier evaluation = () -> {
+      long checksum = 0;
+      for (int i = 0; i < HANDS; i++) {
+        model.createHand(firstCards[i].getValue(), firstCards[i].getSuit(),
+            secondCards[i].getValue(), secondCards[i].getSuit());
+        checksum += model.calculateScore();
+        checksum += model.getPositionDecisions().size();
+        checksum += model.getPositionBasedComments().size();
+      }
+      return checksum;
+    };
+
+    ModelMetrics.setEnabled(false);
+    BenchmarkRunner.run("evaluation, metrics off", HANDS, evaluation);
+    ModelMetrics.setEnabled(true);
+    BenchmarkRunner.run("evaluation, metrics on", HANDS, evaluation);
+
+    double[] slowdowns = new double[PAIRS];
+    long checksum = 0;
+    for (int pair = 0; pair < PAIRS; pair++) {
+      boolean onFirst = (pair & 1) != 0;
+      long[] nanos = new long[2];
+      for (int half = 0; half < 2; half++) {
+        boolean on = onFirst == (half == 0);
+        ModelMetrics.setEnabled(on);
+        long start = System.nanoTime();
+        for (int batch = 0; batch < BATCHES_PER_SLICE; batch++) {
+          checksum += evaluation.getAsLong();
+        }
+        nanos[on ? 1 : 0] = System.nanoTime() - start;
+      }
+      slowdowns[pair] = (double) nanos[1] / nanos[0] - 1;
+    }
+    Arrays.sort(slowdowns);
+    System.out.printf("Metrics overhead over %d pairs: median %.2f%%, quartiles %.2f%% to %.2f%%  (checksum %d)%n",
+        PAIRS, slowdowns[PAIRS / 2] * 100, slowdowns[PAIRS / 4] * 100, slowdowns[3 * PAIRS / 4] * 100, checksum);
+    System.out.print(ModelMetrics.dump());
+  }
+}
@@ -0,0 +1,32 @@
+/**
+ * Measures range-vs-range equity: a cold calculation within the default time budget, a cold exact enumeration
+ * (empty combination cache), the same matchup again from the cache, and a simulated matchup on a flop.
+ */
+public class RangeEquityBenchmark {
+
+  public static void main(String[] args) {
+    HandRange hero = HandRange.parse("QQ+, AKs");
+    HandRange villain = HandRange.parse("JJ-99, AQs+");
+
+    RangeEquityCalculator budgeted = new RangeEquityCalculator();
+    for (int call = 1; call <= 3; call++) {
+      long start = System.nanoTime();
+      EquityResult result = budgeted.calculate(hero, villain);
+      System.out.printf("Budgeted %s vs %s, call %d: %.3f s (%s)%n", hero, villain, call,
+          (System.nanoTime() - start) / 1e9, result);
+    }
+
+    RangeEquityCalculator calculator = new RangeEquityCalculator();
+    long start = System.nanoTime();
+    EquityResult cold = calculator.enumerate(hero, villain);
+    System.out.printf("Exact %s vs %s, cold: %.3f s (%s)%n", hero, villain, (System.nanoTime() - start) / 1e9,
+        cold);
+
+    BenchmarkRunner.run("RangeEquityCalculator.enumerate, cached", 1,
+        () -> (long) (calculator.enumerate(hero, villain).getEquity(0) * 1e6));
+
+    int[] flop = {CardF.indexOf("Q", "D"), CardF.indexOf("9", "C"), CardF.indexOf("4", "S")};
+    BenchmarkRunner.run("RangeEquityCalculator.simulate, flop, per trial", 100_000,
+        () -> (long) (calculator.simulate(hero, villain, flop, 100_000, 0.95, 5004).getEquity(0) * 1e6));
+  }
+}
@@ -0,0 +1,43 @@
+import java.util.SplittableRandom;
+
+/**
+ * Measures how many seven-card hands per second {@code SevenCardHandEvaluator} ranks on a single thread.
+ * The hands are dealt up front so that only the ranking is timed.
+ */
+public class SevenCardEvaluatorBenchmark {
+  private static final int HANDS = 1 << 16;
+
+  public static void main(String[] args) {
+    int[] hands = dealHands(new SplittableRandom(5004));
+
+    BenchmarkRunner.run("SevenCardHandEvaluator.evaluate(7 cards)", HANDS, () -> {
+      long checksum = 0;
+      for (int i = 0; i < hands.length; i += 7) {
+        checksum += SevenCardHandEvaluator.evaluate(hands[i], hands[i + 1], hands[i + 2], hands[i + 3],
+            hands[i + 4], hands[i + 5], hands[i + 6]);
+      }
+      return checksum;
+    });
+  }
+
+  /**
+   * Deals {@code HANDS} random seven-card hands into one flat array.
+   */
+  private static int[] dealHands(SplittableRandom random) {
+    int[] deck = new int[CardF.DECK_SIZE];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = i;
+    }
+    int[] hands = new int[HANDS * 7];
+    for (int hand = 0; hand < HANDS; hand++) {
+      for (int i = 0; i < 7; i++) {
+        int j = i + random.nextInt(deck.length - i);
+        int swap = deck[i];
+        deck[i] = deck[j];
+        deck[j] = swap;
+        hands[hand * 7 + i] = deck[i];
+      }
+    }
+    return hands;
+  }
+}
@@ -0,0 +1,16 @@
+/**
+ * Measures the hands per second of the headless table simulation at 6-max and 9-max.
+ */
+public class TableSimulationBenchmark {
+  private static final int TABLES = 2_000;
+  private static final int HANDS_PER_TABLE = 500;
+
+  public static void main(String[] args) {
+    for (int seats : new int[] {6, 9}) {
+      TableSimulator simulator = new TableSimulator(seats);
+      BenchmarkRunner.run("TableSimulator " + seats + "-max, " + TABLES + " tables",
+          (long) TABLES * HANDS_PER_TABLE, () -> simulator.simulate(TABLES, HANDS_PER_TABLE, 5004).getShowdowns());
+      System.out.println(simulator.simulate(TABLES, HANDS_PER_TABLE, 5004));
+    }
+  }
+}
@@ -1,44 +1,162 @@
-import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
 
 //package controller;
+
+/**
+ * Connects the view to the model. Evaluating a hand can take a while once it includes equity, so it runs on a
+ * background thread and the Event Dispatch Thread only reads the input and shows the results.
+ *
+ * <p>Each submission gets a number, and only the latest one is ever shown. Submissions made while an earlier one
+ * is still waiting to start replace it, so a burst of clicks evaluates one hand. A submission made while an
+ * evaluation is running makes that evaluation stop at its next round of run-outs. The equity estimate is shown
+ * after every round, and updates that arrive faster than the view can draw them are merged into the latest
+ * one.</p>
+ */
 public class HoldemController {
 
   private HoldemModel model;  // This would encapsulate HandF and evaluator logic
-  private view.HoldemView view;
+  private view.IUserInterface view;
   private HandInfoDisplayFormat handInfo;
+  private final ExecutorService executor;
+  private final Executor eventThread;
+  private final AtomicLong latestRequest = new AtomicLong();
+  private final AtomicReference<Request> pendingRequest = new AtomicReference<>();
+  private final AtomicReference<Runnable> pendingUpdate = new AtomicReference<>();
 
   public HoldemController(HoldemModel model, view.HoldemView view) {
+    this(model, view, Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("holdem-evaluation").daemon().factory()), SwingUtilities::invokeLater);
+    initController(view);
+  }
+
+  /**
+   * Initializes a controller that is not connected to a submit button, for driving it without a display.
+   *
+   * @param model the model that evaluates hands.
+   * @param view the view that supplies the input and shows the results.
+   * @param executor runs the evaluations, one at a time.
+   * @param eventThread runs the updates of the view, in order.
+   */
+  HoldemController(HoldemModel model, view.IUserInterface view, ExecutorService executor, Executor eventThread) {
     this.model = model;
     this.view = view;
     this.handInfo = new HandInfoDisplayFormat();
-    initController();
+    this.executor = executor;
+    this.eventThread = eventThread;
   }
 
-  private void initController() {
+  private void initController(view.HoldemView view) {
     view.getSubmitButton().addActionListener(e -> evaluateHand());
   }
 
+  /**
+   * Reads the cards from the view and starts evaluating them in the background. Must be called on the Event
+   * Dispatch Thread; returns at once.
+   */
   public void evaluateHand() {
+    Request request = new Request(latestRequest.incrementAndGet(), view.getFirstCardValue(),
+        view.getFirstCardSuit(), view.getSecondCardValue(), view.getSecondCardSuit());
+    // Only one evaluation waits in the queue; a newer request replaces the one it will pick up
+    if (pendingRequest.getAndSet(request) == null) {
+      executor.execute(this::evaluatePendingHand);
+    }
+  }
+
+  /**
+   * Evaluates the latest request on the background thread, showing the hand at once and the equity as it is
+   * refined.
+   */
+  private void evaluatePendingHand() {
+    Request request = pendingRequest.getAndSet(null);
+    if (request == null || isSuperseded(request)) {
+      return;
+    }
     try {
-      String card1Value = view.getFirstCardValue();
-      String card1Suit = view.getFirstCardSuit();
-      String card2Value = view.getSecondCardValue();
-      String card2Suit = view.getSecondCardSuit();
-      HandF hand = model.createHand(card1Value, card1Suit, card2Value, card2Suit);
+      HandF hand = model.createHand(request.card1Value, request.card1Suit, request.card2Value,
+          request.card2Suit);
 
       // Use the HandInfoDisplayFormat to format the display string
       String formattedHandInfo = handInfo.formatHandInformation(hand);
+      Map<String, String> decisions = model.getPositionDecisions();
+      Map<String, String> comments = model.getPositionBasedComments();
+      show(request, formattedHandInfo, decisions, comments);
+
+      model.evaluateAgainstRandomHand(model.getCards().get(0), model.getCards().get(1), List.of(),
+          equity -> {
+            if (isSuperseded(request)) {
+              return false;
+            }
+            show(request, formattedHandInfo + "\n" + handInfo.formatEquity(equity), decisions, comments);
+            return true;
+          });
+    } catch (IllegalArgumentException e) {
+      publish(request, () -> view.displayError("Invalid Input: " + e.getMessage()));
+    } catch (RuntimeException e) {
+      // Report it instead of letting it end the worker, which still has to evaluate the next request
+      System.err.println("Evaluation failed: " + e);
+      publish(request, () -> view.displayError("Evaluation failed: " + e.getMessage()));
+    }
+  }
 
+  private void show(Request request, String info, Map<String, String> decisions, Map<String, String> comments) {
+    publish(request, () -> {
       // Display hand information, decisions, and comments
-      view.displayHandInformation(formattedHandInfo);
-      view.displayDecisions(model.getPositionDecisions());
-      view.displayComments(model.getPositionBasedComments());
+      view.displayHandInformation(info);
+      view.displayDecisions(decisions);
+      view.displayComments(comments);
+    });
+  }
 
-    } catch (IllegalArgumentException e) {
-      view.displayError("Invalid Input: " + e.getMessage());
+  /**
+   * Runs an update on the Event Dispatch Thread unless a newer request has been made by then. If an update is
+   * already waiting to run, it is replaced instead of queuing another.
+   */
+  private void publish(Request request, Runnable update) {
+    Runnable guarded = () -> {
+      if (!isSuperseded(request)) {
+        update.run();
+      }
+    };
+    if (pendingUpdate.getAndSet(guarded) == null) {
+      eventThread.execute(() -> pendingUpdate.getAndSet(null).run());
     }
   }
 
-}
+  private boolean isSuperseded(Request request) {
+    return request.id != latestRequest.get();
+  }
+
+  /**
+   * Stops the background thread. Evaluations already running finish their current round.
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
 
+  /**
+   * The input of one submission, read on the Event Dispatch Thread.
+   */
+  private static final class Request {
+    private final long id;
+    private final String card1Value;
+    private final String card1Suit;
+    private final String card2Value;
+    private final String card2Suit;
+
+    Request(long id, String card1Value, String card1Suit, String card2Value, String card2Suit) {
+      this.id = id;
+      this.card1Value = card1Value;
+      this.card1Suit = card1Suit;
+      this.card2Value = card2Value;
+      this.card2Suit = card2Suit;
+    }
+  }
+
+}
@@ -0,0 +1,348 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Compact binary front end for bulk starting hand evaluation, for clients that query once per decision and cannot
+ * afford HTTP and JSON. One thread runs a non-blocking {@code Selector} over every connection and answers each
+ * request from the strategy tables that {@code StartingHandTable} builds with {@code TexasHoldemHandEvaluator}, so
+ * a hand costs two table lookups and nothing is allocated per request.
+ *
+ * <p>Every frame starts with the number of hands as an unsigned 16-bit big-endian integer, at most
+ * {@value #MAX_FRAME_HANDS}. A request then holds two bytes per hand, the card indexes ({@code rank * 4 + suit},
+ * 0 to 51, as in {@code CardF}). The response to each request has the same count and four bytes per hand, in
+ * request order:</p>
+ * <pre>
+ * request:  count:u16  (card1:u8 card2:u8) * count
+ * response: count:u16  (score:s16 combination:u8 decisions:u8) * count
+ * </pre>
+ * <p>The combination is the ordinal of {@code StartingHandTable.getCombinationName}, or {@value #INVALID_HAND} if
+ * the two bytes are not two different cards, in which case the score and decisions are 0. A score outside the
+ * signed 16-bit range, which a profile with large bonuses can give, is clamped to the nearest end of it. Bit
+ * {@code p} of the decisions is set when the strategy bets from the position of ordinal {@code p}. A client may
+ * send any number of requests before reading the responses; a frame with too many hands closes the
+ * connection.</p>
+ *
+ * <p>Each connection borrows a direct buffer for requests and one for responses from a pool and returns them when
+ * it closes. Results are written straight into the response buffer, which the socket sends without copying it to
+ * the Java heap. When a client stops reading, the server stops reading its requests until the responses drain.</p>
+ */
+public final class HoldemBinaryServer implements AutoCloseable {
+  /**
+   * Port used when none is given on the command line.
+   */
+  public static final int DEFAULT_PORT = 8081;
+
+  /**
+   * Largest number of hands in one frame.
+   */
+  public static final int MAX_FRAME_HANDS = 4096;
+
+  /**
+   * Combination byte of a hand whose cards are not two different card indexes.
+   */
+  public static final int INVALID_HAND = 0xFF;
+
+  private static final int HEADER_BYTES = 2;
+  private static final int REQUEST_HAND_BYTES = 2;
+  private static final int RESPONSE_HAND_BYTES = 4;
+  private static final int BUFFER_BYTES = 64 * 1024;
+  private static final long ACCEPT_RETRY_MILLIS = 100;
+
+  private final Selector selector;
+  private final ServerSocketChannel serverChannel;
+  private final SelectionKey acceptKey;
+  private final BufferPool buffers = new BufferPool(BUFFER_BYTES);
+  private final Thread thread;
+  private volatile boolean running = true;
+  /** When to accept connections again after {@code accept} failed, or 0 while accepting; selector thread only. */
+  private long acceptPausedUntil;
+
+  private HoldemBinaryServer(InetSocketAddress address) throws IOException {
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    try {
+      serverChannel.bind(address);
+      serverChannel.configureBlocking(false);
+      acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    } catch (IOException e) {
+      serverChannel.close();
+      selector.close();
+      throw e;
+    }
+    thread = Thread.ofPlatform().name("holdem-binary-server").unstarted(this::run);
+  }
+
+  /**
+   * Starts a server.
+   *
+   * @param address the address to listen on; port 0 picks a free port.
+   * @return the running server.
+   * @throws IOException if the address cannot be bound.
+   */
+  public static HoldemBinaryServer start(InetSocketAddress address) throws IOException {
+    HoldemBinaryServer server = new HoldemBinaryServer(address);
+    server.thread.start();
+    return server;
+  }
+
+  /**
+   * Returns the port the server listens on.
+   *
+   * @return the local port.
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Stops the server and closes every connection.
+   */
+  @Override
+  public void close() {
+    running = false;
+    selector.wakeup();
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    try {
+      while (running) {
+        selector.select(acceptPausedUntil != 0 ? ACCEPT_RETRY_MILLIS : 0);
+        if (acceptPausedUntil != 0 && System.nanoTime() - acceptPausedUntil >= 0) {
+          resumeAccepting();
+        }
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+          } else {
+            serve(key);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Binary server stopped", e);
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        // Keys already disconnected stay in the set until the next select; their buffers were returned
+        if (key.isValid() && key.attachment() instanceof Connection connection) {
+          disconnect(key, connection);
+        }
+      }
+      try {
+        serverChannel.close();
+        selector.close();
+      } catch (IOException e) {
+        // Nothing more to release
+      }
+    }
+  }
+
+  /**
+   * Accepts a pending connection. Failing to accept, usually because the process is out of file descriptors,
+   * only pauses accepting for a while; the connections already open keep being served.
+   */
+  private void accept() {
+    SocketChannel channel;
+    try {
+      channel = serverChannel.accept();
+    } catch (IOException e) {
+      // The connection stays queued, so selecting again right away would fail in a busy loop
+      System.err.println("Binary server cannot accept connections, retrying: " + e.getMessage());
+      acceptKey.interestOps(0);
+      acceptPausedUntil = System.nanoTime() + ACCEPT_RETRY_MILLIS * 1_000_000;
+      return;
+    }
+    if (channel == null) {
+      return;
+    }
+    Connection connection = new Connection(channel, buffers.take(), buffers.take());
+    try {
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      channel.register(selector, SelectionKey.OP_READ, connection);
+    } catch (IOException e) {
+      // The client went away while connecting
+      release(connection);
+    }
+  }
+
+  private void resumeAccepting() {
+    acceptPausedUntil = 0;
+    acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+  }
+
+  /**
+   * Reads, answers and writes whatever a connection is ready for. A connection that fails or breaks the protocol
+   * is closed without affecting the others.
+   */
+  private void serve(SelectionKey key) {
+    Connection connection = (Connection) key.attachment();
+    try {
+      if (key.isWritable() && !flush(connection)) {
+        // Still cannot send everything; keep waiting for the client to read
+        key.interestOps(SelectionKey.OP_WRITE);
+        return;
+      }
+      if (key.isReadable() && connection.channel.read(connection.requests) < 0) {
+        disconnect(key, connection);
+        return;
+      }
+      // Requests left over because the response buffer was full are answered once it drains
+      int answered;
+      boolean flushed;
+      do {
+        answered = answer(connection);
+        if (answered < 0) {
+          disconnect(key, connection);
+          return;
+        }
+        flushed = flush(connection);
+      } while (answered > 0 && flushed);
+      key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+    } catch (IOException e) {
+      disconnect(key, connection);
+    }
+  }
+
+  /**
+   * Answers every complete request in the request buffer that fits in the response buffer.
+   *
+   * @return the number of requests answered, or -1 if a request breaks the protocol.
+   */
+  private static int answer(Connection connection) {
+    ByteBuffer requests = connection.requests;
+    ByteBuffer responses = connection.responses;
+    requests.flip();
+    // One strategy for all the requests answered together, even if a new one is swapped in meanwhile
+    StrategyTable strategy = StartingHandTable.getStrategyTable();
+    int answered = 0;
+    while (requests.remaining() >= HEADER_BYTES) {
+      int count = requests.getShort(requests.position()) & 0xFFFF;
+      if (count > MAX_FRAME_HANDS) {
+        return -1;
+      }
+      if (requests.remaining() < HEADER_BYTES + count * REQUEST_HAND_BYTES
+          || responses.remaining() < HEADER_BYTES + count * RESPONSE_HAND_BYTES) {
+        break;
+      }
+      requests.position(requests.position() + HEADER_BYTES);
+      responses.putShort((short) count);
+      for (int i = 0; i < count; i++) {
+        int card1 = requests.get() & 0xFF;
+        int card2 = requests.get() & 0xFF;
+        int handClass = card1 < CardF.DECK_SIZE && card2 < CardF.DECK_SIZE
+            ? StartingHandTable.classOf(card1, card2) : -1;
+        if (handClass < 0) {
+          responses.putInt(INVALID_HAND << 8);
+        } else {
+          responses.putShort((short) Math.clamp(strategy.getScore(handClass), Short.MIN_VALUE, Short.MAX_VALUE));
+          responses.put((byte) StartingHandTable.getCombinationOrdinal(handClass));
+          responses.put((byte) strategy.getDecisionMask(handClass));
+        }
+      }
+      answered++;
+    }
+    requests.compact();
+    return answered;
+  }
+
+  /**
+   * Sends as much of the response buffer as the socket takes.
+   *
+   * @return true if nothing is left to send.
+   */
+  private static boolean flush(Connection connection) throws IOException {
+    ByteBuffer responses = connection.responses;
+    responses.flip();
+    connection.channel.write(responses);
+    responses.compact();
+    return responses.position() == 0;
+  }
+
+  private void disconnect(SelectionKey key, Connection connection) {
+    key.cancel();
+    release(connection);
+    if (acceptPausedUntil != 0) {
+      // A file descriptor was just freed
+      resumeAccepting();
+    }
+  }
+
+  private void release(Connection connection) {
+    try {
+      connection.channel.close();
+    } catch (IOException e) {
+      // The connection is gone either way
+    }
+    buffers.give(connection.requests);
+    buffers.give(connection.responses);
+  }
+
+  /**
+   * The socket of a client and the buffers lent to it, both kept in write mode between events.
+   */
+  private static final class Connection {
+    private final SocketChannel channel;
+    private final ByteBuffer requests;
+    private final ByteBuffer responses;
+
+    Connection(SocketChannel channel, ByteBuffer requests, ByteBuffer responses) {
+      this.channel = channel;
+      this.requests = requests;
+      this.responses = responses;
+    }
+  }
+
+  /**
+   * Direct buffers of one size, reused across connections. Only the selector thread uses it.
+   */
+  private static final class BufferPool {
+    private final int capacity;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    BufferPool(int capacity) {
+      this.capacity = capacity;
+    }
+
+    ByteBuffer take() {
+      ByteBuffer buffer = free.poll();
+      return buffer != null ? buffer : ByteBuffer.allocateDirect(capacity);
+    }
+
+    void give(ByteBuffer buffer) {
+      buffer.clear();
+      free.push(buffer);
+    }
+  }
+
+  /**
+   * Starts a server and keeps it running until the process is stopped.
+   *
+   * @param args an optional port number; {@value #DEFAULT_PORT} if absent.
+   * @throws IOException if the port cannot be bound.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    HoldemBinaryServer server = start(new InetSocketAddress(port));
+    System.out.println("Hold'em binary evaluation server listening on port " + server.getPort());
+  }
+}
@@ -1,10 +1,22 @@
 
 
 import view.HoldemView;
+import java.io.IOException;
+import java.util.Arrays;
 import javax.swing.JFrame;
 
 public class HoldemMain {
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
+    // "--server [port]" runs the headless HTTP service instead of the Swing view
+    if (args.length > 0 && args[0].equals("--server")) {
+      HoldemServer.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+    // "--binary-server [port]" runs the binary protocol service for bulk clients
+    if (args.length > 0 && args[0].equals("--binary-server")) {
+      HoldemBinaryServer.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
     HoldemModel model = new HoldemModel();
     HoldemView view = new HoldemView();
     new HoldemController(model, view);
@@ -0,0 +1,350 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless HTTP front end for the starting hand evaluation, for backends that cannot open the Swing view. It
+ * uses the JDK's built-in {@code HttpServer} and runs every request on its own virtual thread. Evaluations go
+ * through {@code StatelessHoldemModel}, so requests never share state.
+ *
+ * <p>Endpoints:</p>
+ * <pre>
+ * GET  /evaluate?hand=AsKh          one hand        -> {"hand":"AsKh","score":..,"combination":..,"actions":{..}}
+ * POST /evaluate/batch  ["AsKh",..] up to 10,000    -> [{..},{..}] in the order of the request
+ * </pre>
+ * <p>Hands are written as two cards of rank {@code 2-9, T, J, Q, K, A} and suit {@code s, h, c, d}, in either
+ * case. The batch body is a JSON array of such strings; any whitespace or commas between the hands are accepted
+ * too. Invalid input gets status 400 and {@code {"error":"..."}}.</p>
+ *
+ * <p>Connections are kept alive between requests, and a client may send several requests before reading the
+ * responses: they are answered in order. The JSON of every hand is built once per strategy and reused until a
+ * new strategy is installed, so answering a batch only copies bytes.</p>
+ */
+public final class HoldemServer implements AutoCloseable {
+  /**
+   * Port used when none is given on the command line.
+   */
+  public static final int DEFAULT_PORT = 8080;
+
+  /**
+   * Largest number of hands accepted in one batch request.
+   */
+  public static final int MAX_BATCH_HANDS = 10_000;
+
+  private static final int MAX_BODY_BYTES = 1 << 20;
+  private static final int HAND_LENGTH = 4;
+  private static final String RANKS = "23456789TJQKA";
+  private static final String SUITS = "shcd";
+
+  static {
+    // The JDK server writes the headers and the body separately; without this, Nagle's algorithm holds the body
+    // back until the client acknowledges the headers, which costs a delayed-ACK timeout per keep-alive request
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final StatelessHoldemModel model = new StatelessHoldemModel();
+  private volatile ResponseTable responses;
+
+  private HoldemServer(HttpServer server, ExecutorService executor) {
+    this.server = server;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts a server.
+   *
+   * @param address the address to listen on; port 0 picks a free port.
+   * @return the running server.
+   * @throws IOException if the address cannot be bound.
+   */
+  public static HoldemServer start(InetSocketAddress address) throws IOException {
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    HoldemServer holdemServer = new HoldemServer(HttpServer.create(address, 0), executor);
+    holdemServer.server.createContext("/evaluate", holdemServer::handleEvaluate);
+    holdemServer.server.createContext("/evaluate/batch", holdemServer::handleBatch);
+    holdemServer.server.setExecutor(executor);
+    holdemServer.server.start();
+    return holdemServer;
+  }
+
+  /**
+   * Returns the port the server listens on.
+   *
+   * @return the local port.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops accepting requests and waits for the requests in progress to finish.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.close();
+  }
+
+  /**
+   * Answers {@code GET /evaluate?hand=AsKh} with the evaluation of one hand.
+   */
+  private void handleEvaluate(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!exchange.getRequestURI().getPath().equals("/evaluate")) {
+        sendError(exchange, 404, "Not found: " + exchange.getRequestURI().getPath());
+        return;
+      }
+      if (!exchange.getRequestMethod().equals("GET")) {
+        sendError(exchange, 405, "Use GET for /evaluate");
+        return;
+      }
+      String hand = queryParameter(exchange.getRequestURI().getRawQuery(), "hand");
+      if (hand == null) {
+        sendError(exchange, 400, "Missing query parameter: hand");
+        return;
+      }
+      byte[] bytes = hand.getBytes(StandardCharsets.US_ASCII);
+      int encoded = bytes.length == HAND_LENGTH ? parseHand(bytes, 0) : -1;
+      if (encoded < 0) {
+        sendError(exchange, 400, "Invalid hand: " + hand);
+        return;
+      }
+      send(exchange, 200, responseTable().json[encoded]);
+    }
+  }
+
+  /**
+   * Answers {@code POST /evaluate/batch} with the evaluation of every hand in the body, in order.
+   */
+  private void handleBatch(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!exchange.getRequestURI().getPath().equals("/evaluate/batch")) {
+        sendError(exchange, 404, "Not found: " + exchange.getRequestURI().getPath());
+        return;
+      }
+      if (!exchange.getRequestMethod().equals("POST")) {
+        sendError(exchange, 405, "Use POST for /evaluate/batch");
+        return;
+      }
+      byte[] body = readBody(exchange.getRequestBody());
+      if (body == null) {
+        sendError(exchange, 413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+        return;
+      }
+      int[] hands = new int[Math.min(MAX_BATCH_HANDS, body.length / HAND_LENGTH)];
+      int count = 0;
+      int i = skipSeparators(body, 0);
+      while (i < body.length) {
+        int end = i;
+        while (end < body.length && !isSeparator(body[end])) {
+          end++;
+        }
+        int encoded = end - i == HAND_LENGTH ? parseHand(body, i) : -1;
+        if (encoded < 0) {
+          sendError(exchange, 400, "Invalid hand at index " + count + ": "
+              + new String(body, i, end - i, StandardCharsets.US_ASCII));
+          return;
+        }
+        if (count == hands.length) {
+          sendError(exchange, 400, "A batch holds at most " + MAX_BATCH_HANDS + " hands");
+          return;
+        }
+        hands[count++] = encoded;
+        i = skipSeparators(body, end);
+      }
+      send(exchange, 200, responseTable().batch(hands, count));
+    }
+  }
+
+  /**
+   * Reads the whole request body, or returns null if it is larger than the limit.
+   */
+  private static byte[] readBody(InputStream in) throws IOException {
+    byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+    return body.length > MAX_BODY_BYTES ? null : body;
+  }
+
+  private static int skipSeparators(byte[] bytes, int i) {
+    while (i < bytes.length && isSeparator(bytes[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isSeparator(byte b) {
+    return b == '[' || b == ']' || b == '"' || b == ',' || b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  /**
+   * Parses four bytes such as {@code AsKh} into a hand encoded as by {@code HoldemModel.encodeHand}.
+   *
+   * @return the encoded hand, or -1 if the bytes are not two different valid cards.
+   */
+  static int parseHand(byte[] bytes, int from) {
+    int card1 = parseCard(bytes[from], bytes[from + 1]);
+    int card2 = parseCard(bytes[from + 2], bytes[from + 3]);
+    if (card1 < 0 || card2 < 0 || card1 == card2) {
+      return -1;
+    }
+    return card1 * CardF.DECK_SIZE + card2;
+  }
+
+  private static int parseCard(byte rank, byte suit) {
+    int r = RANKS.indexOf(Character.toUpperCase((char) rank));
+    int s = SUITS.indexOf(Character.toLowerCase((char) suit));
+    return r < 0 || s < 0 ? -1 : r * 4 + s;
+  }
+
+  /**
+   * Returns the decoded value of a query parameter, or null if it is absent.
+   */
+  private static String queryParameter(String rawQuery, String name) {
+    if (rawQuery == null) {
+      return null;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int equals = pair.indexOf('=');
+      if (equals > 0 && pair.substring(0, equals).equals(name)) {
+        return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+      }
+    }
+    return null;
+  }
+
+  private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+    send(exchange, status, ("{\"error\":" + quote(message) + "}").getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Sends a JSON response with a known length, which keeps the connection open for the next request.
+   */
+  private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /**
+   * Returns the responses of the active strategy, building them again if a new strategy has been installed.
+   */
+  private ResponseTable responseTable() {
+    ResponseTable table = responses;
+    long version = StartingHandTable.getStrategyVersion();
+    if (table == null || table.strategyVersion != version) {
+      // Two threads may build the same table at once; either copy is correct
+      table = new ResponseTable(version, model);
+      responses = table;
+    }
+    return table;
+  }
+
+  /**
+   * Writes a string as a JSON string literal.
+   */
+  static String quote(String text) {
+    StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '"' -> builder.append("\\\"");
+        case '\\' -> builder.append("\\\\");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        case '\t' -> builder.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            builder.append(String.format("\\u%04x", (int) c));
+          } else {
+            builder.append(c);
+          }
+        }
+      }
+    }
+    return builder.append('"').toString();
+  }
+
+  /**
+   * The JSON of every hand under one strategy, indexed by encoded hand.
+   */
+  private static final class ResponseTable {
+    private final long strategyVersion;
+    private final byte[][] json = new byte[CardF.DECK_SIZE * CardF.DECK_SIZE][];
+
+    ResponseTable(long strategyVersion, StatelessHoldemModel model) {
+      this.strategyVersion = strategyVersion;
+      for (int card1 = 0; card1 < CardF.DECK_SIZE; card1++) {
+        for (int card2 = 0; card2 < CardF.DECK_SIZE; card2++) {
+          if (card1 != card2) {
+            json[card1 * CardF.DECK_SIZE + card2] =
+                toJson(model.evaluate(CardF.of(card1), CardF.of(card2))).getBytes(StandardCharsets.UTF_8);
+          }
+        }
+      }
+    }
+
+    private static String toJson(HandEvaluation evaluation) {
+      StringBuilder builder = new StringBuilder(128);
+      builder.append("{\"hand\":\"").append(notation(evaluation.getFirstCard()))
+          .append(notation(evaluation.getSecondCard())).append("\",\"score\":").append(evaluation.getScore())
+          .append(",\"combination\":").append(quote(evaluation.getCombination())).append(",\"actions\":{");
+      for (Position position : Position.values()) {
+        Action action = evaluation.getAction(position);
+        builder.append(position.ordinal() == 0 ? "" : ",").append(quote(position.name())).append(':')
+            .append(action == null ? "null" : quote(action.getLabel()));
+      }
+      return builder.append("}}").toString();
+    }
+
+    private static String notation(CardF card) {
+      return "" + RANKS.charAt(CardF.rankOf(card.getIndex())) + SUITS.charAt(CardF.suitOf(card.getIndex()));
+    }
+
+    /**
+     * Joins the JSON of some hands into a JSON array.
+     */
+    byte[] batch(int[] hands, int count) {
+      int length = 2 + Math.max(0, count - 1);
+      for (int i = 0; i < count; i++) {
+        length += json[hands[i]].length;
+      }
+      byte[] body = new byte[length];
+      body[0] = '[';
+      int position = 1;
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          body[position++] = ',';
+        }
+        byte[] hand = json[hands[i]];
+        System.arraycopy(hand, 0, body, position, hand.length);
+        position += hand.length;
+      }
+      body[position] = ']';
+      return body;
+    }
+  }
+
+  /**
+   * Starts a server and keeps it running until the process is stopped.
+   *
+   * @param args an optional port number; {@value #DEFAULT_PORT} if absent.
+   * @throws IOException if the port cannot be bound.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    HoldemServer server = start(new InetSocketAddress(port));
+    System.out.println("Hold'em evaluation server listening on port " + server.getPort());
+  }
+}
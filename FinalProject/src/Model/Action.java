@@ -0,0 +1,45 @@
+/**
+ * The action recommended for a starting hand at a position.
+ */
+public enum Action {
+  BET("Bet"),
+  FOLD("Fold");
+
+  private static final Action[] VALUES = values();
+
+  private final String label;
+
+  Action(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Returns the display label of the action.
+   *
+   * @return "Bet" or "Fold".
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Returns the action with the given ordinal without allocating.
+   *
+   * @param ordinal the ordinal of the action.
+   * @return the action.
+   */
+  public static Action ofOrdinal(int ordinal) {
+    return VALUES[ordinal];
+  }
+
+  /**
+   * Decides whether a score is strong enough to bet from a position.
+   *
+   * @param score the score of the hand.
+   * @param threshold the score the hand must exceed to bet.
+   * @return {@code BET} if the score is above the threshold, {@code FOLD} otherwise.
+   */
+  public static Action forScore(int score, int threshold) {
+    return score > threshold ? BET : FOLD;
+  }
+}
@@ -0,0 +1,219 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A thread-safe cache with a maximum total weight and least-recently-used eviction. Every entry has a weight,
+ * for example its approximate size in bytes, or 1 to bound the number of entries.
+ *
+ * <p>Entries are spread over a fixed number of segments by key hash. Each segment is an access-ordered
+ * {@code LinkedHashMap} guarded by its own lock, with an equal share of the maximum weight, so threads that
+ * look up different keys rarely wait for each other. Hits, misses and evictions are counted with
+ * {@code LongAdder}s.</p>
+ *
+ * @param <K> the type of the keys; must have consistent {@code equals} and {@code hashCode}.
+ * @param <V> the type of the values.
+ */
+public final class BoundedCache<K, V> {
+  private static final int MAX_SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Constructs a cache that holds at most a number of entries.
+   *
+   * @param maximumSize the maximum number of entries.
+   * @throws IllegalArgumentException if the size is not positive.
+   */
+  public BoundedCache(int maximumSize) {
+    this(maximumSize, (key, value) -> 1);
+  }
+
+  /**
+   * Constructs a cache bounded by the total weight of its entries.
+   *
+   * @param maximumWeight the maximum total weight.
+   * @param weigher computes the weight of an entry; must not be negative and must not change over time.
+   * @throws IllegalArgumentException if the maximum weight is not positive or the weigher is null.
+   */
+  public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    this(maximumWeight, weigher,
+        (int) Math.min(MAX_SEGMENTS, Long.highestOneBit(Math.max(1, maximumWeight))));
+  }
+
+  /**
+   * Constructs a cache with a given number of segments; a single segment gives exact LRU order.
+   */
+  @SuppressWarnings("unchecked")
+  BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, int segmentCount) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+    }
+    if (weigher == null) {
+      throw new IllegalArgumentException("Weigher cannot be null");
+    }
+    if (Integer.bitCount(segmentCount) != 1 || segmentCount > maximumWeight) {
+      throw new IllegalArgumentException("Invalid segment count: " + segmentCount);
+    }
+    this.weigher = weigher;
+    this.segments = (Segment<K, V>[]) new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // Spread the remainder so the segment limits add up to the maximum weight
+      long share = maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0);
+      segments[i] = new Segment<>(share);
+    }
+  }
+
+  private Segment<K, V> segmentFor(Object key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return segments[hash & (segments.length - 1)];
+  }
+
+  /**
+   * Returns the cached value of a key and marks it as recently used.
+   *
+   * @param key the key to look up.
+   * @return the value, or null if the key is not cached.
+   */
+  public V getIfPresent(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    V value;
+    synchronized (segment) {
+      value = segment.map.get(key);
+    }
+    (value == null ? misses : hits).increment();
+    return value;
+  }
+
+  /**
+   * Returns the cached value of a key, computing and caching it on a miss. The value is computed without
+   * holding a lock, so two threads that miss on the same key at once may both compute it; the first value
+   * stored wins and is returned to both.
+   *
+   * @param key the key to look up.
+   * @param loader computes the value of a missing key; must not return null.
+   * @return the cached or computed value.
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    V value = getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+    V computed = loader.apply(key);
+    if (computed == null) {
+      throw new IllegalStateException("Cache loader returned null for " + key);
+    }
+    return putIfAbsent(key, computed);
+  }
+
+  /**
+   * Stores a value, replacing any cached value of the key, and evicts the least recently used entries of
+   * its segment if the segment is over its weight limit. A value heavier than a whole segment is not stored.
+   *
+   * @param key the key.
+   * @param value the value; must not be null.
+   */
+  public void put(K key, V value) {
+    insert(key, value, true);
+  }
+
+  private V putIfAbsent(K key, V value) {
+    return insert(key, value, false);
+  }
+
+  private V insert(K key, V value, boolean replace) {
+    if (key == null || value == null) {
+      throw new IllegalArgumentException("Cache keys and values cannot be null");
+    }
+    int weight = weigher.applyAsInt(key, value);
+    Segment<K, V> segment = segmentFor(key);
+    synchronized (segment) {
+      V existing = segment.map.get(key);
+      if (existing != null) {
+        if (!replace) {
+          return existing;
+        }
+        segment.map.remove(key);
+        segment.weight -= weigher.applyAsInt(key, existing);
+      }
+      if (weight > segment.maximumWeight) {
+        return value;
+      }
+      segment.map.put(key, value);
+      segment.weight += weight;
+      Iterator<Map.Entry<K, V>> eldest = segment.map.entrySet().iterator();
+      while (segment.weight > segment.maximumWeight) {
+        Map.Entry<K, V> entry = eldest.next();
+        segment.weight -= weigher.applyAsInt(entry.getKey(), entry.getValue());
+        eldest.remove();
+        evictions.increment();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Removes every entry. The statistics are kept.
+   */
+  public void invalidateAll() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.map.clear();
+        segment.weight = 0;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of entries in the cache.
+   *
+   * @return the entry count.
+   */
+  public long size() {
+    long size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.map.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns a snapshot of the hit, miss and eviction counters and the current size and weight.
+   *
+   * @return the cache statistics.
+   */
+  public CacheStats stats() {
+    long size = 0;
+    long weight = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.map.size();
+        weight += segment.weight;
+      }
+    }
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, weight);
+  }
+
+  /**
+   * One lock's worth of the cache: an access-ordered map and its running weight.
+   */
+  private static final class Segment<K, V> {
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maximumWeight;
+    private long weight;
+
+    Segment(long maximumWeight) {
+      this.maximumWeight = maximumWeight;
+    }
+  }
+}
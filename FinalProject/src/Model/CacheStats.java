@@ -0,0 +1,93 @@
+/**
+ * Immutable snapshot of the counters of a {@code BoundedCache}.
+ */
+public final class CacheStats {
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long size;
+  private final long weight;
+
+  /**
+   * Constructs a statistics snapshot.
+   *
+   * @param hits the number of lookups that found a value.
+   * @param misses the number of lookups that found nothing.
+   * @param evictions the number of entries removed to stay within the maximum weight.
+   * @param size the number of entries in the cache.
+   * @param weight the total weight of the entries in the cache.
+   */
+  public CacheStats(long hits, long misses, long evictions, long size, long weight) {
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.size = size;
+    this.weight = weight;
+  }
+
+  /**
+   * Returns the number of lookups that found a value.
+   *
+   * @return the hit count.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that found nothing.
+   *
+   * @return the miss count.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of entries removed to stay within the maximum weight.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Returns the number of entries in the cache.
+   *
+   * @return the entry count.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Returns the total weight of the entries in the cache.
+   *
+   * @return the weight.
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Returns the share of lookups that found a value.
+   *
+   * @return the hit rate between 0 and 1, or 0 if there was no lookup.
+   */
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  /**
+   * Returns a string representation of the statistics.
+   *
+   * @return the counters and the hit rate.
+   */
+  @Override
+  public String toString() {
+    return String.format("Hits: %d, Misses: %d, Hit rate: %.3f, Evictions: %d, Size: %d, Weight: %d",
+        hits, misses, getHitRate(), evictions, size, weight);
+  }
+}
@@ -1,8 +1,28 @@
 /**
  * Represents a single playing card with a value and a suit. This class is suitable for games
  * involving both numbered cards and face cards like Jacks (J), Queens (Q), Kings (K), and Aces (A).
+ *
+ * <p>Every card is backed by a compact index from 0 to 51, ordered by rank and then suit
+ * ({@code rank * 4 + suit}), where ranks run from 0 (deuce) to 12 (ace) and suits are ordered
+ * Spades, Hearts, Clubs, Diamonds. Hot paths work on these indexes directly and use {@link #of(int)}
+ * to get the canonical, shared {@code CardF} for an index, so they never allocate or parse strings.</p>
  */
 public class CardF implements ICard {
+  /**
+   * Number of cards in a standard deck.
+   */
+  public static final int DECK_SIZE = 52;
+
+  private static final String[] VALUES = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+  private static final String[] SUITS = {"S", "H", "C", "D"};
+  private static final CardF[] DECK = new CardF[DECK_SIZE];
+
+  static {
+    for (int index = 0; index < DECK_SIZE; index++) {
+      DECK[index] = new CardF(index);
+    }
+  }
+
   /**
    * The value of the card. This can be "2" to "10", "J" for Jack, "Q" for Queen,
    * "K" for King, or "A" for Ace.
@@ -15,6 +35,11 @@ public class CardF implements ICard {
    */
   public final String suit;
 
+  /**
+   * The compact index of the card, from 0 to 51.
+   */
+  private final int index;
+
   /**
    * Constructs a CardF object with specified value and suit.
    *
@@ -23,16 +48,127 @@ public class CardF implements ICard {
    * @throws IllegalArgumentException if either the value or the suit are invalid according to standard card rules.
    */
   public CardF(String value, String suit) {
-    // Validate the value
-    if (!value.matches("[2-9]|10|[AJKQ]")) {
+    this(indexOf(value, suit));
+  }
+
+  /**
+   * Constructs the card for a compact index.
+   *
+   * @param index The index of the card, from 0 to 51.
+   */
+  private CardF(int index) {
+    this.index = index;
+    this.value = VALUES[rankOf(index)];
+    this.suit = SUITS[suitOf(index)];
+  }
+
+  /**
+   * Returns the canonical card for a compact index. The same instance is returned on every call.
+   *
+   * @param index The index of the card, from 0 to 51.
+   * @return The shared card for the index.
+   * @throws IllegalArgumentException if the index is not between 0 and 51.
+   */
+  public static CardF of(int index) {
+    if (index < 0 || index >= DECK_SIZE) {
+      throw new IllegalArgumentException("Invalid card index: " + index);
+    }
+    return DECK[index];
+  }
+
+  /**
+   * Returns the canonical card for a value and a suit. The same instance is returned on every call.
+   *
+   * @param value The value of the card ("2"-"10", "J", "Q", "K", "A").
+   * @param suit The suit of the card ("S", "H", "C" or "D").
+   * @return The shared card for the value and suit.
+   * @throws IllegalArgumentException if either the value or the suit are invalid according to standard card rules.
+   */
+  public static CardF of(String value, String suit) {
+    return DECK[indexOf(value, suit)];
+  }
+
+  /**
+   * Converts a value and a suit to the compact index of the card.
+   *
+   * @param value The value of the card ("2"-"10", "J", "Q", "K", "A").
+   * @param suit The suit of the card ("S", "H", "C" or "D").
+   * @return The index of the card, from 0 to 51.
+   * @throws IllegalArgumentException if either the value or the suit are invalid according to standard card rules.
+   */
+  public static int indexOf(String value, String suit) {
+    int rank = find(VALUES, value);
+    if (rank < 0) {
       throw new IllegalArgumentException("Invalid card value: " + value);
     }
-    // Validate the suit
-    if (!suit.matches("[SHCD]")) {
+    int suitIndex = find(SUITS, suit);
+    if (suitIndex < 0) {
       throw new IllegalArgumentException("Invalid card suit: " + suit);
     }
-    this.value = value;
-    this.suit = suit;
+    return rank * 4 + suitIndex;
+  }
+
+  /**
+   * Finds a string in a small lookup array.
+   *
+   * @param names The array to search.
+   * @param name The string to find; may be null.
+   * @return The position of the string, or -1 if it is not present.
+   */
+  private static int find(String[] names, String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the rank encoded in a card index.
+   *
+   * @param index The index of the card, from 0 to 51.
+   * @return The rank, from 0 (deuce) to 12 (ace).
+   */
+  public static int rankOf(int index) {
+    return index >> 2;
+  }
+
+  /**
+   * Returns the suit encoded in a card index.
+   *
+   * @param index The index of the card, from 0 to 51.
+   * @return The suit, from 0 to 3 (Spades, Hearts, Clubs, Diamonds).
+   */
+  public static int suitOf(int index) {
+    return index & 3;
+  }
+
+  /**
+   * Returns the compact index of the card.
+   *
+   * @return The index of the card, from 0 to 51.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the rank of the card.
+   *
+   * @return The rank, from 0 (deuce) to 12 (ace).
+   */
+  public int getRank() {
+    return rankOf(index);
+  }
+
+  /**
+   * Returns the suit of the card as a number.
+   *
+   * @return The suit, from 0 to 3 (Spades, Hearts, Clubs, Diamonds).
+   */
+  public int getSuitIndex() {
+    return suitOf(index);
   }
 
   /**
@@ -60,18 +196,7 @@ public class CardF implements ICard {
    * @return The numerical value of the card, where Jacks are 11, Queens are 12, Kings are 13, and Aces are 14.
    */
   public int getNumericValue() {
-    switch (value) {
-      case "A":
-        return 14;
-      case "K":
-        return 13;
-      case "Q":
-        return 12;
-      case "J":
-        return 11;
-      default:
-        return Integer.parseInt(value); // This will now safely assume value is a valid number between 2 and 10
-    }
+    return rankOf(index) + 2;
   }
 
   /**
@@ -89,7 +214,7 @@ public class CardF implements ICard {
       return false;
     }
     CardF other = (CardF) obj;
-    return value.equals(other.value) && suit.equals(other.suit);
+    return index == other.index;
   }
 
   /**
@@ -99,7 +224,7 @@ public class CardF implements ICard {
    */
   @Override
   public int hashCode() {
-    return 31 * value.hashCode() + suit.hashCode();
+    return index;
   }
 
   /**
@@ -0,0 +1,153 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A deck of card indexes (0 to 51, see {@code CardF.getIndex}) that deals uniformly random cards without
+ * building {@code CardF} objects. The cards live in a single {@code int[]}. Dealing is an in-place partial
+ * Fisher-Yates shuffle: each dealt card is swapped into place from the undealt part of the array, so only the
+ * cards that are actually dealt get shuffled, and {@link #reset()} returns every card to the deck in constant
+ * time.
+ *
+ * <p>Dead cards, such as known hole cards or board cards, are removed with a 52-bit mask. The random number
+ * generator is pluggable; use {@link #seeded(long)} or {@link #xoshiro(long)} for reproducible deals. A deck is
+ * not thread-safe; give every thread its own deck and generator.</p>
+ */
+public final class Deck {
+  private final int[] cards = new int[CardF.DECK_SIZE];
+  private final RandomGenerator random;
+  private long deadCards;
+  private int size;
+  private int dealt;
+
+  /**
+   * Constructs a full 52-card deck.
+   *
+   * @param random the random number generator used to deal.
+   * @throws IllegalArgumentException if the generator is null.
+   */
+  public Deck(RandomGenerator random) {
+    this(random, 0L);
+  }
+
+  /**
+   * Constructs a deck without the given dead cards.
+   *
+   * @param random the random number generator used to deal.
+   * @param deadCards a mask with bit {@code i} set for every card index {@code i} to leave out.
+   * @throws IllegalArgumentException if the generator is null.
+   */
+  public Deck(RandomGenerator random, long deadCards) {
+    if (random == null) {
+      throw new IllegalArgumentException("Random generator cannot be null");
+    }
+    this.random = random;
+    setDeadCards(deadCards);
+  }
+
+  /**
+   * Creates a full deck dealt by a {@code SplittableRandom} with the given seed.
+   *
+   * @param seed the seed; the same seed deals the same cards.
+   * @return a new deck.
+   */
+  public static Deck seeded(long seed) {
+    return new Deck(new SplittableRandom(seed));
+  }
+
+  /**
+   * Creates a full deck dealt by a Xoshiro256++ generator with the given seed.
+   *
+   * @param seed the seed; the same seed deals the same cards.
+   * @return a new deck.
+   */
+  public static Deck xoshiro(long seed) {
+    return new Deck(RandomGeneratorFactory.of("Xoshiro256PlusPlus").create(seed));
+  }
+
+  /**
+   * Replaces the dead cards and returns every other card to the deck.
+   *
+   * @param deadCards a mask with bit {@code i} set for every card index {@code i} to leave out.
+   */
+  public void setDeadCards(long deadCards) {
+    this.deadCards = deadCards & ((1L << CardF.DECK_SIZE) - 1);
+    size = 0;
+    for (int card = 0; card < CardF.DECK_SIZE; card++) {
+      if ((this.deadCards & (1L << card)) == 0) {
+        cards[size++] = card;
+      }
+    }
+    dealt = 0;
+  }
+
+  /**
+   * Adds more dead cards, for example a board card that just became known, and returns every other card to
+   * the deck.
+   *
+   * @param cards a mask with bit {@code i} set for every card index {@code i} to remove.
+   */
+  public void removeCards(long cards) {
+    setDeadCards(deadCards | cards);
+  }
+
+  /**
+   * Returns the cards left out of the deck.
+   *
+   * @return a mask with bit {@code i} set for every dead card index {@code i}.
+   */
+  public long getDeadCards() {
+    return deadCards;
+  }
+
+  /**
+   * Returns every dealt card to the deck. The next deals are again uniformly random over all live cards.
+   */
+  public void reset() {
+    dealt = 0;
+  }
+
+  /**
+   * Returns the number of cards that can still be dealt before the next {@link #reset()}.
+   *
+   * @return the number of cards remaining.
+   */
+  public int remaining() {
+    return size - dealt;
+  }
+
+  /**
+   * Deals one card.
+   *
+   * @return the index of the card, from 0 to 51.
+   * @throws IllegalStateException if every live card has been dealt.
+   */
+  public int deal() {
+    if (dealt == size) {
+      throw new IllegalStateException("No cards left in the deck.");
+    }
+    int i = dealt++;
+    int j = i + random.nextInt(size - i);
+    int card = cards[j];
+    cards[j] = cards[i];
+    cards[i] = card;
+    return card;
+  }
+
+  /**
+   * Deals several cards into an array.
+   *
+   * @param out the array that receives the card indexes.
+   * @param offset the first position of {@code out} to fill.
+   * @param count the number of cards to deal.
+   * @throws IllegalStateException if fewer than {@code count} cards are left.
+   */
+  public void deal(int[] out, int offset, int count) {
+    if (count > remaining()) {
+      throw new IllegalStateException("Only " + remaining() + " cards left in the deck, " + count + " needed.");
+    }
+    for (int k = 0; k < count; k++) {
+      out[offset + k] = deal();
+    }
+  }
+}
@@ -0,0 +1,368 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the outs of a hand on the flop or the turn: the unseen cards that complete a flush, a straight, a set or
+ * two pair, and the chance of drawing one of them. Extends {@code AbstractHandEvaluator} so it can be used
+ * wherever the other evaluators are used.
+ *
+ * <p>Cards are folded into the same four 13-bit rank masks as {@code SevenCardHandEvaluator}, one per suit, and
+ * every draw is found with a few mask operations and one 8,192-entry table of the ranks that complete a straight.
+ * The outs of each draw are kept as a card mask, so a card that completes two draws, such as a suited card that
+ * also makes the straight, is counted once in the total.</p>
+ *
+ * <p>Draws only count when they use a hole card: four cards of a suit on the board, or a straight that is all on
+ * the board, help every player alike. A draw the hand has already made, such as a straight draw when the hand is a
+ * flush, has no outs.</p>
+ *
+ * <p>For loops that analyse millions of boards, {@link #analyze(int, int, int[], int)} returns all the counts
+ * packed into one int without allocating; read them with {@link #flushOuts(int)} and the other accessors.
+ * Position decisions and comments are about the starting hand, so they are delegated to a
+ * {@code TexasHoldemHandEvaluator} over the first two cards (the hole cards).</p>
+ */
+public class DrawAnalyzer extends AbstractHandEvaluator {
+  private static final int FIELD_BITS = 5;
+  private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+  private static final int FLUSH_SHIFT = FIELD_BITS;
+  private static final int STRAIGHT_SHIFT = 2 * FIELD_BITS;
+  private static final int SET_SHIFT = 3 * FIELD_BITS;
+  private static final int TWO_PAIR_SHIFT = 4 * FIELD_BITS;
+  private static final int CATEGORY_SHIFT = 5 * FIELD_BITS;
+  private static final int RANK_MASKS = 1 << 13;
+  private static final int SUIT_RANKS = 0x1FFF;
+  private static final long EVERY_SUIT = 0x0001_0001_0001_0001L;
+
+  /**
+   * For every rank mask without a straight, the ranks whose addition makes one.
+   */
+  private static final short[] STRAIGHT_COMPLETIONS = new short[RANK_MASKS];
+
+  static {
+    for (int mask = 0; mask < RANK_MASKS; mask++) {
+      if (SevenCardHandEvaluator.straightHigh(mask) == 0) {
+        for (int rank = 0; rank < 13; rank++) {
+          if (SevenCardHandEvaluator.straightHigh(mask | 1 << rank) != 0) {
+            STRAIGHT_COMPLETIONS[mask] |= (short) (1 << rank);
+          }
+        }
+      }
+    }
+  }
+
+  private final TexasHoldemHandEvaluator preflop;
+
+  /**
+   * Initializes a new analyzer with a list of cards. The first two cards are the hole cards and the others are
+   * the board.
+   *
+   * @param cards the list of cards to analyse; five or six distinct cards are needed to count outs.
+   */
+  public DrawAnalyzer(List<CardF> cards) {
+    super(cards);
+    this.preflop = new TexasHoldemHandEvaluator(cards.size() > 2 ? cards.subList(0, 2) : cards);
+  }
+
+  /**
+   * Counts the outs of two hole cards on a flop or a turn.
+   *
+   * @param hole1 the index of the first hole card, from 0 to 51.
+   * @param hole2 the index of the second hole card, from 0 to 51.
+   * @param board the card indexes of the board; must be distinct from each other and from the hole cards.
+   * @param boardCount the number of board cards to read from the array, 3 or 4.
+   * @return the counts packed into one int; read them with the static accessors of this class.
+   */
+  public static int analyze(int hole1, int hole2, int[] board, int boardCount) {
+    long boardBits = 0;
+    for (int i = 0; i < boardCount; i++) {
+      boardBits |= SevenCardHandEvaluator.cardBits(board[i]);
+    }
+    return analyzeBits(SevenCardHandEvaluator.cardBits(hole1) | SevenCardHandEvaluator.cardBits(hole2),
+        boardBits, boardCount);
+  }
+
+  /**
+   * Counts the outs of a hand given as packed rank masks, see {@code SevenCardHandEvaluator.cardBits}.
+   *
+   * @param hole the two hole cards.
+   * @param board the board cards, distinct from the hole cards.
+   * @param boardCount the number of board cards, 3 or 4.
+   * @return the packed counts.
+   */
+  static int analyzeBits(long hole, long board, int boardCount) {
+    long known = hole | board;
+    int category = SevenCardHandEvaluator.categoryOf(SevenCardHandEvaluator.evaluateBits(known, boardCount + 2));
+    int ranks = fold(known);
+    int holeRanks = fold(hole);
+
+    long flushOuts = 0;
+    if (category < SevenCardHandEvaluator.FLUSH) {
+      for (int shift = 0; shift < 64; shift += 16) {
+        int suited = (int) (known >>> shift) & SUIT_RANKS;
+        if (Integer.bitCount(suited) == 4 && (hole >>> shift & SUIT_RANKS) != 0) {
+          flushOuts = (long) (~suited & SUIT_RANKS) << shift;
+        }
+      }
+    }
+
+    long straightOuts = 0;
+    if (category < SevenCardHandEvaluator.STRAIGHT) {
+      int boardRanks = fold(board);
+      for (int completions = STRAIGHT_COMPLETIONS[ranks]; completions != 0; completions &= completions - 1) {
+        int bit = completions & -completions;
+        // A straight the board makes on its own is not the hand's draw
+        if (SevenCardHandEvaluator.straightHigh(ranks | bit) > SevenCardHandEvaluator.straightHigh(boardRanks | bit)) {
+          straightOuts |= EVERY_SUIT * bit;
+        }
+      }
+    }
+
+    long setOuts = 0;
+    if (Integer.bitCount(holeRanks) == 1 && category < SevenCardHandEvaluator.THREE_OF_A_KIND) {
+      setOuts = EVERY_SUIT * holeRanks & ~known;
+    }
+
+    long twoPairOuts = 0;
+    if (Integer.bitCount(holeRanks) == 2 && category == SevenCardHandEvaluator.ONE_PAIR) {
+      int s = (int) known & SUIT_RANKS;
+      int h = (int) (known >>> 16) & SUIT_RANKS;
+      int c = (int) (known >>> 32) & SUIT_RANKS;
+      int d = (int) (known >>> 48) & SUIT_RANKS;
+      int paired = ranks ^ (s ^ h ^ c ^ d);
+      twoPairOuts = EVERY_SUIT * (holeRanks & ~paired) & ~known;
+    }
+
+    int total = Long.bitCount(flushOuts | straightOuts | setOuts | twoPairOuts);
+    return total
+        | Long.bitCount(flushOuts) << FLUSH_SHIFT
+        | Long.bitCount(straightOuts) << STRAIGHT_SHIFT
+        | Long.bitCount(setOuts) << SET_SHIFT
+        | Long.bitCount(twoPairOuts) << TWO_PAIR_SHIFT
+        | category << CATEGORY_SHIFT;
+  }
+
+  private static int fold(long bits) {
+    return (int) (bits | bits >>> 16 | bits >>> 32 | bits >>> 48) & SUIT_RANKS;
+  }
+
+  /**
+   * Returns the number of distinct outs of packed counts, with cards that complete two draws counted once.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the number of outs.
+   */
+  public static int totalOuts(int draws) {
+    return draws & FIELD_MASK;
+  }
+
+  /**
+   * Returns the number of cards that complete a flush.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the flush outs, 0 or 9.
+   */
+  public static int flushOuts(int draws) {
+    return draws >>> FLUSH_SHIFT & FIELD_MASK;
+  }
+
+  /**
+   * Returns the number of cards that complete a straight.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the straight outs: 4 for a gutshot, 8 for an open-ended or double gutshot draw.
+   */
+  public static int straightOuts(int draws) {
+    return draws >>> STRAIGHT_SHIFT & FIELD_MASK;
+  }
+
+  /**
+   * Returns the number of cards that turn a pocket pair into a set.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the set outs, 0 or 2.
+   */
+  public static int setOuts(int draws) {
+    return draws >>> SET_SHIFT & FIELD_MASK;
+  }
+
+  /**
+   * Returns the number of cards that turn one pair into two pair by pairing a hole card.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the two pair outs, 0, 3 or 6.
+   */
+  public static int twoPairOuts(int draws) {
+    return draws >>> TWO_PAIR_SHIFT & FIELD_MASK;
+  }
+
+  /**
+   * Returns the category of the hand already made, before any card is drawn.
+   *
+   * @param draws counts returned by {@link #analyze(int, int, int[], int)}.
+   * @return the category, from {@code SevenCardHandEvaluator.HIGH_CARD} to {@code STRAIGHT_FLUSH}.
+   */
+  public static int madeCategory(int draws) {
+    return draws >>> CATEGORY_SHIFT;
+  }
+
+  /**
+   * Returns the chance of hitting one of a number of outs with the next card.
+   *
+   * @param outs the number of outs.
+   * @param boardCount the number of board cards already dealt, 3 or 4.
+   * @return the probability between 0 and 1.
+   */
+  public static double nextCardProbability(int outs, int boardCount) {
+    return (double) outs / unseen(boardCount);
+  }
+
+  /**
+   * Returns the chance of hitting at least one of a number of outs by the river: on the turn or the river from
+   * the flop, or on the river from the turn.
+   *
+   * @param outs the number of outs.
+   * @param boardCount the number of board cards already dealt, 3 or 4.
+   * @return the probability between 0 and 1.
+   */
+  public static double byRiverProbability(int outs, int boardCount) {
+    int unseen = unseen(boardCount);
+    if (boardCount >= 4) {
+      return (double) outs / unseen;
+    }
+    return 1 - (double) (unseen - outs) * (unseen - outs - 1) / ((double) unseen * (unseen - 1));
+  }
+
+  private static int unseen(int boardCount) {
+    return CardF.DECK_SIZE - 2 - boardCount;
+  }
+
+  /**
+   * Counts the outs of the cards held by this analyzer.
+   *
+   * @return the packed counts.
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  private int draws() {
+    if (cards.size() < 5 || cards.size() > 6) {
+      throw new IllegalArgumentException("Two hole cards and a flop or turn are needed to count outs.");
+    }
+    long hole = 0;
+    long board = 0;
+    for (int i = 0; i < cards.size(); i++) {
+      long bit = SevenCardHandEvaluator.cardBits(cards.get(i).getIndex());
+      if (((hole | board) & bit) != 0) {
+        throw new IllegalArgumentException("Duplicate card in hand: " + cards.get(i));
+      }
+      if (i < 2) {
+        hole |= bit;
+      } else {
+        board |= bit;
+      }
+    }
+    return analyzeBits(hole, board, cards.size() - 2);
+  }
+
+  /**
+   * Returns the number of distinct outs of the hand.
+   *
+   * @return the number of outs.
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  public int getOuts() {
+    return totalOuts(draws());
+  }
+
+  /**
+   * Returns the chance that the next card is one of the hand's outs.
+   *
+   * @return the probability between 0 and 1.
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  public double getNextCardProbability() {
+    return nextCardProbability(getOuts(), cards.size() - 2);
+  }
+
+  /**
+   * Returns the chance of hitting one of the hand's outs by the river.
+   *
+   * @return the probability between 0 and 1.
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  public double getByRiverProbability() {
+    return byRiverProbability(getOuts(), cards.size() - 2);
+  }
+
+  /**
+   * Names the draws of the hand, such as "Flush Draw, Gutshot Straight Draw".
+   *
+   * @return the names of the draws separated by commas, or "No Draw".
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  @Override
+  public String getHandCombination() {
+    int draws = draws();
+    List<String> names = new ArrayList<>();
+    if (flushOuts(draws) > 0) {
+      names.add("Flush Draw");
+    }
+    if (straightOuts(draws) >= 8) {
+      names.add("Open-Ended Straight Draw");
+    } else if (straightOuts(draws) > 0) {
+      names.add("Gutshot Straight Draw");
+    }
+    if (setOuts(draws) > 0) {
+      names.add("Set Draw");
+    }
+    if (twoPairOuts(draws) > 0) {
+      names.add("Two Pair Draw");
+    }
+    return names.isEmpty() ? "No Draw" : String.join(", ", names);
+  }
+
+  /**
+   * Returns the number of distinct outs of the hand, so hands with more ways to improve score higher.
+   *
+   * @return the number of outs.
+   * @throws IllegalArgumentException if there are not five or six distinct cards.
+   */
+  @Override
+  public int calculateScore() {
+    return getOuts();
+  }
+
+  /**
+   * Provides the position-based comments for the hole cards.
+   *
+   * @return A map of position-based strategic comments.
+   */
+  @Override
+  public Map<String, String> getPositionBasedComments() {
+    return preflop.getPositionBasedComments();
+  }
+
+  @Override
+  public String decideAction(int score, int threshold) {
+    return preflop.decideAction(score, threshold);
+  }
+
+  /**
+   * Provides the position decisions for a starting hand score.
+   *
+   * @param score The preflop score of the hole cards.
+   * @return A map containing decisions for positions like "Early Position", "Middle Position", etc.
+   */
+  @Override
+  public Map<String, String> getPositionDecisions(int score) {
+    return preflop.getPositionDecisions(score);
+  }
+
+  @Override
+  public String generateComment(String position, String decision, String handCombination) {
+    return preflop.generateComment(position, decision, handCombination);
+  }
+
+  @Override
+  public String generateGeneralComment(String position, String decision, String rationale) {
+    return preflop.generateGeneralComment(position, decision, rationale);
+  }
+}
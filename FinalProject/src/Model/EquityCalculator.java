@@ -0,0 +1,497 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estimates each player's equity (average share of the pot) by Monte Carlo simulation of the remaining board.
+ * The trials are split recursively across a {@code ForkJoinPool}; every task gets its own {@code SplittableRandom}
+ * split from its parent's, so a seeded run is reproducible no matter how the work is scheduled.
+ *
+ * <p>Each leaf task allocates its {@code Deck} and accumulators once and then deals every trial from that deck,
+ * so the simulation loop itself allocates nothing. Hands are ranked by
+ * {@code SevenCardHandEvaluator}.</p>
+ *
+ * <p>For two players before the flop, {@link #enumerate(int[], int[])} computes the exact equity instead, by
+ * ranking all 1,712,304 boards split across the pool by their first card. Boards that only differ by a
+ * permutation of the suits neither player holds give the same result, so only one board per such family is
+ * ranked and weighted by the family size. Exact results are cached by canonical matchup (suits relabelled and
+ * players ordered), which is what makes a full 169x169 class matrix affordable.</p>
+ */
+public class EquityCalculator {
+  /**
+   * Confidence level used when none is given.
+   */
+  public static final double DEFAULT_CONFIDENCE = 0.95;
+
+  private static final int BOARD_SIZE = 5;
+  private static final int TRIALS_PER_TASK = 1 << 14;
+  private static final long BOARDS_PER_MATCHUP = 1_712_304L;
+
+  /**
+   * All 24 permutations of the four suits.
+   */
+  private static final int[][] SUIT_PERMUTATIONS = suitPermutations();
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Exact equity of the first player of each canonical heads-up matchup.
+   */
+  private final ConcurrentHashMap<Long, Double> exactCache = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a calculator that runs on the common fork-join pool, which uses all available cores.
+   */
+  public EquityCalculator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a calculator that runs on the given pool.
+   *
+   * @param pool the pool to run simulations on.
+   */
+  public EquityCalculator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Simulates run-outs with a random seed and the default confidence level.
+   *
+   * @param holeCards the card indexes of each player's two hole cards.
+   * @param board the card indexes already on the board; zero to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @return the estimated equity of each player.
+   * @throws IllegalArgumentException if the cards or the trial count are invalid.
+   */
+  public EquityResult simulate(int[][] holeCards, int[] board, int trials) {
+    return simulate(holeCards, board, trials, DEFAULT_CONFIDENCE, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Simulates run-outs of the remaining board.
+   *
+   * @param holeCards the card indexes of each player's two hole cards.
+   * @param board the card indexes already on the board; zero to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @param confidence the confidence level of the reported intervals, between 0 and 1 (exclusive).
+   * @param seed the seed of the random number generator; the same seed gives the same result.
+   * @return the estimated equity of each player.
+   * @throws IllegalArgumentException if the cards, the trial count or the confidence level are invalid.
+   */
+  public EquityResult simulate(int[][] holeCards, int[] board, int trials, double confidence, long seed) {
+    if (trials <= 0) {
+      throw new IllegalArgumentException("Trial count must be positive: " + trials);
+    }
+    if (!(confidence > 0 && confidence < 1)) {
+      throw new IllegalArgumentException("Confidence must be between 0 and 1: " + confidence);
+    }
+    long deadCards = validate(holeCards, board);
+
+    int players = holeCards.length;
+    long[] holeBits = new long[players];
+    for (int player = 0; player < players; player++) {
+      holeBits[player] = SevenCardHandEvaluator.cardBits(holeCards[player][0])
+          | SevenCardHandEvaluator.cardBits(holeCards[player][1]);
+    }
+    long boardBits = 0;
+    for (int card : board) {
+      boardBits |= SevenCardHandEvaluator.cardBits(card);
+    }
+    SimulationTask task = new SimulationTask(holeBits, boardBits, BOARD_SIZE - board.length, deadCards,
+        trials, new SplittableRandom(seed));
+    double[] sums = pool.invoke(task);
+
+    double z = inverseNormal(0.5 + confidence / 2);
+    double[] equities = new double[players];
+    double[] margins = new double[players];
+    for (int player = 0; player < players; player++) {
+      double mean = sums[2 * player] / trials;
+      double variance = Math.max(0, sums[2 * player + 1] / trials - mean * mean);
+      equities[player] = mean;
+      margins[player] = z * Math.sqrt(variance / trials);
+    }
+    return new EquityResult(equities, margins, trials, confidence);
+  }
+
+  /**
+   * Computes the exact preflop equity of a heads-up matchup by enumerating every board. Results are cached,
+   * so matchups that are the same up to suits and seat order are only enumerated once.
+   *
+   * @param hand1 the card indexes of the first player's hole cards.
+   * @param hand2 the card indexes of the second player's hole cards.
+   * @return the exact equity of both players.
+   * @throws IllegalArgumentException if the cards are invalid.
+   */
+  public EquityResult enumerate(int[] hand1, int[] hand2) {
+    validate(new int[][] {hand1, hand2}, new int[0]);
+    double equity = exactEquity(hand1, hand2);
+    return new EquityResult(new double[] {equity, 1 - equity}, new double[2], BOARDS_PER_MATCHUP, 1.0);
+  }
+
+  /**
+   * Returns the first player's exact preflop equity from the cache, enumerating the matchup if it is not there
+   * yet. The hands must already be valid and disjoint.
+   */
+  double exactEquity(int[] hand1, int[] hand2) {
+    long key = canonicalMatchup(hand1, hand2);
+    boolean swapped = (key & 1) != 0;
+    Double canonicalEquity = exactCache.get(key >>> 1);
+    if (canonicalEquity == null) {
+      // Enumerate outside the map so a long enumeration never holds a lock; a rare duplicate is harmless
+      double enumerated = pool.invoke(new EnumerationTask(hand1, hand2));
+      canonicalEquity = swapped ? 1 - enumerated : enumerated;
+      exactCache.putIfAbsent(key >>> 1, canonicalEquity);
+    }
+    return swapped ? 1 - canonicalEquity : canonicalEquity;
+  }
+
+  /**
+   * Returns whether the exact equity of a matchup, or of one equal to it up to suits and seat order, is cached.
+   */
+  boolean isExactEquityCached(int[] hand1, int[] hand2) {
+    return exactCache.containsKey(canonicalMatchup(hand1, hand2) >>> 1);
+  }
+
+  /**
+   * Returns the pool this calculator runs on.
+   */
+  ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * Returns the number of canonical matchups whose exact equity is cached.
+   *
+   * @return the cache size.
+   */
+  public int getCachedMatchupCount() {
+    return exactCache.size();
+  }
+
+  /**
+   * Computes a key that is the same for every heads-up matchup equal up to a relabelling of the suits and the
+   * order of the players: the smallest packing of the four sorted card indexes over all 24 suit permutations
+   * and both seat orders.
+   *
+   * @param hand1 the first player's hole cards.
+   * @param hand2 the second player's hole cards.
+   * @return the canonical key shifted left by one, with the lowest bit set if the canonical form seats the
+   *     second player first.
+   */
+  static long canonicalMatchup(int[] hand1, int[] hand2) {
+    long best = Long.MAX_VALUE;
+    for (int[] permutation : SUIT_PERMUTATIONS) {
+      long first = packHand(hand1, permutation);
+      long second = packHand(hand2, permutation);
+      best = Math.min(best, ((first << 12 | second) << 1));
+      best = Math.min(best, ((second << 12 | first) << 1) | 1);
+    }
+    return best;
+  }
+
+  /**
+   * Packs a two-card hand, with suits relabelled, into 12 bits ordered from the higher to the lower card.
+   */
+  private static long packHand(int[] hand, int[] permutation) {
+    int a = CardF.rankOf(hand[0]) * 4 + permutation[CardF.suitOf(hand[0])];
+    int b = CardF.rankOf(hand[1]) * 4 + permutation[CardF.suitOf(hand[1])];
+    return a > b ? (long) a << 6 | b : (long) b << 6 | a;
+  }
+
+  private static int[][] suitPermutations() {
+    int[][] permutations = new int[24][];
+    int count = 0;
+    for (int a = 0; a < 4; a++) {
+      for (int b = 0; b < 4; b++) {
+        for (int c = 0; c < 4; c++) {
+          int d = 6 - a - b - c;
+          if (a != b && a != c && b != c && d != a && d != b && d != c) {
+            permutations[count++] = new int[] {a, b, c, d};
+          }
+        }
+      }
+    }
+    return permutations;
+  }
+
+  /**
+   * Checks that every player has two cards, the board has at most five, and no card appears twice.
+   *
+   * @param holeCards the card indexes of each player's two hole cards.
+   * @param board the card indexes already on the board.
+   * @return a 52-bit mask of every card in use.
+   * @throws IllegalArgumentException if the cards are invalid.
+   */
+  static long validate(int[][] holeCards, int[] board) {
+    if (holeCards.length < 2) {
+      throw new IllegalArgumentException("At least two players are needed to calculate equity.");
+    }
+    if (board.length > BOARD_SIZE) {
+      throw new IllegalArgumentException("The board holds at most five cards.");
+    }
+    if (holeCards.length * 2 + BOARD_SIZE > CardF.DECK_SIZE) {
+      throw new IllegalArgumentException("Too many players for one deck: " + holeCards.length);
+    }
+    long used = 0;
+    for (int[] hand : holeCards) {
+      if (hand.length != 2) {
+        throw new IllegalArgumentException("Each player needs exactly two hole cards.");
+      }
+      used = markCard(used, hand[0]);
+      used = markCard(used, hand[1]);
+    }
+    for (int card : board) {
+      used = markCard(used, card);
+    }
+    return used;
+  }
+
+  private static long markCard(long used, int card) {
+    if (card < 0 || card >= CardF.DECK_SIZE) {
+      throw new IllegalArgumentException("Invalid card index: " + card);
+    }
+    if ((used & (1L << card)) != 0) {
+      throw new IllegalArgumentException("Duplicate card: " + CardF.of(card));
+    }
+    return used | (1L << card);
+  }
+
+  /**
+   * Approximates the inverse of the standard normal distribution (Acklam's rational approximation,
+   * relative error below 1.2e-9).
+   *
+   * @param p a probability between 0 and 1 (exclusive).
+   * @return the value z with {@code P(Z <= z) = p}.
+   */
+  static double inverseNormal(double p) {
+    double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01};
+    double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+        3.754408661907416e+00};
+    double low = 0.02425;
+    if (p < low) {
+      double q = Math.sqrt(-2 * Math.log(p));
+      return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+          / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+    }
+    if (p > 1 - low) {
+      return -inverseNormal(1 - p);
+    }
+    double q = p - 0.5;
+    double r = q * q;
+    return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+        / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+  }
+
+  /**
+   * Simulates a range of trials, splitting it in half until it is small enough to run directly.
+   * Returns, per player, the sum of pot shares and the sum of squared pot shares.
+   */
+  private static final class SimulationTask extends RecursiveTask<double[]> {
+    private final long[] holeBits;
+    private final long boardBits;
+    private final int cardsToDeal;
+    private final long deadCards;
+    private final int trials;
+    private final SplittableRandom random;
+
+    SimulationTask(long[] holeBits, long boardBits, int cardsToDeal, long deadCards, int trials,
+        SplittableRandom random) {
+      this.holeBits = holeBits;
+      this.boardBits = boardBits;
+      this.cardsToDeal = cardsToDeal;
+      this.deadCards = deadCards;
+      this.trials = trials;
+      this.random = random;
+    }
+
+    @Override
+    protected double[] compute() {
+      if (trials <= TRIALS_PER_TASK) {
+        return simulateDirectly();
+      }
+      int half = trials / 2;
+      SimulationTask left = new SimulationTask(holeBits, boardBits, cardsToDeal, deadCards, half, random.split());
+      SimulationTask right = new SimulationTask(holeBits, boardBits, cardsToDeal, deadCards, trials - half,
+          random);
+      left.fork();
+      double[] sums = right.compute();
+      double[] leftSums = left.join();
+      for (int i = 0; i < sums.length; i++) {
+        sums[i] += leftSums[i];
+      }
+      return sums;
+    }
+
+    private double[] simulateDirectly() {
+      int players = holeBits.length;
+      Deck deck = new Deck(random, deadCards);
+      int[] ranks = new int[players];
+      double[] sums = new double[2 * players];
+      double[] shareByWinners = new double[players + 1];
+      for (int winners = 1; winners <= players; winners++) {
+        shareByWinners[winners] = 1.0 / winners;
+      }
+
+      for (int trial = 0; trial < trials; trial++) {
+        long board = boardBits;
+        deck.reset();
+        for (int i = 0; i < cardsToDeal; i++) {
+          board |= SevenCardHandEvaluator.cardBits(deck.deal());
+        }
+
+        int best = -1;
+        int winners = 0;
+        for (int player = 0; player < players; player++) {
+          int rank = SevenCardHandEvaluator.evaluateBits(holeBits[player] | board, 7);
+          ranks[player] = rank;
+          if (rank > best) {
+            best = rank;
+            winners = 1;
+          } else if (rank == best) {
+            winners++;
+          }
+        }
+        double share = shareByWinners[winners];
+        for (int player = 0; player < players; player++) {
+          if (ranks[player] == best) {
+            sums[2 * player] += share;
+            sums[2 * player + 1] += share * share;
+          }
+        }
+      }
+      return sums;
+    }
+  }
+
+  /**
+   * Enumerates every five-card board for a heads-up matchup, splitting the boards by their first card.
+   * Returns the first player's exact equity.
+   */
+  private static final class EnumerationTask extends RecursiveTask<Double> {
+    private final long holeBits1;
+    private final long holeBits2;
+    private final int[] liveCards;
+    private final int[] freeSuits;
+    private final int from;
+    private final int to;
+
+    EnumerationTask(int[] hand1, int[] hand2) {
+      this.holeBits1 = SevenCardHandEvaluator.cardBits(hand1[0]) | SevenCardHandEvaluator.cardBits(hand1[1]);
+      this.holeBits2 = SevenCardHandEvaluator.cardBits(hand2[0]) | SevenCardHandEvaluator.cardBits(hand2[1]);
+      long holeBits = holeBits1 | holeBits2;
+      this.liveCards = new int[CardF.DECK_SIZE - 4];
+      int live = 0;
+      for (int card = 0; card < CardF.DECK_SIZE; card++) {
+        if ((holeBits & SevenCardHandEvaluator.cardBits(card)) == 0) {
+          liveCards[live++] = card;
+        }
+      }
+      int suitsUsed = 0;
+      for (int card : new int[] {hand1[0], hand1[1], hand2[0], hand2[1]}) {
+        suitsUsed |= 1 << CardF.suitOf(card);
+      }
+      this.freeSuits = new int[4 - Integer.bitCount(suitsUsed)];
+      int free = 0;
+      for (int suit = 0; suit < 4; suit++) {
+        if ((suitsUsed & (1 << suit)) == 0) {
+          freeSuits[free++] = suit;
+        }
+      }
+      this.from = 0;
+      this.to = liveCards.length - 4;
+    }
+
+    private EnumerationTask(EnumerationTask parent, int from, int to) {
+      this.holeBits1 = parent.holeBits1;
+      this.holeBits2 = parent.holeBits2;
+      this.liveCards = parent.liveCards;
+      this.freeSuits = parent.freeSuits;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Double compute() {
+      if (to - from == 1) {
+        return enumerateFirstCard(from) / BOARDS_PER_MATCHUP;
+      }
+      int middle = (from + to) >>> 1;
+      EnumerationTask left = new EnumerationTask(this, from, middle);
+      EnumerationTask right = new EnumerationTask(this, middle, to);
+      left.fork();
+      double equity = right.compute();
+      return equity + left.join();
+    }
+
+    /**
+     * Ranks every board whose lowest card is {@code liveCards[first]}.
+     *
+     * @return the first player's pot shares summed over those boards.
+     */
+    private double enumerateFirstCard(int first) {
+      int n = liveCards.length;
+      double shares = 0;
+      long b1 = SevenCardHandEvaluator.cardBits(liveCards[first]);
+      for (int second = first + 1; second < n - 3; second++) {
+        long b2 = b1 | SevenCardHandEvaluator.cardBits(liveCards[second]);
+        for (int third = second + 1; third < n - 2; third++) {
+          long b3 = b2 | SevenCardHandEvaluator.cardBits(liveCards[third]);
+          for (int fourth = third + 1; fourth < n - 1; fourth++) {
+            long b4 = b3 | SevenCardHandEvaluator.cardBits(liveCards[fourth]);
+            for (int fifth = fourth + 1; fifth < n; fifth++) {
+              long board = b4 | SevenCardHandEvaluator.cardBits(liveCards[fifth]);
+              int weight = familySize(board);
+              if (weight == 0) {
+                continue;
+              }
+              int rank1 = SevenCardHandEvaluator.evaluateBits(holeBits1 | board, 7);
+              int rank2 = SevenCardHandEvaluator.evaluateBits(holeBits2 | board, 7);
+              if (rank1 > rank2) {
+                shares += weight;
+              } else if (rank1 == rank2) {
+                shares += weight * 0.5;
+              }
+            }
+          }
+        }
+      }
+      return shares;
+    }
+
+    /**
+     * Returns how many boards are equivalent to this one under permutations of the free suits, if this board is
+     * the representative of its family (free-suit masks in non-increasing order), or 0 otherwise.
+     */
+    private int familySize(long board) {
+      switch (freeSuits.length) {
+        case 2: {
+          int m0 = suitMask(board, freeSuits[0]);
+          int m1 = suitMask(board, freeSuits[1]);
+          return m0 < m1 ? 0 : m0 == m1 ? 1 : 2;
+        }
+        case 3: {
+          int m0 = suitMask(board, freeSuits[0]);
+          int m1 = suitMask(board, freeSuits[1]);
+          int m2 = suitMask(board, freeSuits[2]);
+          if (m0 < m1 || m1 < m2) {
+            return 0;
+          }
+          return m0 == m2 ? 1 : m0 == m1 || m1 == m2 ? 3 : 6;
+        }
+        default:
+          return 1;
+      }
+    }
+
+    private static int suitMask(long board, int suit) {
+      return (int) (board >>> (suit * 16)) & 0x1FFF;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes {@code PreflopEquityMatrix} files. A file is a 16-byte header followed by the entries as
+ * little-endian 32-bit floats in row-major order:
+ *
+ * <pre>
+ *   int   magic      "HEQM"
+ *   int   version    1
+ *   int   size       number of rows and columns (169)
+ *   int   checksum   CRC-32 of the entries
+ *   float entries[size * size]
+ * </pre>
+ *
+ * <p>Loading maps the file read-only with {@code FileChannel.map}, so the matrix is served straight from the
+ * page cache: startup does not read the file into the heap, and every JVM on the host that loads the same file
+ * shares the same physical pages.</p>
+ */
+public final class EquityMatrixFile {
+  private static final int MAGIC = 0x4845514D;  // "HEQM"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+
+  private EquityMatrixFile() {
+  }
+
+  /**
+   * Writes a matrix to a file. The file is written next to its destination and moved into place, so readers
+   * never map a partly written file.
+   *
+   * @param matrix the matrix to write.
+   * @param path the destination file; replaced if it exists.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void write(PreflopEquityMatrix matrix, Path path) throws IOException {
+    float[] entries = matrix.toArray();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries.length * Float.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.position(HEADER_BYTES);
+    buffer.asFloatBuffer().put(entries);
+    buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, PreflopEquityMatrix.SIZE)
+        .putInt(12, checksum(buffer, HEADER_BYTES));
+    buffer.position(0);
+
+    Path absolute = path.toAbsolutePath();
+    Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Loads a matrix by memory-mapping a file. The mapping stays valid after the channel is closed.
+   *
+   * @param path the file to load.
+   * @return a matrix backed by the mapped file.
+   * @throws IOException if the file cannot be read, or is not a valid matrix file.
+   */
+  public static PreflopEquityMatrix load(Path path) throws IOException {
+    MappedByteBuffer mapped;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long expectedBytes = HEADER_BYTES + (long) PreflopEquityMatrix.SIZE * PreflopEquityMatrix.SIZE * Float.BYTES;
+      if (channel.size() != expectedBytes) {
+        throw new IOException("Unexpected equity matrix file size: " + channel.size());
+      }
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedBytes);
+    }
+    mapped.order(ByteOrder.LITTLE_ENDIAN);
+    if (mapped.getInt(0) != MAGIC) {
+      throw new IOException("Not an equity matrix file: " + path);
+    }
+    if (mapped.getInt(4) != VERSION) {
+      throw new IOException("Unsupported equity matrix file version: " + mapped.getInt(4));
+    }
+    if (mapped.getInt(8) != PreflopEquityMatrix.SIZE) {
+      throw new IOException("Unexpected equity matrix size: " + mapped.getInt(8));
+    }
+    if (mapped.getInt(12) != checksum(mapped, HEADER_BYTES)) {
+      throw new IOException("Equity matrix file is corrupt: " + path);
+    }
+    return new PreflopEquityMatrix(mapped.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN)
+        .asFloatBuffer());
+  }
+
+  /**
+   * Computes the CRC-32 of a buffer from an offset to its limit, without moving the buffer's position.
+   */
+  private static int checksum(ByteBuffer buffer, int offset) {
+    CRC32 crc = new CRC32();
+    crc.update(buffer.duplicate().position(offset));
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+
+/**
+ * Immutable result of an equity calculation: for each player, the share of the pot they win on average
+ * (ties split the pot evenly), along with a confidence interval for sampled results.
+ */
+public final class EquityResult {
+  private final double[] equities;
+  private final double[] marginsOfError;
+  private final long trials;
+  private final double confidence;
+
+  /**
+   * Constructs an equity result. The arrays are copied.
+   *
+   * @param equities the equity of each player, between 0 and 1.
+   * @param marginsOfError the half-width of each player's confidence interval; zeros for exact results.
+   * @param trials the number of run-outs the result is based on.
+   * @param confidence the confidence level of the intervals, for example 0.95.
+   */
+  public EquityResult(double[] equities, double[] marginsOfError, long trials, double confidence) {
+    this.equities = equities.clone();
+    this.marginsOfError = marginsOfError.clone();
+    this.trials = trials;
+    this.confidence = confidence;
+  }
+
+  /**
+   * Returns the number of players in the result.
+   *
+   * @return the number of players.
+   */
+  public int getPlayerCount() {
+    return equities.length;
+  }
+
+  /**
+   * Returns a player's equity.
+   *
+   * @param player the player's position in the input, starting at 0.
+   * @return the player's average share of the pot, between 0 and 1.
+   */
+  public double getEquity(int player) {
+    return equities[player];
+  }
+
+  /**
+   * Returns the half-width of a player's confidence interval.
+   *
+   * @param player the player's position in the input, starting at 0.
+   * @return the margin of error, or 0 for an exact result.
+   */
+  public double getMarginOfError(int player) {
+    return marginsOfError[player];
+  }
+
+  /**
+   * Returns the lower bound of a player's confidence interval.
+   *
+   * @param player the player's position in the input, starting at 0.
+   * @return the lower bound, never below 0.
+   */
+  public double getLowerBound(int player) {
+    return Math.max(0, equities[player] - marginsOfError[player]);
+  }
+
+  /**
+   * Returns the upper bound of a player's confidence interval.
+   *
+   * @param player the player's position in the input, starting at 0.
+   * @return the upper bound, never above 1.
+   */
+  public double getUpperBound(int player) {
+    return Math.min(1, equities[player] + marginsOfError[player]);
+  }
+
+  /**
+   * Returns the number of run-outs the result is based on.
+   *
+   * @return the number of trials or enumerated boards.
+   */
+  public long getTrials() {
+    return trials;
+  }
+
+  /**
+   * Returns the confidence level of the intervals.
+   *
+   * @return the confidence level, for example 0.95.
+   */
+  public double getConfidence() {
+    return confidence;
+  }
+
+  /**
+   * Pools two independent estimates of the same matchup, at the same confidence level, into one based on all
+   * their run-outs. Each player's variance is recovered from the margin of error, so the pooled margin is the one
+   * a single run of the combined length would report.
+   *
+   * @param first one estimate.
+   * @param second another estimate, with the same players and confidence level.
+   * @return the pooled estimate.
+   */
+  static EquityResult combine(EquityResult first, EquityResult second) {
+    double z = EquityCalculator.inverseNormal(0.5 + first.confidence / 2);
+    long trials = first.trials + second.trials;
+    double[] equities = new double[first.equities.length];
+    double[] margins = new double[first.equities.length];
+    for (int player = 0; player < equities.length; player++) {
+      double mean = (first.equities[player] * first.trials + second.equities[player] * second.trials) / trials;
+      double squares = (secondMoment(first, player, z) * first.trials
+          + secondMoment(second, player, z) * second.trials) / trials;
+      equities[player] = mean;
+      margins[player] = z * Math.sqrt(Math.max(0, squares - mean * mean) / trials);
+    }
+    return new EquityResult(equities, margins, trials, first.confidence);
+  }
+
+  /**
+   * Returns the mean square of a player's results, from the equity and the margin of error.
+   */
+  private static double secondMoment(EquityResult result, int player, double z) {
+    double standardError = result.marginsOfError[player] / z;
+    return standardError * standardError * result.trials + result.equities[player] * result.equities[player];
+  }
+
+  /**
+   * Returns a string representation of the result.
+   *
+   * @return the equities and margins of error of every player.
+   */
+  @Override
+  public String toString() {
+    return String.format("Equities: %s, Margins of error: %s, Trials: %d, Confidence: %.2f",
+        Arrays.toString(equities), Arrays.toString(marginsOfError), trials, confidence);
+  }
+}
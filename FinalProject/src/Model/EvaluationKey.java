@@ -0,0 +1,52 @@
+/**
+ * Cache key for the evaluation of a hand on a board: the canonical key of the hole cards and board (see
+ * {@code HandCanonicalizer}), so deals that only differ by suits share one entry, and the version of the
+ * strategy the evaluation was made with.
+ */
+final class EvaluationKey {
+  private final long deal;
+  private final long strategyVersion;
+
+  /**
+   * Constructs a key.
+   *
+   * @param card1 the index of one hole card.
+   * @param card2 the index of the other hole card.
+   * @param board a mask with bit {@code i} set for every board card index {@code i}.
+   * @param strategyVersion the version of the active strategy, see {@code StartingHandTable}.
+   * @throws IllegalArgumentException if the hole cards are the same or are on the board.
+   */
+  EvaluationKey(int card1, int card2, long board, long strategyVersion) {
+    this.deal = HandCanonicalizer.canonicalKey(card1, card2, board);
+    this.strategyVersion = strategyVersion;
+  }
+
+  /**
+   * Returns the canonical key of the deal, which decodes to a representative hand and board.
+   */
+  long getDeal() {
+    return deal;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EvaluationKey)) {
+      return false;
+    }
+    EvaluationKey other = (EvaluationKey) o;
+    return deal == other.deal && strategyVersion == other.strategyVersion;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode((deal * 31 + strategyVersion) * 0x9E3779B97F4A7C15L);
+  }
+
+  @Override
+  public String toString() {
+    return "deal " + Long.toHexString(deal) + " strategy " + strategyVersion;
+  }
+}
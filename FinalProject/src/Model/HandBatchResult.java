@@ -0,0 +1,80 @@
+/**
+ * Results of {@code HoldemModel.evaluateBatch}, held in primitive arrays: a score, a combination ordinal and a
+ * decision mask per hand. Instances are immutable.
+ */
+public final class HandBatchResult {
+  private final int[] scores;
+  private final byte[] combinations;
+  private final byte[] decisions;
+
+  /**
+   * Constructs a batch result. The arrays are not copied and must not be modified afterwards.
+   *
+   * @param scores the score of each hand.
+   * @param combinations the combination ordinal of each hand.
+   * @param decisions the decision mask of each hand.
+   */
+  HandBatchResult(int[] scores, byte[] combinations, byte[] decisions) {
+    this.scores = scores;
+    this.combinations = combinations;
+    this.decisions = decisions;
+  }
+
+  /**
+   * Returns the number of hands in the batch.
+   *
+   * @return the number of hands.
+   */
+  public int size() {
+    return scores.length;
+  }
+
+  /**
+   * Returns the score of a hand.
+   *
+   * @param hand the position of the hand in the batch.
+   * @return the score of the hand.
+   */
+  public int getScore(int hand) {
+    return scores[hand];
+  }
+
+  /**
+   * Returns the combination type of a hand as a small number.
+   *
+   * @param hand the position of the hand in the batch.
+   * @return the combination ordinal, see {@link StartingHandTable#getCombinationName(int)}.
+   */
+  public int getCombinationOrdinal(int hand) {
+    return combinations[hand];
+  }
+
+  /**
+   * Returns the combination type of a hand.
+   *
+   * @param hand the position of the hand in the batch.
+   * @return the combination type, such as "Pair" or "Suited Connector".
+   */
+  public String getCombination(int hand) {
+    return StartingHandTable.getCombinationName(combinations[hand]);
+  }
+
+  /**
+   * Returns the decisions of a hand as a bit mask.
+   *
+   * @param hand the position of the hand in the batch.
+   * @return the decision mask, see {@link StartingHandTable#getDecisionMask(int)}.
+   */
+  public int getDecisionMask(int hand) {
+    return decisions[hand];
+  }
+
+  /**
+   * Returns a copy of all scores.
+   *
+   * @return the score of each hand.
+   */
+  public int[] getScores() {
+    return scores.clone();
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Maps hole cards and a board to a canonical form that is the same for every deal equal up to a relabelling of
+ * the suits. A♠K♠ on 7♠2♥2♦ and A♥K♥ on 7♥2♠2♣ have the same equity, the same outs and the same strategy, so
+ * caches and tables keyed by the canonical form store one entry where keys on exact cards store up to 24.
+ *
+ * <p>Before the flop the canonical form is one of the {@value #PREFLOP_CLASSES} starting hand classes of
+ * {@code StartingHandTable}. After it, the canonical form is a 64-bit key: the two hole cards are one round and
+ * the board cards the other, so the keys of every flop, turn and river take {@value #FLOP_CLASSES},
+ * {@value #TURN_CLASSES} and {@value #RIVER_CLASSES} distinct values, the standard isomorphism counts.</p>
+ *
+ * <p>To canonicalize, each suit is described by the ranks it holds among the hole cards and among the board
+ * cards. A relabelling of the suits only reorders these four descriptions, so sorting them gives a form that
+ * does not depend on the labels. The suits are renamed in that order and the renamed cards are packed into the
+ * key: the combination number of the hole cards (see {@code HandRange}) in the top 12 bits and the 52-bit board
+ * mask below it. A key therefore also decodes to a representative deal.</p>
+ */
+public final class HandCanonicalizer {
+  /**
+   * Number of distinct starting hands up to suits.
+   */
+  public static final int PREFLOP_CLASSES = StartingHandTable.CLASS_COUNT;
+
+  /**
+   * Number of distinct hole cards and flops up to suits.
+   */
+  public static final int FLOP_CLASSES = 1_286_792;
+
+  /**
+   * Number of distinct hole cards and turn boards up to suits.
+   */
+  public static final int TURN_CLASSES = 13_960_050;
+
+  /**
+   * Number of distinct hole cards and river boards up to suits.
+   */
+  public static final int RIVER_CLASSES = 123_156_254;
+
+  private static final int BOARD_BITS = 52;
+  private static final long BOARD_MASK = (1L << BOARD_BITS) - 1;
+  private static final int RANK_COUNT = 13;
+  private static final int SUIT_COUNT = 4;
+
+  private HandCanonicalizer() {
+  }
+
+  /**
+   * Returns the starting hand class of two hole cards, the same for every relabelling of the suits.
+   *
+   * @param card1 the index of one card, from 0 to 51.
+   * @param card2 the index of the other card, from 0 to 51.
+   * @return the class index, from 0 to 168.
+   */
+  public static int preflopIndex(int card1, int card2) {
+    return StartingHandTable.classOf(card1, card2);
+  }
+
+  /**
+   * Returns the canonical key of two hole cards and a board.
+   *
+   * @param card1 the index of one hole card, from 0 to 51.
+   * @param card2 the index of the other hole card, from 0 to 51.
+   * @param board a mask with bit {@code i} set for every board card index {@code i}.
+   * @return a key that is equal for two deals exactly when they are equal up to suits.
+   * @throws IllegalArgumentException if the hole cards are the same or are on the board.
+   */
+  public static long canonicalKey(int card1, int card2, long board) {
+    long hole = (1L << card1) | (1L << card2);
+    if (card1 == card2 || (hole & board) != 0 || (board & ~BOARD_MASK) != 0) {
+      throw new IllegalArgumentException("Hole cards must be two different cards that are not on the board.");
+    }
+
+    // Describe each suit by its hole ranks (high bits) and board ranks (low bits), tagged with the suit
+    long[] suits = new long[SUIT_COUNT];
+    for (int suit = 0; suit < SUIT_COUNT; suit++) {
+      suits[suit] = ((long) ranksOf(hole, suit) << RANK_COUNT | ranksOf(board, suit)) << 2 | suit;
+    }
+    sortDescending(suits);
+
+    int[] canonicalSuit = new int[SUIT_COUNT];
+    for (int i = 0; i < SUIT_COUNT; i++) {
+      canonicalSuit[(int) (suits[i] & 3)] = i;
+    }
+    long canonicalBoard = 0;
+    for (long bits = board; bits != 0; bits &= bits - 1) {
+      canonicalBoard |= 1L << relabel(Long.numberOfTrailingZeros(bits), canonicalSuit);
+    }
+    int combination = HandRange.combinationIndex(relabel(card1, canonicalSuit), relabel(card2, canonicalSuit));
+    return (long) combination << BOARD_BITS | canonicalBoard;
+  }
+
+  /**
+   * Returns the lower hole card index of the representative deal of a key.
+   *
+   * @param key a key returned by {@link #canonicalKey(int, int, long)}.
+   * @return the card index.
+   */
+  public static int firstCard(long key) {
+    return HandRange.firstCard((int) (key >>> BOARD_BITS));
+  }
+
+  /**
+   * Returns the higher hole card index of the representative deal of a key.
+   *
+   * @param key a key returned by {@link #canonicalKey(int, int, long)}.
+   * @return the card index.
+   */
+  public static int secondCard(long key) {
+    return HandRange.secondCard((int) (key >>> BOARD_BITS));
+  }
+
+  /**
+   * Returns the board of the representative deal of a key.
+   *
+   * @param key a key returned by {@link #canonicalKey(int, int, long)}.
+   * @return a mask with bit {@code i} set for every board card index {@code i}.
+   */
+  public static long board(long key) {
+    return key & BOARD_MASK;
+  }
+
+  /**
+   * Returns the ranks of one suit in a card mask as a 13-bit mask.
+   */
+  private static int ranksOf(long cards, int suit) {
+    int ranks = 0;
+    for (long bits = cards & (0x1111111111111L << suit); bits != 0; bits &= bits - 1) {
+      ranks |= 1 << CardF.rankOf(Long.numberOfTrailingZeros(bits));
+    }
+    return ranks;
+  }
+
+  private static int relabel(int card, int[] canonicalSuit) {
+    return CardF.rankOf(card) * SUIT_COUNT + canonicalSuit[CardF.suitOf(card)];
+  }
+
+  /**
+   * Sorts four values from the largest to the smallest with a five-comparison network.
+   */
+  private static void sortDescending(long[] values) {
+    swapIfLess(values, 0, 1);
+    swapIfLess(values, 2, 3);
+    swapIfLess(values, 0, 2);
+    swapIfLess(values, 1, 3);
+    swapIfLess(values, 1, 2);
+  }
+
+  private static void swapIfLess(long[] values, int i, int j) {
+    if (values[i] < values[j]) {
+      long swap = values[i];
+      values[i] = values[j];
+      values[j] = swap;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/**
+ * The combination types a two-card starting hand is classified into.
+ */
+public enum HandCombination {
+  PAIR("Pair"),
+  SUITED_CONNECTOR("Suited Connector"),
+  SUITED_CARDS("Suited Cards"),
+  CONNECTED_CARDS("Connected Cards"),
+  TWO_HIGH_CARDS("Two High Cards"),
+  SMALL_AX("Small Ax"),
+  BAD_HAND("Bad Hand");
+
+  private static final HandCombination[] VALUES = values();
+
+  private final String label;
+
+  HandCombination(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Returns the display label of the combination.
+   *
+   * @return the label, such as "Suited Connector".
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Returns the combination with the given ordinal without allocating.
+   *
+   * @param ordinal the ordinal of the combination.
+   * @return the combination.
+   */
+  public static HandCombination ofOrdinal(int ordinal) {
+    return VALUES[ordinal];
+  }
+
+  /**
+   * Finds the combination with the given display label.
+   *
+   * @param label the label, such as "Suited Connector".
+   * @return the combination, or null if no combination has that label.
+   */
+  public static HandCombination fromLabel(String label) {
+    for (HandCombination combination : VALUES) {
+      if (combination.label.equals(label)) {
+        return combination;
+      }
+    }
+    return null;
+  }
+}
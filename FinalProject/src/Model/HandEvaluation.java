@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of evaluating a two-card starting hand: the cards, the score, the combination type and the
+ * per-position decisions and comments. Decisions and comments can be read by {@code Position} without
+ * allocating, or as the string-keyed maps shown in the view. Instances can be shared freely between threads.
+ */
+public final class HandEvaluation {
+  private final CardF firstCard;
+  private final CardF secondCard;
+  private final int score;
+  private final String combination;
+  private final Map<String, String> decisions;
+  private final Map<String, String> comments;
+  private final Action[] actions;
+  private final String[] positionComments;
+
+  /**
+   * Constructs an evaluation. The maps are copied into unmodifiable maps.
+   *
+   * @param firstCard the first card of the hand.
+   * @param secondCard the second card of the hand.
+   * @param score the score of the hand.
+   * @param combination the combination type of the hand.
+   * @param decisions the decisions keyed by position.
+   * @param comments the comments keyed by position.
+   */
+  public HandEvaluation(CardF firstCard, CardF secondCard, int score, String combination,
+      Map<String, String> decisions, Map<String, String> comments) {
+    this.firstCard = firstCard;
+    this.secondCard = secondCard;
+    this.score = score;
+    this.combination = combination;
+    this.decisions = Collections.unmodifiableMap(new LinkedHashMap<>(decisions));
+    this.comments = Collections.unmodifiableMap(new LinkedHashMap<>(comments));
+    this.actions = new Action[Position.values().length];
+    this.positionComments = new String[Position.values().length];
+    // The keys state the thresholds of the profile the maps were built under, so match them by position
+    decisions.forEach((label, decision) -> {
+      Position position = Position.fromLabel(label);
+      if (position != null) {
+        for (Action action : Action.values()) {
+          if (action.getLabel().equals(decision)) {
+            actions[position.ordinal()] = action;
+          }
+        }
+      }
+    });
+    comments.forEach((label, comment) -> {
+      Position position = Position.fromLabel(label);
+      if (position != null) {
+        positionComments[position.ordinal()] = comment;
+      }
+    });
+  }
+
+  /**
+   * Constructs an evaluation around the shared, never modified data of a class in one strategy table.
+   */
+  private HandEvaluation(CardF firstCard, CardF secondCard, int handClass, StrategyTable strategy) {
+    this.firstCard = firstCard;
+    this.secondCard = secondCard;
+    this.score = strategy.getScore(handClass);
+    this.combination = StartingHandTable.getCombination(handClass);
+    this.decisions = strategy.getDecisions(handClass);
+    this.comments = strategy.getComments(handClass);
+    this.actions = strategy.actionsOf(handClass);
+    this.positionComments = strategy.commentsOf(handClass);
+  }
+
+  /**
+   * Evaluates a hand of two cards. Real starting hands are answered from the active strategy of the
+   * {@code StartingHandTable} and share its per-class decision and comment maps; anything else goes through the
+   * rule-based evaluator.
+   *
+   * @param firstCard the first card of the hand.
+   * @param secondCard the second card of the hand.
+   * @return the evaluation of the hand.
+   */
+  static HandEvaluation of(CardF firstCard, CardF secondCard) {
+    int handClass = StartingHandTable.classOf(firstCard, secondCard);
+    if (handClass >= 0) {
+      return new HandEvaluation(firstCard, secondCard, handClass, StartingHandTable.getStrategyTable());
+    }
+    TexasHoldemHandEvaluator evaluator = new TexasHoldemHandEvaluator(Arrays.asList(firstCard, secondCard));
+    int score = evaluator.calculateScore();
+    return new HandEvaluation(firstCard, secondCard, score, evaluator.getHandCombination(),
+        evaluator.getPositionDecisions(score), evaluator.getPositionBasedComments());
+  }
+
+  /**
+   * Returns the first card of the hand.
+   *
+   * @return the first card.
+   */
+  public CardF getFirstCard() {
+    return firstCard;
+  }
+
+  /**
+   * Returns the second card of the hand.
+   *
+   * @return the second card.
+   */
+  public CardF getSecondCard() {
+    return secondCard;
+  }
+
+  /**
+   * Returns the score of the hand.
+   *
+   * @return the score.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Returns the combination type of the hand.
+   *
+   * @return the combination type, such as "Pair" or "Suited Connector".
+   */
+  public String getCombination() {
+    return combination;
+  }
+
+  /**
+   * Returns the decisions keyed by position.
+   *
+   * @return an unmodifiable map of decisions.
+   */
+  public Map<String, String> getDecisions() {
+    return decisions;
+  }
+
+  /**
+   * Returns the comments keyed by position.
+   *
+   * @return an unmodifiable map of comments.
+   */
+  public Map<String, String> getComments() {
+    return comments;
+  }
+
+  /**
+   * Returns the action recommended at a position, without going through the string-keyed map.
+   *
+   * @param position the position at the table.
+   * @return the recommended action, or null if the decisions did not cover that position.
+   */
+  public Action getAction(Position position) {
+    return actions[position.ordinal()];
+  }
+
+  /**
+   * Returns the comment for a position, without going through the string-keyed map.
+   *
+   * @param position the position at the table.
+   * @return the comment, or null if the comments did not cover that position.
+   */
+  public String getComment(Position position) {
+    return positionComments[position.ordinal()];
+  }
+
+  /**
+   * Returns a string representation of the evaluation.
+   *
+   * @return the cards, score and combination.
+   */
+  @Override
+  public String toString() {
+    return String.format("First card: %s, Second card: %s, Total Value: %d, Hand Combination: %s",
+        firstCard, secondCard, score, combination);
+  }
+}
@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -8,16 +6,19 @@ import java.util.Map;
  * and uses an evaluator to assess the hand's score and combination. It implements
  * the {@code IHand} interface, providing methods to get scores, combinations,
  * positional decisions, and detailed descriptions of the hand.
+ *
+ * <p>The evaluation is computed lazily on first use and then kept as an immutable {@code HandEvaluation}, so
+ * describing, formatting and displaying the same hand never scores it twice.</p>
  */
 public abstract class HandF implements IHand {
   private CardF firstCard;
   private CardF secondCard;
-  private TexasHoldemHandEvaluator evaluator;  // Reference to the evaluator
+  private volatile HandEvaluation evaluation;  // Computed on first use
 
   /**
    * Constructs a {@code HandF} object with two cards.
-   * This constructor initializes the hand with specified cards and sets up an evaluator
-   * to assess the properties of the hand such as score and combination.
+   * This constructor initializes the hand with specified cards; the properties of the hand such as
+   * score and combination are evaluated when first requested.
    *
    * @param firstCard The first card of the hand; must not be null.
    * @param secondCard The second card of the hand; must not be null.
@@ -29,11 +30,21 @@ public abstract class HandF implements IHand {
     }
     this.firstCard = firstCard;
     this.secondCard = secondCard;
+  }
 
-    List<CardF> cards = new ArrayList<>();
-    cards.add(firstCard);
-    cards.add(secondCard);
-    this.evaluator = new TexasHoldemHandEvaluator(cards);
+  /**
+   * Returns the evaluation of the hand, computing it on the first call. The evaluation is immutable, so
+   * a rare duplicate computation by racing threads is harmless.
+   *
+   * @return the evaluation of the hand.
+   */
+  private HandEvaluation getEvaluation() {
+    HandEvaluation result = evaluation;
+    if (result == null) {
+      result = HandEvaluation.of(firstCard, secondCard);
+      evaluation = result;
+    }
+    return result;
   }
 
   /**
@@ -43,7 +54,7 @@ public abstract class HandF implements IHand {
    */
   @Override
   public int getHandScore() {
-    return evaluator.calculateScore();
+    return getEvaluation().getScore();
   }
 
   /**
@@ -53,30 +64,29 @@ public abstract class HandF implements IHand {
    */
   @Override
   public String getHandCombination() {
-    return evaluator.getHandCombination();
+    return getEvaluation().getCombination();
   }
 
   /**
    * Provides strategic decisions based on the position at the table and the hand's score.
    * This method utilizes the evaluator to decide the best course of action for a given hand.
    *
-   * @return a map of decision recommendations based on the hand's score.
+   * @return an unmodifiable map of decision recommendations based on the hand's score.
    */
   @Override
   public Map<String, String> getHandPositionDecisions(){
-    int score = getHandScore();
-    return evaluator.getPositionDecisions(score);
+    return getEvaluation().getDecisions();
   }
 
   /**
    * Provides comments based on the position at the table and the hand's evaluation.
    * These comments are useful for strategic insights and understanding hand strength in various scenarios.
    *
-   * @return a map of position-based comments.
+   * @return an unmodifiable map of position-based comments.
    */
   @Override
   public Map<String, String> getHandPositionBasedComments(){
-    return evaluator.getPositionBasedComments();
+    return getEvaluation().getComments();
   }
 
   /**
@@ -0,0 +1,184 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Runs the starting hand strategy over a hand-history file and totals what the players did. One thread reads and
+ * parses the file with a {@code HandHistoryReader} while worker threads classify the hands, so parsing and
+ * evaluation overlap across cores.
+ *
+ * <p>Hands travel from the reader to the workers in fixed-size batches of records. A bounded pool of batches is
+ * allocated up front and recycled: the reader waits for a free batch when the workers fall behind, so memory use
+ * does not depend on the size of the file and nothing is allocated per hand. Each worker keeps its own counters
+ * and the totals are summed once every worker is done.</p>
+ *
+ * <p>Each hand is classified through the tables of {@code StartingHandTable}, which hold the combination type and
+ * decisions {@code TexasHoldemHandEvaluator} gives every class. One strategy is used for the whole file, even if a
+ * new one is swapped in meanwhile.</p>
+ */
+public final class HandHistoryAnalyzer {
+  /**
+   * Number of hands in one batch passed from the reader to a worker.
+   */
+  public static final int BATCH_SIZE = 8192;
+
+  private static final Batch END = new Batch(0);
+
+  private HandHistoryAnalyzer() {
+  }
+
+  /**
+   * Analyses a hand-history file with one worker per available core.
+   *
+   * @param path the file to read, in the format described by {@code HandHistoryReader}.
+   * @return the totals of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  public static HandHistoryStats analyze(Path path) throws IOException {
+    return analyze(path, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Analyses a hand-history file.
+   *
+   * @param path the file to read, in the format described by {@code HandHistoryReader}.
+   * @param workers the number of threads classifying hands while the calling thread reads the file.
+   * @return the totals of the file.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the worker count is not positive.
+   */
+  public static HandHistoryStats analyze(Path path, int workers) throws IOException {
+    if (workers < 1) {
+      throw new IllegalArgumentException("At least one worker is needed: " + workers);
+    }
+    long start = System.nanoTime();
+    StrategyTable strategy = StartingHandTable.getStrategyTable();
+    BlockingQueue<Batch> free = new ArrayBlockingQueue<>(2 * workers);
+    BlockingQueue<Batch> full = new ArrayBlockingQueue<>(2 * workers + workers);
+    for (int i = 0; i < 2 * workers; i++) {
+      free.add(new Batch(BATCH_SIZE));
+    }
+    Worker[] tasks = new Worker[workers];
+    Thread[] threads = new Thread[workers];
+    for (int i = 0; i < workers; i++) {
+      tasks[i] = new Worker(strategy, free, full);
+      threads[i] = Thread.ofPlatform().name("hand-history-worker-" + i).start(tasks[i]);
+    }
+
+    long bytes;
+    long malformedLines;
+    try (HandHistoryReader reader = new HandHistoryReader(path)) {
+      try {
+        while (true) {
+          Batch batch = free.take();
+          batch.size = reader.read(batch.records);
+          if (batch.size < 0) {
+            break;
+          }
+          full.put(batch);
+        }
+      } finally {
+        // The queue has room for every end marker, so this never blocks
+        for (int i = 0; i < workers; i++) {
+          full.add(END);
+        }
+      }
+      bytes = reader.getBytesRead();
+      malformedLines = reader.getMalformedLines();
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      for (Thread thread : threads) {
+        thread.interrupt();
+      }
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Hand history analysis was interrupted");
+    }
+
+    long[] handsByCombination = new long[HandCombination.values().length];
+    long[] betsByCombination = new long[HandCombination.values().length];
+    long[] handsByPosition = new long[Position.values().length];
+    long[] betsByPosition = new long[Position.values().length];
+    long hands = 0;
+    long agreements = 0;
+    for (Worker task : tasks) {
+      hands += task.hands;
+      agreements += task.agreements;
+      for (int i = 0; i < handsByCombination.length; i++) {
+        handsByCombination[i] += task.handsByCombination[i];
+        betsByCombination[i] += task.betsByCombination[i];
+      }
+      for (int i = 0; i < handsByPosition.length; i++) {
+        handsByPosition[i] += task.handsByPosition[i];
+        betsByPosition[i] += task.betsByPosition[i];
+      }
+    }
+    return new HandHistoryStats(hands, malformedLines, bytes, System.nanoTime() - start, handsByCombination,
+        betsByCombination, handsByPosition, betsByPosition, agreements);
+  }
+
+  /**
+   * A reusable array of records and the number of them in use.
+   */
+  private static final class Batch {
+    private final int[] records;
+    private int size;
+
+    Batch(int capacity) {
+      this.records = new int[capacity];
+    }
+  }
+
+  /**
+   * Classifies the hands of full batches until it takes the end marker, counting into its own arrays.
+   */
+  private static final class Worker implements Runnable {
+    private final StrategyTable strategy;
+    private final BlockingQueue<Batch> free;
+    private final BlockingQueue<Batch> full;
+    private final long[] handsByCombination = new long[HandCombination.values().length];
+    private final long[] betsByCombination = new long[HandCombination.values().length];
+    private final long[] handsByPosition = new long[Position.values().length];
+    private final long[] betsByPosition = new long[Position.values().length];
+    private long hands;
+    private long agreements;
+
+    Worker(StrategyTable strategy, BlockingQueue<Batch> free, BlockingQueue<Batch> full) {
+      this.strategy = strategy;
+      this.free = free;
+      this.full = full;
+    }
+
+    @Override
+    public void run() {
+      try {
+        for (Batch batch = full.take(); batch != END; batch = full.take()) {
+          count(batch.records, batch.size);
+          free.put(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void count(int[] records, int size) {
+      for (int i = 0; i < size; i++) {
+        int record = records[i];
+        int handClass = StartingHandTable.classOfEncoded(HandHistoryReader.handOf(record));
+        int combination = StartingHandTable.getCombinationOrdinal(handClass);
+        int position = HandHistoryReader.positionOf(record).ordinal();
+        int bet = HandHistoryReader.actionOf(record) == Action.BET ? 1 : 0;
+        int recommended = strategy.getDecisionMask(handClass) >>> position & 1;
+        handsByCombination[combination]++;
+        betsByCombination[combination] += bet;
+        handsByPosition[position]++;
+        betsByPosition[position] += bet;
+        agreements += recommended == bet ? 1 : 0;
+      }
+      hands += size;
+    }
+  }
+}
@@ -0,0 +1,268 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams a hand-history file and decodes each dealt hand into one {@code int} record, without creating a
+ * {@code String} per line. The file is read through a {@code FileChannel} into a reused buffer and parsed byte by
+ * byte, so files of any size are read in constant memory.
+ *
+ * <p>A hand history has one hand per line: an id, the position, the two hole cards and the action taken, separated
+ * by spaces, tabs or commas. Blank lines and lines starting with {@code #} are skipped.</p>
+ * <pre>
+ * # id position cards action
+ * 1 LATE AsKh BET
+ * 2 EARLY 7c2d FOLD
+ * </pre>
+ * <p>Only the first letter of the position ({@code E}, {@code M}, {@code L}) and of the action ({@code B},
+ * {@code F}) is read. Cards use the ranks {@code 2-9, T, J, Q, K, A} and the suits {@code s, h, c, d}, in either
+ * case. Lines that do not follow the format are counted and skipped.</p>
+ *
+ * <p>A record packs the hand, encoded as by {@code HoldemModel.encodeHand}, with the ordinals of the position and
+ * the action; use {@link #handOf(int)}, {@link #positionOf(int)} and {@link #actionOf(int)} to unpack it.</p>
+ */
+public final class HandHistoryReader implements Closeable {
+  private static final int BUFFER_BYTES = 1 << 20;
+  private static final int POSITION_SHIFT = 12;
+  private static final int ACTION_SHIFT = 14;
+  private static final int HAND_MASK = (1 << POSITION_SHIFT) - 1;
+  private static final int SKIPPED = -1;
+  private static final int MALFORMED = -2;
+
+  private static final byte[] RANKS = table("23456789TJQKA");
+  private static final byte[] SUITS = table("SHCD");
+  private static final byte[] POSITIONS = table("EML");
+  private static final byte[] ACTIONS = table("BF");
+
+  private final FileChannel channel;
+  private final byte[] buffer = new byte[BUFFER_BYTES];
+  private final ByteBuffer window = ByteBuffer.wrap(buffer);
+  private int position;
+  private int limit;
+  private int scanned;
+  private boolean endOfFile;
+  private boolean skippingLongLine;
+  private long bytesRead;
+  private long malformedLines;
+
+  /**
+   * Opens a hand-history file for reading.
+   *
+   * @param path the file to read.
+   * @throws IOException if the file cannot be opened.
+   */
+  public HandHistoryReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+  }
+
+  /**
+   * Maps every letter of a string, in upper and lower case, to its position in the string; other bytes map to -1.
+   */
+  private static byte[] table(String letters) {
+    byte[] table = new byte[128];
+    Arrays.fill(table, (byte) -1);
+    for (int i = 0; i < letters.length(); i++) {
+      table[Character.toUpperCase(letters.charAt(i))] = (byte) i;
+      table[Character.toLowerCase(letters.charAt(i))] = (byte) i;
+    }
+    return table;
+  }
+
+  /**
+   * Reads the next hands into an array.
+   *
+   * @param records receives one record per hand, from index 0.
+   * @return the number of records read, or -1 at the end of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  public int read(int[] records) throws IOException {
+    int count = 0;
+    while (count < records.length) {
+      int newline = Math.max(position, scanned);
+      while (newline < limit && buffer[newline] != '\n') {
+        newline++;
+      }
+      if (newline == limit) {
+        if (endOfFile) {
+          if (position < limit) {
+            count = accept(records, count, parseLine(position, limit));
+            position = limit;
+          }
+          break;
+        }
+        scanned = limit;
+        fill();
+        continue;
+      }
+      count = accept(records, count, parseLine(position, newline));
+      position = newline + 1;
+      scanned = position;
+    }
+    return count == 0 && endOfFile && position == limit ? -1 : count;
+  }
+
+  private int accept(int[] records, int count, int record) {
+    if (skippingLongLine) {
+      skippingLongLine = false;
+      return count;
+    }
+    if (record >= 0) {
+      records[count++] = record;
+    } else if (record == MALFORMED) {
+      malformedLines++;
+    }
+    return count;
+  }
+
+  /**
+   * Moves the unread bytes to the front of the buffer and reads more after them. A line that does not fit in
+   * the buffer is counted as malformed and dropped up to its end.
+   */
+  private void fill() throws IOException {
+    if (position == 0 && limit == buffer.length) {
+      if (!skippingLongLine) {
+        malformedLines++;
+        skippingLongLine = true;
+      }
+      limit = 0;
+    } else {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+    }
+    // The bytes kept hold no line feed, so the next search starts after them
+    scanned = limit;
+    window.limit(buffer.length).position(limit);
+    int read = channel.read(window);
+    if (read < 0) {
+      endOfFile = true;
+    } else {
+      limit += read;
+      bytesRead += read;
+    }
+  }
+
+  /**
+   * Parses one line, without its line feed, into a record.
+   *
+   * @return the record, {@link #SKIPPED} for a blank or comment line, or {@link #MALFORMED}.
+   */
+  private int parseLine(int from, int to) {
+    if (to > from && buffer[to - 1] == '\r') {
+      to--;
+    }
+    int i = skipSeparators(from, to);
+    if (i == to || buffer[i] == '#') {
+      return SKIPPED;
+    }
+    i = skipSeparators(skipField(i, to), to);
+    if (i == to) {
+      return MALFORMED;
+    }
+    int position = lookup(POSITIONS, buffer[i]);
+    i = skipSeparators(skipField(i, to), to);
+    if (position < 0) {
+      return MALFORMED;
+    }
+    int cardsEnd = skipField(i, to);
+    if (cardsEnd - i != 4) {
+      return MALFORMED;
+    }
+    int rank1 = lookup(RANKS, buffer[i]);
+    int suit1 = lookup(SUITS, buffer[i + 1]);
+    int rank2 = lookup(RANKS, buffer[i + 2]);
+    int suit2 = lookup(SUITS, buffer[i + 3]);
+    i = skipSeparators(cardsEnd, to);
+    int action = i < to ? lookup(ACTIONS, buffer[i]) : -1;
+    int card1 = rank1 * 4 + suit1;
+    int card2 = rank2 * 4 + suit2;
+    if (rank1 < 0 || suit1 < 0 || rank2 < 0 || suit2 < 0 || action < 0 || card1 == card2) {
+      return MALFORMED;
+    }
+    return (card1 * CardF.DECK_SIZE + card2) | position << POSITION_SHIFT | action << ACTION_SHIFT;
+  }
+
+  private static int lookup(byte[] table, byte b) {
+    return b >= 0 ? table[b] : -1;
+  }
+
+  private int skipField(int i, int to) {
+    while (i < to && !isSeparator(buffer[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  private int skipSeparators(int i, int to) {
+    while (i < to && isSeparator(buffer[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isSeparator(byte b) {
+    return b == ' ' || b == '\t' || b == ',';
+  }
+
+  /**
+   * Returns the hand of a record.
+   *
+   * @param record a record returned by {@link #read(int[])}.
+   * @return the hand, encoded as {@code card1 * 52 + card2}.
+   */
+  public static int handOf(int record) {
+    return record & HAND_MASK;
+  }
+
+  /**
+   * Returns the position of a record.
+   *
+   * @param record a record returned by {@link #read(int[])}.
+   * @return the position the hand was played from.
+   */
+  public static Position positionOf(int record) {
+    return Position.ofOrdinal(record >>> POSITION_SHIFT & 3);
+  }
+
+  /**
+   * Returns the action of a record.
+   *
+   * @param record a record returned by {@link #read(int[])}.
+   * @return the action the player took.
+   */
+  public static Action actionOf(int record) {
+    return Action.ofOrdinal(record >>> ACTION_SHIFT);
+  }
+
+  /**
+   * Returns the number of bytes read from the file so far.
+   *
+   * @return the byte count.
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * Returns the number of lines skipped so far because they did not follow the format.
+   *
+   * @return the malformed line count.
+   */
+  public long getMalformedLines() {
+    return malformedLines;
+  }
+
+  /**
+   * Closes the file.
+   *
+   * @throws IOException if the file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
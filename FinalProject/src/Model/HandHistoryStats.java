@@ -0,0 +1,160 @@
+/**
+ * Immutable totals of a hand-history analysis: how many hands were read, how often players voluntarily put
+ * money in the pot (VPIP) by combination type and by position, and how often they took the action the active
+ * strategy recommends.
+ */
+public final class HandHistoryStats {
+  private final long hands;
+  private final long malformedLines;
+  private final long bytes;
+  private final long elapsedNanos;
+  private final long[] handsByCombination;
+  private final long[] betsByCombination;
+  private final long[] handsByPosition;
+  private final long[] betsByPosition;
+  private final long agreements;
+
+  /**
+   * Constructs the totals of an analysis. The arrays are not copied and must not be modified afterwards.
+   *
+   * @param hands the number of hands read.
+   * @param malformedLines the number of lines skipped because they did not follow the format.
+   * @param bytes the size of the input in bytes.
+   * @param elapsedNanos the wall-clock time of the analysis.
+   * @param handsByCombination the hands of each combination type, indexed by {@code HandCombination} ordinal.
+   * @param betsByCombination the hands of each combination type the player bet.
+   * @param handsByPosition the hands played from each position, indexed by {@code Position} ordinal.
+   * @param betsByPosition the hands the player bet from each position.
+   * @param agreements the hands where the player took the action the strategy recommends.
+   */
+  HandHistoryStats(long hands, long malformedLines, long bytes, long elapsedNanos, long[] handsByCombination,
+      long[] betsByCombination, long[] handsByPosition, long[] betsByPosition, long agreements) {
+    this.hands = hands;
+    this.malformedLines = malformedLines;
+    this.bytes = bytes;
+    this.elapsedNanos = elapsedNanos;
+    this.handsByCombination = handsByCombination;
+    this.betsByCombination = betsByCombination;
+    this.handsByPosition = handsByPosition;
+    this.betsByPosition = betsByPosition;
+    this.agreements = agreements;
+  }
+
+  /**
+   * Returns the number of hands read.
+   *
+   * @return the hand count.
+   */
+  public long getHands() {
+    return hands;
+  }
+
+  /**
+   * Returns the number of lines skipped because they did not follow the format.
+   *
+   * @return the malformed line count.
+   */
+  public long getMalformedLines() {
+    return malformedLines;
+  }
+
+  /**
+   * Returns the size of the input.
+   *
+   * @return the number of bytes read.
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns how long the analysis took.
+   *
+   * @return the wall-clock time in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the number of hands of a combination type.
+   *
+   * @param combination the combination type.
+   * @return the hand count.
+   */
+  public long getHands(HandCombination combination) {
+    return handsByCombination[combination.ordinal()];
+  }
+
+  /**
+   * Returns the share of all hands where the player voluntarily put money in the pot.
+   *
+   * @return the VPIP between 0 and 1, or 0 if no hand was read.
+   */
+  public double getVpip() {
+    long bets = 0;
+    for (long count : betsByCombination) {
+      bets += count;
+    }
+    return share(bets, hands);
+  }
+
+  /**
+   * Returns the share of the hands of a combination type where the player voluntarily put money in the pot.
+   *
+   * @param combination the combination type.
+   * @return the VPIP between 0 and 1, or 0 if no hand of that type was read.
+   */
+  public double getVpip(HandCombination combination) {
+    return share(betsByCombination[combination.ordinal()], handsByCombination[combination.ordinal()]);
+  }
+
+  /**
+   * Returns the share of the hands played from a position where the player voluntarily put money in the pot.
+   *
+   * @param position the position at the table.
+   * @return the VPIP between 0 and 1, or 0 if no hand was played from that position.
+   */
+  public double getVpip(Position position) {
+    return share(betsByPosition[position.ordinal()], handsByPosition[position.ordinal()]);
+  }
+
+  /**
+   * Returns the share of hands where the player took the action the active strategy recommends.
+   *
+   * @return the agreement between 0 and 1, or 0 if no hand was read.
+   */
+  public double getStrategyAgreement() {
+    return share(agreements, hands);
+  }
+
+  /**
+   * Returns the input throughput.
+   *
+   * @return the megabytes (2^20 bytes) analysed per second of wall-clock time.
+   */
+  public double getMegabytesPerSecond() {
+    return elapsedNanos == 0 ? 0 : bytes / (1024.0 * 1024.0) * 1e9 / elapsedNanos;
+  }
+
+  private static double share(long part, long whole) {
+    return whole == 0 ? 0 : (double) part / whole;
+  }
+
+  /**
+   * Returns a string representation of the totals.
+   *
+   * @return the counts, the VPIP of every combination type and the throughput.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(String.format(
+        "Hands: %d, Malformed lines: %d, VPIP: %.3f, Strategy agreement: %.3f, Throughput: %.1f MB/s",
+        hands, malformedLines, getVpip(), getStrategyAgreement(), getMegabytesPerSecond()));
+    for (HandCombination combination : HandCombination.values()) {
+      builder.append(String.format("%n  %s: %d hands, VPIP %.3f", combination.getLabel(),
+          getHands(combination), getVpip(combination)));
+    }
+    return builder.toString();
+  }
+}
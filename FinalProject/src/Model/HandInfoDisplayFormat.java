@@ -19,4 +19,19 @@ public class HandInfoDisplayFormat {
         hand.getHandScore(),
         hand.getHandCombination());
   }
+
+  /**
+   * Formats an equity estimate against a random hand into a readable line.
+   *
+   * @param equity the estimate, with the hand as player 0. Must not be null.
+   * @return the hand's equity with its margin of error and the number of run-outs it is based on.
+   * @throws NullPointerException if the {@code equity} is null.
+   */
+  public String formatEquity(EquityResult equity) {
+    if (equity == null) {
+      throw new NullPointerException("Equity cannot be null");
+    }
+    return String.format("Equity vs. Random Hand: %.1f%% (+/- %.1f%%, %d run-outs)",
+        100 * equity.getEquity(0), 100 * equity.getMarginOfError(0), equity.getTrials());
+  }
 }
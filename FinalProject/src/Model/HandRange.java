@@ -0,0 +1,331 @@
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable set of two-card starting hands, as players describe them in range notation such as
+ * {@code "QQ+, AKs, 76s-54s, AsKh"}. The 1,326 possible combinations are numbered and the range is stored as a
+ * 1,326-bit mask in 21 longs, so membership tests and card-removal ("blocker") filtering are bit operations.
+ *
+ * <p>Supported tokens, separated by commas:</p>
+ * <ul>
+ *   <li>{@code AA}, {@code AKs}, {@code AKo} and {@code AK} (suited and offsuit) for a single class;</li>
+ *   <li>{@code QQ+} for a pair and every higher pair, {@code ATs+} for a hand and every higher kicker;</li>
+ *   <li>{@code 99-66} for a run of pairs, {@code KTs-K7s} for a run of kickers and {@code 76s-54s} for a run of
+ *   hands with the same gap;</li>
+ *   <li>{@code AsKh} for one specific combination.</li>
+ * </ul>
+ * <p>Ranks are {@code 2-9, T, J, Q, K, A} and suits are {@code s, h, c, d}.</p>
+ */
+public final class HandRange {
+  /**
+   * Number of distinct two-card combinations.
+   */
+  public static final int COMBINATION_COUNT = StartingHandTable.COMBINATION_COUNT;
+
+  private static final int WORDS = (COMBINATION_COUNT + 63) / 64;
+  private static final String RANKS = "23456789TJQKA";
+  private static final String SUITS = "SHCD";
+
+  private static final Pattern CLASS_TOKEN =
+      Pattern.compile("([2-9TJQKA])([2-9TJQKA])([SO]?)(\\+|-([2-9TJQKA])([2-9TJQKA])([SO]?))?");
+  private static final Pattern COMBINATION_TOKEN = Pattern.compile("([2-9TJQKA])([SHCD])([2-9TJQKA])([SHCD])");
+
+  /**
+   * For every combination, its two card indexes, the lower index first.
+   */
+  private static final byte[] FIRST_CARDS = new byte[COMBINATION_COUNT];
+  private static final byte[] SECOND_CARDS = new byte[COMBINATION_COUNT];
+
+  /**
+   * Maps a pair of card indexes ({@code first * 52 + second}, in either order) to its combination, or -1.
+   */
+  private static final short[] COMBINATION_BY_CARDS = new short[CardF.DECK_SIZE * CardF.DECK_SIZE];
+
+  static {
+    Arrays.fill(COMBINATION_BY_CARDS, (short) -1);
+    int combination = 0;
+    for (int first = 0; first < CardF.DECK_SIZE; first++) {
+      for (int second = first + 1; second < CardF.DECK_SIZE; second++) {
+        FIRST_CARDS[combination] = (byte) first;
+        SECOND_CARDS[combination] = (byte) second;
+        COMBINATION_BY_CARDS[first * CardF.DECK_SIZE + second] = (short) combination;
+        COMBINATION_BY_CARDS[second * CardF.DECK_SIZE + first] = (short) combination;
+        combination++;
+      }
+    }
+  }
+
+  private final long[] mask;
+  private final String notation;
+
+  private HandRange(long[] mask, String notation) {
+    this.mask = mask;
+    this.notation = notation;
+  }
+
+  /**
+   * Parses a range written in standard notation.
+   *
+   * @param notation the range, for example {@code "QQ+, AKs, 76s-54s"}.
+   * @return the parsed range.
+   * @throws IllegalArgumentException if the notation is empty or a token is not valid range notation.
+   */
+  public static HandRange parse(String notation) {
+    if (notation == null || notation.trim().isEmpty()) {
+      throw new IllegalArgumentException("Range cannot be empty");
+    }
+    long[] mask = new long[WORDS];
+    for (String rawToken : notation.split(",")) {
+      String token = rawToken.trim().toUpperCase();
+      Matcher combination = COMBINATION_TOKEN.matcher(token);
+      Matcher handClass = CLASS_TOKEN.matcher(token);
+      if (combination.matches()) {
+        int first = RANKS.indexOf(combination.group(1)) * 4 + SUITS.indexOf(combination.group(2));
+        int second = RANKS.indexOf(combination.group(3)) * 4 + SUITS.indexOf(combination.group(4));
+        if (first == second) {
+          throw new IllegalArgumentException("Invalid range token: " + rawToken.trim());
+        }
+        int index = combinationIndex(first, second);
+        mask[index >>> 6] |= 1L << index;
+      } else if (handClass.matches()) {
+        addClassToken(mask, handClass, rawToken.trim());
+      } else {
+        throw new IllegalArgumentException("Invalid range token: " + rawToken.trim());
+      }
+    }
+    return new HandRange(mask, notation.trim());
+  }
+
+  /**
+   * Returns the range holding exactly one hand.
+   *
+   * @param card1 the index of one card, from 0 to 51.
+   * @param card2 the index of the other card, from 0 to 51.
+   * @return a range with one combination.
+   * @throws IllegalArgumentException if the cards are the same or not valid indexes.
+   */
+  public static HandRange of(int card1, int card2) {
+    if (card1 < 0 || card1 >= CardF.DECK_SIZE || card2 < 0 || card2 >= CardF.DECK_SIZE || card1 == card2) {
+      throw new IllegalArgumentException("Two different card indexes are needed: " + card1 + ", " + card2);
+    }
+    long[] mask = new long[WORDS];
+    int index = combinationIndex(card1, card2);
+    mask[index >>> 6] |= 1L << index;
+    return new HandRange(mask, "" + RANKS.charAt(CardF.rankOf(card1)) + Character.toLowerCase(SUITS.charAt(
+        CardF.suitOf(card1))) + RANKS.charAt(CardF.rankOf(card2)) + Character.toLowerCase(SUITS.charAt(
+        CardF.suitOf(card2))));
+  }
+
+  /**
+   * Returns the range of every two-card hand, for example to play against a random hand.
+   *
+   * @return a range holding all 1,326 combinations.
+   */
+  public static HandRange all() {
+    long[] mask = new long[WORDS];
+    for (int combination = 0; combination < COMBINATION_COUNT; combination++) {
+      mask[combination >>> 6] |= 1L << combination;
+    }
+    return new HandRange(mask, "any two");
+  }
+
+  /**
+   * Adds the classes described by a matched class token (single class, "+" or "-" run) to the mask.
+   */
+  private static void addClassToken(long[] mask, Matcher token, String rawToken) {
+    int high = Math.max(RANKS.indexOf(token.group(1)), RANKS.indexOf(token.group(2)));
+    int low = Math.min(RANKS.indexOf(token.group(1)), RANKS.indexOf(token.group(2)));
+    String suitedness = token.group(3);
+    if (high == low && !suitedness.isEmpty()) {
+      throw new IllegalArgumentException("Invalid range token: " + rawToken);
+    }
+    if (token.group(4) == null) {
+      addClass(mask, high, low, suitedness);
+    } else if (token.group(4).equals("+")) {
+      if (high == low) {
+        for (int pair = high; pair < RANKS.length(); pair++) {
+          addClass(mask, pair, pair, suitedness);
+        }
+      } else {
+        for (int kicker = low; kicker < high; kicker++) {
+          addClass(mask, high, kicker, suitedness);
+        }
+      }
+    } else {
+      int endHigh = Math.max(RANKS.indexOf(token.group(5)), RANKS.indexOf(token.group(6)));
+      int endLow = Math.min(RANKS.indexOf(token.group(5)), RANKS.indexOf(token.group(6)));
+      if (!suitedness.equals(token.group(7))) {
+        throw new IllegalArgumentException("Invalid range token: " + rawToken);
+      }
+      if (high == low && endHigh == endLow) {
+        for (int pair = Math.min(low, endLow); pair <= Math.max(low, endLow); pair++) {
+          addClass(mask, pair, pair, suitedness);
+        }
+      } else if (high != low && high == endHigh) {
+        for (int kicker = Math.min(low, endLow); kicker <= Math.max(low, endLow); kicker++) {
+          addClass(mask, high, kicker, suitedness);
+        }
+      } else if (high != low && endHigh != endLow && high - low == endHigh - endLow) {
+        int gap = high - low;
+        for (int top = Math.min(high, endHigh); top <= Math.max(high, endHigh); top++) {
+          addClass(mask, top, top - gap, suitedness);
+        }
+      } else {
+        throw new IllegalArgumentException("Invalid range token: " + rawToken);
+      }
+    }
+  }
+
+  /**
+   * Adds every combination of one class: a pair, or the suited ("S"), offsuit ("O") or both ("") forms of a
+   * non-pair.
+   */
+  private static void addClass(long[] mask, int high, int low, String suitedness) {
+    for (int highSuit = 0; highSuit < 4; highSuit++) {
+      for (int lowSuit = 0; lowSuit < 4; lowSuit++) {
+        int first = high * 4 + highSuit;
+        int second = low * 4 + lowSuit;
+        boolean suited = highSuit == lowSuit;
+        if (first == second
+            || (high == low && highSuit > lowSuit)
+            || (suited && suitedness.equals("O"))
+            || (!suited && suitedness.equals("S"))) {
+          continue;
+        }
+        int index = combinationIndex(first, second);
+        mask[index >>> 6] |= 1L << index;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of a two-card combination.
+   *
+   * @param card1 the index of one card, from 0 to 51.
+   * @param card2 the index of the other card, from 0 to 51.
+   * @return the combination number, from 0 to 1325, or -1 if both cards are the same.
+   */
+  public static int combinationIndex(int card1, int card2) {
+    return COMBINATION_BY_CARDS[card1 * CardF.DECK_SIZE + card2];
+  }
+
+  /**
+   * Returns the lower card index of a combination.
+   *
+   * @param combination the combination number, from 0 to 1325.
+   * @return the card index.
+   */
+  public static int firstCard(int combination) {
+    return FIRST_CARDS[combination];
+  }
+
+  /**
+   * Returns the higher card index of a combination.
+   *
+   * @param combination the combination number, from 0 to 1325.
+   * @return the card index.
+   */
+  public static int secondCard(int combination) {
+    return SECOND_CARDS[combination];
+  }
+
+  /**
+   * Returns the cards of a combination as a 52-bit mask.
+   *
+   * @param combination the combination number, from 0 to 1325.
+   * @return a mask with the bits of both cards set.
+   */
+  public static long cardMask(int combination) {
+    return (1L << FIRST_CARDS[combination]) | (1L << SECOND_CARDS[combination]);
+  }
+
+  /**
+   * Returns whether the range holds a combination.
+   *
+   * @param combination the combination number, from 0 to 1325.
+   * @return true if the combination is in the range.
+   */
+  public boolean contains(int combination) {
+    return (mask[combination >>> 6] & (1L << combination)) != 0;
+  }
+
+  /**
+   * Returns whether the range holds the hand made of two cards.
+   *
+   * @param card1 the index of one card, from 0 to 51.
+   * @param card2 the index of the other card, from 0 to 51.
+   * @return true if the hand is in the range.
+   */
+  public boolean contains(int card1, int card2) {
+    int combination = combinationIndex(card1, card2);
+    return combination >= 0 && contains(combination);
+  }
+
+  /**
+   * Returns the number of combinations in the range.
+   *
+   * @return the number of combinations.
+   */
+  public int size() {
+    int size = 0;
+    for (long word : mask) {
+      size += Long.bitCount(word);
+    }
+    return size;
+  }
+
+  /**
+   * Returns the combinations in the range, in increasing order.
+   *
+   * @return a new array of combination numbers.
+   */
+  public int[] combinations() {
+    int[] combinations = new int[size()];
+    int count = 0;
+    for (int word = 0; word < mask.length; word++) {
+      for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+        combinations[count++] = word * 64 + Long.numberOfTrailingZeros(bits);
+      }
+    }
+    return combinations;
+  }
+
+  /**
+   * Removes every combination that uses a dead card, for example a card held by another player or on the board.
+   *
+   * @param deadCards a mask with bit {@code i} set for every dead card index {@code i}.
+   * @return a new range without the blocked combinations.
+   */
+  public HandRange without(long deadCards) {
+    long[] live = mask.clone();
+    for (int word = 0; word < live.length; word++) {
+      for (long bits = live[word]; bits != 0; bits &= bits - 1) {
+        int combination = word * 64 + Long.numberOfTrailingZeros(bits);
+        if ((cardMask(combination) & deadCards) != 0) {
+          live[word] &= ~(1L << combination);
+        }
+      }
+    }
+    return new HandRange(live, notation);
+  }
+
+  /**
+   * Returns the 1,326-bit mask of the range.
+   *
+   * @return a copy of the mask; bit {@code i % 64} of word {@code i / 64} is set for combination {@code i}.
+   */
+  public long[] toMask() {
+    return mask.clone();
+  }
+
+  /**
+   * Returns the notation the range was parsed from.
+   *
+   * @return the range notation.
+   */
+  @Override
+  public String toString() {
+    return notation;
+  }
+}
@@ -1,24 +1,55 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 /**
  * Represents the model for a Texas Hold'em poker game, managing the current hand,
  * cards, and the evaluation of the hand. This class interacts with several other classes
  * to provide a complete model of a poker hand according to Texas Hold'em rules.
+ *
+ * <p>The current hand makes this class stateful, so one instance serves one user. For serving many
+ * concurrent requests, use {@code StatelessHoldemModel} or the static batch methods.</p>
+ *
+ * <p>Creating a hand and reading its score, decisions and comments are measured by {@code ModelMetrics} when
+ * metrics are on; calls that throw are not counted.</p>
  */
 public class HoldemModel {
+  /**
+   * Run-outs simulated for {@link #evaluateAgainstRandomHand(CardF, CardF, List)}.
+   */
+  public static final int RANDOM_HAND_TRIALS = 100_000;
+
+  /**
+   * Rounds the run-outs of {@link #evaluateAgainstRandomHand(CardF, CardF, List, Predicate)} are split into.
+   */
+  public static final int RANDOM_HAND_ROUNDS = 10;
+
+  private static final long EVALUATION_CACHE_BYTES = 4L << 20;
+  private static final long RANDOM_HAND_SEED = 5004;
+  private static final HandRange ANY_HAND = HandRange.all();
+
   private HandF currentHand;
   private List<CardF> cards;
-  private TexasHoldemHandEvaluator evaluator;
   private HandInfoDisplayFormat handInfo;
+  private final EquityCalculator equityCalculator;
+  private final RangeEquityCalculator rangeEquityCalculator;
+  private final BoundedCache<EvaluationKey, EquityResult> evaluationCache;
+  private PreflopEquityMatrix preflopEquityMatrix;
+  private final ModelMetrics.Recorder metrics = ModelMetrics.newRecorder();
 
   /**
    * Constructs a new HoldemModel with an empty list of cards.
    */
   public HoldemModel() {
     this.cards = new ArrayList<>();
+    this.equityCalculator = new EquityCalculator();
+    this.rangeEquityCalculator = new RangeEquityCalculator(equityCalculator);
+    this.evaluationCache = new BoundedCache<>(EVALUATION_CACHE_BYTES, (key, result) -> estimateBytes(result));
   }
 
   /**
@@ -32,24 +63,98 @@ public class HoldemModel {
    * @throws IllegalArgumentException if the card values or suits are invalid.
    */
   public HandF createHand(String card1Value, String card1Suit, String card2Value, String card2Suit) {
-    CardF card1 = new CardF(card1Value, card1Suit);
-    CardF card2 = new CardF(card2Value, card2Suit);
+    long start = metrics.start(ModelMetrics.Operation.CREATE_HAND);
+    CardF card1 = CardF.of(card1Value, card1Suit);
+    CardF card2 = CardF.of(card2Value, card2Suit);
     cards.clear();
     cards.add(card1);
     cards.add(card2);
     currentHand = new ConcreteHandF(card1, card2);
-    evaluator = new TexasHoldemHandEvaluator(Arrays.asList(card1, card2));
+    metrics.recordHand(start, card1.getIndex(), card2.getIndex());
+    metrics.stop(ModelMetrics.Operation.CREATE_HAND, start);
     return currentHand;
   }
 
+  /**
+   * Encodes two cards as one int for {@link #evaluateBatch(int[])}: {@code card1 * 52 + card2} over the card
+   * indexes.
+   *
+   * @param card1 the first card of the hand.
+   * @param card2 the second card of the hand.
+   * @return the encoded hand.
+   */
+  public static int encodeHand(CardF card1, CardF card2) {
+    return card1.getIndex() * CardF.DECK_SIZE + card2.getIndex();
+  }
+
+  /**
+   * Evaluates many encoded hands at once. This method does not touch any model state, so it can be called from
+   * many threads at the same time.
+   *
+   * @param encodedHands the hands, encoded by {@link #encodeHand(CardF, CardF)}.
+   * @return the scores, combinations and decisions of every hand.
+   * @throws IllegalArgumentException if a hand is not a valid encoding of two different cards.
+   */
+  public static HandBatchResult evaluateBatch(int[] encodedHands) {
+    int count = encodedHands.length;
+    int[] scores = new int[count];
+    byte[] combinations = new byte[count];
+    byte[] decisions = new byte[count];
+    evaluateBatch(encodedHands, 0, count, scores, combinations, decisions);
+    return new HandBatchResult(scores, combinations, decisions);
+  }
+
+  /**
+   * Evaluates a range of encoded hands into arrays supplied by the caller, without allocating. Results for
+   * {@code encodedHands[i]} are written at index {@code i - from}. This method does not touch any model state,
+   * so it can be called from many threads at the same time.
+   *
+   * @param encodedHands the hands, encoded by {@link #encodeHand(CardF, CardF)}.
+   * @param from the first hand to evaluate, inclusive.
+   * @param to the last hand to evaluate, exclusive.
+   * @param scores receives the score of each hand.
+   * @param combinations receives the combination ordinal of each hand, see
+   *     {@link StartingHandTable#getCombinationName(int)}.
+   * @param decisions receives the decision mask of each hand, see {@link StartingHandTable#getDecisionMask(int)}.
+   * @throws IllegalArgumentException if a hand is not a valid encoding of two different cards.
+   */
+  public static void evaluateBatch(int[] encodedHands, int from, int to, int[] scores, byte[] combinations,
+      byte[] decisions) {
+    // One strategy for the whole batch, even if a new one is swapped in meanwhile
+    StrategyTable strategy = StartingHandTable.getStrategyTable();
+    for (int i = from; i < to; i++) {
+      int encoded = encodedHands[i];
+      int handClass = encoded >= 0 && encoded < CardF.DECK_SIZE * CardF.DECK_SIZE
+          ? StartingHandTable.classOfEncoded(encoded) : -1;
+      if (handClass < 0) {
+        throw new IllegalArgumentException("Invalid encoded hand at " + i + ": " + encoded);
+      }
+      scores[i - from] = strategy.getScore(handClass);
+      combinations[i - from] = (byte) StartingHandTable.getCombinationOrdinal(handClass);
+      decisions[i - from] = (byte) strategy.getDecisionMask(handClass);
+    }
+  }
+
+  /**
+   * Runs the starting hand strategy over a hand-history file, using every core, and totals what the players did.
+   * This method does not touch any model state.
+   *
+   * @param path the file to read, in the format described by {@code HandHistoryReader}.
+   * @return the VPIP by combination type and position, and how often players followed the strategy.
+   * @throws IOException if the file cannot be read.
+   */
+  public static HandHistoryStats analyzeHandHistory(Path path) throws IOException {
+    return HandHistoryAnalyzer.analyze(path);
+  }
+
   /**
    * Retrieves a list of {@code CardF} objects representing the current cards in the game.
    * These cards are used in the current poker hand.
    *
-   * @return A list of {@code CardF} objects currently being used in the game.
+   * @return An unmodifiable snapshot of the {@code CardF} objects currently being used in the game.
    */
   public List<CardF> getCards() {
-    return cards;
+    return Collections.unmodifiableList(new ArrayList<>(cards));
   }
 
   /**
@@ -72,7 +177,10 @@ public class HoldemModel {
     if (currentHand == null) {
       throw new IllegalStateException("No hand initialized.");
     }
-    return currentHand.getHandScore();
+    long start = metrics.start(ModelMetrics.Operation.CALCULATE_SCORE);
+    int score = currentHand.getHandScore();
+    metrics.stop(ModelMetrics.Operation.CALCULATE_SCORE, start);
+    return score;
   }
 
   /**
@@ -92,18 +200,291 @@ public class HoldemModel {
    * Provides strategic decisions based on the current score of the hand.
    *
    * @return a map of decisions for various positions in the game based on the current hand's score.
+   * @throws IllegalStateException if no hand has been initialized yet.
    */
   public Map<String, String> getPositionDecisions() {
-    int score = calculateScore(); // Use the evaluator to get the current hand's score.
-    return evaluator.getPositionDecisions(score);
+    if (currentHand == null) {
+      throw new IllegalStateException("No hand initialized.");
+    }
+    long start = metrics.start(ModelMetrics.Operation.POSITION_DECISIONS);
+    Map<String, String> decisions = currentHand.getHandPositionDecisions();
+    metrics.stop(ModelMetrics.Operation.POSITION_DECISIONS, start);
+    return decisions;
   }
 
   /**
    * Provides comments based on the position at the table and the evaluation of the current hand.
    *
    * @return a map containing comments for various positions based on the current hand evaluation.
+   * @throws IllegalStateException if no hand has been initialized yet.
    */
   public Map<String, String> getPositionBasedComments() {
-    return evaluator.getPositionBasedComments();
+    if (currentHand == null) {
+      throw new IllegalStateException("No hand initialized.");
+    }
+    long start = metrics.start(ModelMetrics.Operation.POSITION_COMMENTS);
+    Map<String, String> comments = currentHand.getHandPositionBasedComments();
+    metrics.stop(ModelMetrics.Operation.POSITION_COMMENTS, start);
+    return comments;
+  }
+
+  /**
+   * Estimates each player's chance of winning by simulating the rest of the board on all available cores.
+   *
+   * @param holeCards the two hole cards of each player; at least two players.
+   * @param board the cards already on the board; zero to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @return the estimated equity of each player, in the order given, with 95% confidence intervals.
+   * @throws IllegalArgumentException if the cards or the trial count are invalid.
+   */
+  public EquityResult calculateEquity(List<List<CardF>> holeCards, List<CardF> board, int trials) {
+    return equityCalculator.simulate(toHandIndexes(holeCards), toIndexes(board), trials);
+  }
+
+  /**
+   * Estimates each player's chance of winning by simulating the rest of the board on all available cores.
+   *
+   * @param holeCards the two hole cards of each player; at least two players.
+   * @param board the cards already on the board; zero to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @param confidence the confidence level of the reported intervals, between 0 and 1 (exclusive).
+   * @param seed the seed of the simulation; the same seed gives the same result.
+   * @return the estimated equity of each player, in the order given.
+   * @throws IllegalArgumentException if the cards, the trial count or the confidence level are invalid.
+   */
+  public EquityResult calculateEquity(List<List<CardF>> holeCards, List<CardF> board, int trials,
+      double confidence, long seed) {
+    return equityCalculator.simulate(toHandIndexes(holeCards), toIndexes(board), trials, confidence, seed);
+  }
+
+  /**
+   * Computes the exact preflop equity of two hands by enumerating every possible board. Results are cached,
+   * so a matchup that only differs from an earlier one by suits or seat order is answered from memory.
+   *
+   * @param hand1 the first player's two hole cards.
+   * @param hand2 the second player's two hole cards.
+   * @return the exact equity of both players.
+   * @throws IllegalArgumentException if the cards are invalid.
+   */
+  public EquityResult calculateExactEquity(List<CardF> hand1, List<CardF> hand2) {
+    return equityCalculator.enumerate(toIndexes(hand1), toIndexes(hand2));
+  }
+
+  /**
+   * Computes the preflop equity of one hand range against another, such as {@code "QQ+, AKs"} against
+   * {@code "JJ-99, AQs+"}. Combinations that share a card are never matched against each other. The result is
+   * exact once the matchups are cached, and estimated by simulation while enumerating them would take too long,
+   * see {@code RangeEquityCalculator.calculate}.
+   *
+   * @param heroRange the first player's range in standard notation.
+   * @param villainRange the second player's range in standard notation.
+   * @return the equity of both players.
+   * @throws IllegalArgumentException if a range is not valid notation or the ranges have no compatible hands.
+   */
+  public EquityResult calculateRangeEquity(String heroRange, String villainRange) {
+    return rangeEquityCalculator.calculate(HandRange.parse(heroRange), HandRange.parse(villainRange));
+  }
+
+  /**
+   * Estimates the equity of one hand range against another on a board by simulating random run-outs.
+   *
+   * @param heroRange the first player's range in standard notation.
+   * @param villainRange the second player's range in standard notation.
+   * @param board the cards already on the board, from none to five.
+   * @param trials the number of run-outs to simulate.
+   * @return the estimated equity of both players.
+   * @throws IllegalArgumentException if a range, the board or the trial count is invalid.
+   */
+  public EquityResult calculateRangeEquity(String heroRange, String villainRange, List<CardF> board,
+      int trials) {
+    return rangeEquityCalculator.simulate(HandRange.parse(heroRange), HandRange.parse(villainRange),
+        toIndexes(board), trials);
+  }
+
+  /**
+   * Estimates the equity of a hand on a board against one random hand. Results are kept in a bounded cache
+   * keyed by the hand and board up to suits and by the strategy version, so repeated queries are answered
+   * without running the simulation again; the simulation is seeded, so a cached and a fresh answer are the same.
+   *
+   * @param card1 the first hole card.
+   * @param card2 the second hole card.
+   * @param board the cards already on the board, from none to five.
+   * @return the equity of the hand (player 0) and of the random hand (player 1).
+   * @throws IllegalArgumentException if the cards are invalid or repeated.
+   */
+  public EquityResult evaluateAgainstRandomHand(CardF card1, CardF card2, List<CardF> board) {
+    return evaluateAgainstRandomHand(card1, card2, board, estimate -> true);
+  }
+
+  /**
+   * Estimates the equity of a hand on a board against one random hand, reporting the running estimate as the
+   * simulation goes. The run-outs are simulated in {@value #RANDOM_HAND_ROUNDS} rounds and the listener receives
+   * the pooled estimate after each one, so a user interface can show a rough answer at once and refine it. A
+   * cached result is reported once. The final result is the same as
+   * {@link #evaluateAgainstRandomHand(CardF, CardF, List)} returns.
+   *
+   * @param card1 the first hole card.
+   * @param card2 the second hole card.
+   * @param board the cards already on the board, from none to five.
+   * @param progress receives each running estimate; returns false to stop the simulation early.
+   * @return the final estimate, or the last running estimate if the listener stopped the simulation. Only
+   *     complete results are cached.
+   * @throws IllegalArgumentException if the cards are invalid or repeated.
+   */
+  public EquityResult evaluateAgainstRandomHand(CardF card1, CardF card2, List<CardF> board,
+      Predicate<EquityResult> progress) {
+    if (card1 == null || card2 == null || card1.equals(card2)) {
+      throw new IllegalArgumentException("Two different hole cards are needed.");
+    }
+    long boardMask = 0;
+    for (int card : toIndexes(board)) {
+      boardMask |= 1L << card;
+    }
+    if (Long.bitCount(boardMask) != board.size()) {
+      throw new IllegalArgumentException("Board cards cannot repeat.");
+    }
+    EvaluationKey key = new EvaluationKey(card1.getIndex(), card2.getIndex(), boardMask,
+        StartingHandTable.getStrategyVersion());
+    EquityResult cached = evaluationCache.getIfPresent(key);
+    if (cached != null) {
+      progress.test(cached);
+      return cached;
+    }
+
+    // Simulate the representative deal of the key, so every deal equal up to suits gets the same answer
+    long deal = key.getDeal();
+    HandRange hand = HandRange.of(HandCanonicalizer.firstCard(deal), HandCanonicalizer.secondCard(deal));
+    long dealBoard = HandCanonicalizer.board(deal);
+    int[] boardIndexes = new int[Long.bitCount(dealBoard)];
+    for (int i = 0; dealBoard != 0; dealBoard &= dealBoard - 1) {
+      boardIndexes[i++] = Long.numberOfTrailingZeros(dealBoard);
+    }
+    EquityResult estimate = null;
+    for (int round = 0; round < RANDOM_HAND_ROUNDS; round++) {
+      EquityResult next = rangeEquityCalculator.simulate(hand, ANY_HAND, boardIndexes,
+          RANDOM_HAND_TRIALS / RANDOM_HAND_ROUNDS, EquityCalculator.DEFAULT_CONFIDENCE, RANDOM_HAND_SEED + round);
+      estimate = estimate == null ? next : EquityResult.combine(estimate, next);
+      if (!progress.test(estimate)) {
+        return estimate;
+      }
+    }
+    evaluationCache.put(key, estimate);
+    return estimate;
+  }
+
+  /**
+   * Returns the hit, miss and eviction counters of the evaluation cache.
+   *
+   * @return a snapshot of the cache statistics.
+   */
+  public CacheStats getEvaluationCacheStats() {
+    return evaluationCache.stats();
+  }
+
+  /**
+   * Approximates the heap size of a cached result and its key, used as its weight in the cache.
+   */
+  private static int estimateBytes(EquityResult result) {
+    return 96 + 2 * (16 + 8 * result.getPlayerCount()) + 40;
+  }
+
+  /**
+   * Loads a strategy profile from a properties file and applies it in the background. Hands evaluated while
+   * the new strategy is being built still use the current one.
+   *
+   * @param path the properties file, see {@code StrategyProfile}.
+   * @return a future that completes with the applied profile, or exceptionally if the file is invalid.
+   */
+  public CompletableFuture<StrategyProfile> reloadStrategy(Path path) {
+    return StartingHandTable.reloadStrategyProfile(path);
+  }
+
+  /**
+   * Returns the strategy profile currently used to score hands and make decisions.
+   *
+   * @return the active profile.
+   */
+  public StrategyProfile getStrategyProfile() {
+    return StartingHandTable.getStrategyProfile();
+  }
+
+  /**
+   * Runs a headless simulation of many tables playing at once, using the same starting hand rules as
+   * {@link #getPositionDecisions()}.
+   *
+   * @param seats the number of players at each table, for example 6 or 9.
+   * @param tables the number of tables.
+   * @param handsPerTable the number of hands each table plays.
+   * @param seed the seed of the random generators.
+   * @return the totals of all tables and the hands dealt per second.
+   * @throws IllegalArgumentException if the table size, table count or hand count is invalid.
+   */
+  public SimulationSummary simulateTables(int seats, int tables, int handsPerTable, long seed) {
+    return new TableSimulator(seats).simulate(tables, handsPerTable, seed);
+  }
+
+  /**
+   * Returns the exact heads-up equity matrix of the 169 starting hand classes. The matrix is computed on the
+   * first call, which takes a long time, and served from memory afterwards.
+   *
+   * @return the preflop equity matrix.
+   */
+  public synchronized PreflopEquityMatrix getPreflopEquityMatrix() {
+    if (preflopEquityMatrix == null) {
+      preflopEquityMatrix = PreflopEquityMatrix.compute(equityCalculator);
+    }
+    return preflopEquityMatrix;
+  }
+
+  /**
+   * Loads the preflop equity matrix from a file written by {@link #savePreflopEquityMatrix(Path)}. The file is
+   * memory-mapped rather than read into the heap, so loading takes milliseconds and processes on the same host
+   * share one copy.
+   *
+   * @param path the matrix file.
+   * @return the loaded matrix, which is also served by {@link #getPreflopEquityMatrix()} from now on.
+   * @throws IOException if the file cannot be read or is not a valid matrix file.
+   */
+  public synchronized PreflopEquityMatrix loadPreflopEquityMatrix(Path path) throws IOException {
+    preflopEquityMatrix = EquityMatrixFile.load(path);
+    return preflopEquityMatrix;
+  }
+
+  /**
+   * Saves the preflop equity matrix to a file, computing it first if needed.
+   *
+   * @param path the destination file; replaced if it exists.
+   * @throws IOException if the file cannot be written.
+   */
+  public void savePreflopEquityMatrix(Path path) throws IOException {
+    EquityMatrixFile.write(getPreflopEquityMatrix(), path);
+  }
+
+  /**
+   * Converts the hole cards of several players to card indexes.
+   *
+   * @param holeCards the hole cards of each player.
+   * @return the card indexes of each player.
+   */
+  private static int[][] toHandIndexes(List<List<CardF>> holeCards) {
+    int[][] indexes = new int[holeCards.size()][];
+    for (int player = 0; player < indexes.length; player++) {
+      indexes[player] = toIndexes(holeCards.get(player));
+    }
+    return indexes;
+  }
+
+  /**
+   * Converts a list of cards to card indexes.
+   *
+   * @param cards the cards to convert.
+   * @return the card indexes.
+   */
+  private static int[] toIndexes(List<CardF> cards) {
+    int[] indexes = new int[cards.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = cards.get(i).getIndex();
+    }
+    return indexes;
   }
 }
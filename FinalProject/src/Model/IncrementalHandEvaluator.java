@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks a hand that grows one card at a time, such as hole cards followed by the flop, turn and river. The hand
+ * is kept as two running values: the sum of the card keys of {@code SevenCardHandEvaluator}, which counts the
+ * cards of every rank and suit, and the packed rank masks of the suits. Adding a card adds its key and sets its
+ * bit. The rank of the current street comes from that state alone: one lookup of the key among the ranks of
+ * every combination of five to seven ranks, or, once a suit holds five cards, the rank of that suit's flush. So
+ * each street costs about as much as ranking the river once, and a street's cards can be added together.
+ *
+ * <p>The state only moves forward: ask for each street's rank when its card has been added, and {@link #reset()}
+ * to start the next hand. Only card indexes are tracked while cards are added; the inherited {@code cards} list
+ * is rebuilt from them when it is read. Instances are not thread-safe; use one per thread.</p>
+ *
+ * <p>Position decisions and comments are about the starting hand, so they are delegated to a
+ * {@code TexasHoldemHandEvaluator} over the first two cards (the hole cards).</p>
+ */
+public class IncrementalHandEvaluator extends AbstractHandEvaluator {
+  /**
+   * Largest number of cards a hand can hold.
+   */
+  public static final int MAX_CARDS = 7;
+
+  private static final int MIN_RANKED_CARDS = 5;
+
+  /**
+   * The packed rank masks of the hand, which catch repeated cards and rank flushes, and the sum of its card keys,
+   * which also counts its cards.
+   */
+  private long bits;
+  private long key;
+  private final int[] indexes = new int[MAX_CARDS];
+
+  /**
+   * Initializes an empty evaluator.
+   */
+  public IncrementalHandEvaluator() {
+    super(new ArrayList<>(MAX_CARDS));
+  }
+
+  /**
+   * Initializes an evaluator holding some cards, for example the hole cards. The first two cards are the hole
+   * cards.
+   *
+   * @param cards the cards to add, in order.
+   * @throws IllegalArgumentException if a card is repeated or there are more than seven cards.
+   */
+  public IncrementalHandEvaluator(List<CardF> cards) {
+    this();
+    for (CardF card : cards) {
+      add(card);
+    }
+  }
+
+  /**
+   * Adds a card to the hand.
+   *
+   * @param card the card to add.
+   * @throws IllegalArgumentException if the card is already in the hand or the hand is full.
+   */
+  public void add(CardF card) {
+    add(card.getIndex());
+  }
+
+  /**
+   * Adds a card to the hand by its index, without allocating.
+   *
+   * @param card the card index, from 0 to 51.
+   * @throws IllegalArgumentException if the card is already in the hand or the hand is full.
+   */
+  public void add(int card) {
+    long bit = SevenCardHandEvaluator.cardBits(card);
+    int count = size();
+    if (count == MAX_CARDS || (bits & bit) != 0) {
+      throw rejected(card);
+    }
+    bits |= bit;
+    key += SevenCardHandEvaluator.cardKey(card);
+    indexes[count] = card;
+  }
+
+  /**
+   * Adds several cards to the hand by their indexes, such as the flop, summing them before the running state is
+   * updated once.
+   *
+   * @param cards the card indexes, from 0 to 51.
+   * @param from the position of the first card to add.
+   * @param to the position after the last card to add.
+   * @throws IllegalArgumentException if a card is already in the hand or repeated, or the hand would hold more
+   *     than seven cards; the hand is then left as it was.
+   */
+  public void add(int[] cards, int from, int to) {
+    int count = size();
+    if (to - from > MAX_CARDS - count) {
+      throw new IllegalArgumentException("A hand holds at most seven cards.");
+    }
+    long bits = this.bits;
+    long key = this.key;
+    for (int i = from; i < to; i++) {
+      int card = cards[i];
+      long bit = SevenCardHandEvaluator.cardBits(card);
+      if ((bits & bit) != 0) {
+        throw new IllegalArgumentException("Duplicate card in hand: " + CardF.of(card));
+      }
+      bits |= bit;
+      key += SevenCardHandEvaluator.cardKey(card);
+      indexes[count++] = card;
+    }
+    this.bits = bits;
+    this.key = key;
+  }
+
+  /**
+   * Builds the exception for a card that cannot be added, kept out of {@link #add(int)} so it stays small
+   * enough to inline.
+   */
+  private IllegalArgumentException rejected(int card) {
+    if (size() == MAX_CARDS) {
+      return new IllegalArgumentException("A hand holds at most seven cards.");
+    }
+    return new IllegalArgumentException("Duplicate card in hand: " + CardF.of(card));
+  }
+
+  /**
+   * Empties the hand, so the evaluator can be reused for the next one.
+   */
+  public void reset() {
+    bits = 0;
+    key = 0;
+  }
+
+  /**
+   * Returns the cards in the hand, in the order they were added.
+   *
+   * @return an unmodifiable snapshot of the cards.
+   */
+  public List<CardF> getCards() {
+    return List.copyOf(syncCards());
+  }
+
+  /**
+   * Brings the inherited card list up to date. The hot path only tracks card indexes, so the list is rebuilt
+   * when a method that reads it is called.
+   */
+  private List<CardF> syncCards() {
+    int count = size();
+    if (cards.size() != count || !matchesIndexes()) {
+      cards.clear();
+      for (int i = 0; i < count; i++) {
+        cards.add(CardF.of(indexes[i]));
+      }
+    }
+    return cards;
+  }
+
+  private boolean matchesIndexes() {
+    for (int i = 0; i < cards.size(); i++) {
+      if (cards.get(i).getIndex() != indexes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of cards in the hand.
+   *
+   * @return the card count.
+   */
+  public int size() {
+    return SevenCardHandEvaluator.keyCount(key);
+  }
+
+  /**
+   * Returns the rank of the best five-card hand of the current cards.
+   *
+   * @return the hand rank, comparable with {@code SevenCardHandEvaluator} ranks.
+   * @throws IllegalStateException if the hand holds fewer than five cards.
+   */
+  public int getRank() {
+    if (size() < MIN_RANKED_CARDS) {
+      throw new IllegalStateException("No rank for a hand of " + size() + " cards.");
+    }
+    return SevenCardHandEvaluator.evaluateKey(key, bits);
+  }
+
+  /**
+   * Determines the category of the best five-card hand, such as "Two Pair" or "Straight".
+   *
+   * @return the name of the hand category.
+   * @throws IllegalStateException if the hand holds fewer than five cards.
+   */
+  @Override
+  public String getHandCombination() {
+    return SevenCardHandEvaluator.categoryName(SevenCardHandEvaluator.categoryOf(getRank()));
+  }
+
+  /**
+   * Returns the rank of the best five-card hand of the current cards.
+   *
+   * @return the hand rank; larger values are stronger hands.
+   * @throws IllegalStateException if the hand holds fewer than five cards.
+   */
+  @Override
+  public int calculateScore() {
+    return getRank();
+  }
+
+  /**
+   * Returns an evaluator for the hole cards.
+   *
+   * @throws IllegalStateException if the hand holds fewer than two cards.
+   */
+  private TexasHoldemHandEvaluator preflop() {
+    if (size() < 2) {
+      throw new IllegalStateException("The hole cards have not been added.");
+    }
+    return new TexasHoldemHandEvaluator(List.copyOf(syncCards().subList(0, 2)));
+  }
+
+  /**
+   * Provides the position-based comments for the hole cards.
+   *
+   * @return A map of position-based strategic comments.
+   * @throws IllegalStateException if the hole cards have not been added.
+   */
+  @Override
+  public Map<String, String> getPositionBasedComments() {
+    return preflop().getPositionBasedComments();
+  }
+
+  @Override
+  public String decideAction(int score, int threshold) {
+    return Action.forScore(score, threshold).getLabel();
+  }
+
+  /**
+   * Provides the position decisions for a starting hand score.
+   *
+   * @param score The preflop score of the hole cards.
+   * @return A map containing decisions for positions like "Early Position", "Middle Position", etc.
+   * @throws IllegalStateException if the hole cards have not been added.
+   */
+  @Override
+  public Map<String, String> getPositionDecisions(int score) {
+    return preflop().getPositionDecisions(score);
+  }
+
+  @Override
+  public String generateComment(String position, String decision, String handCombination) {
+    return preflop().generateComment(position, decision, handCombination);
+  }
+
+  @Override
+  public String generateGeneralComment(String position, String decision, String rationale) {
+    return preflop().generateGeneralComment(position, decision, rationale);
+  }
+}
@@ -0,0 +1,141 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds with a fixed relative precision, in the style of
+ * HdrHistogram. Values are grouped by power of two, and every power of two is split into 32 equal buckets, so a
+ * recorded value is reported to within about 3% over the whole range, from single nanoseconds up to
+ * {@link #MAX_VALUE} (about 18 minutes). Larger values are recorded as the maximum.
+ *
+ * <p>Each bucket is a {@code LongAdder}, so threads recording at the same time update separate cells instead of
+ * contending for one counter, and recording never allocates once a bucket has been used. Reading the histogram
+ * while values are being recorded gives an estimate that may miss the latest values.</p>
+ */
+public final class LatencyHistogram {
+  /**
+   * Largest value recorded exactly, in nanoseconds; anything larger is recorded as this value.
+   */
+  public static final long MAX_VALUE = (1L << 40) - 1;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder total = new LongAdder();
+
+  /**
+   * Constructs an empty histogram.
+   */
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Returns the bucket of a value: the power of two it falls in, and its position among the sub-buckets of that
+   * power. Values below 64 get a bucket each.
+   */
+  private static int bucketOf(long value) {
+    int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+  }
+
+  /**
+   * Returns the largest value that falls in a bucket.
+   */
+  private static long highestValueOf(int bucket) {
+    int shift = Math.max(0, (bucket >>> SUB_BUCKET_BITS) - 1);
+    long mantissa = bucket - ((long) shift << SUB_BUCKET_BITS);
+    return ((mantissa + 1) << shift) - 1;
+  }
+
+  /**
+   * Records one latency.
+   *
+   * @param nanos the latency in nanoseconds; negative values are recorded as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+    buckets[bucketOf(value)].increment();
+    total.add(value);
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the count.
+   */
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucket : buckets) {
+      count += bucket.sum();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the mean of the recorded values.
+   *
+   * @return the mean in nanoseconds, or 0 if nothing was recorded.
+   */
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : (double) total.sum() / count;
+  }
+
+  /**
+   * Returns the value below which a share of the recorded values fall, for example 99 for the 99th percentile.
+   *
+   * @param percentile the percentile, from 0 to 100.
+   * @return the percentile in nanoseconds, rounded up to the top of its bucket, or 0 if nothing was recorded.
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long[] counts = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets[i].sum();
+      count += counts[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return highestValueOf(i);
+      }
+    }
+    return highestValueOf(BUCKETS - 1);
+  }
+
+  /**
+   * Returns the largest recorded value.
+   *
+   * @return the maximum in nanoseconds, rounded up to the top of its bucket, or 0 if nothing was recorded.
+   */
+  public long getMax() {
+    for (int i = BUCKETS - 1; i >= 0; i--) {
+      if (buckets[i].sum() > 0) {
+        return highestValueOf(i);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Removes every recorded value. Values recorded during the reset may be kept.
+   */
+  public void reset() {
+    for (LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    total.reset();
+  }
+}
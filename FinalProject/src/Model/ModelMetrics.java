@@ -0,0 +1,409 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts and times the calls of the Model layer that the view goes through for every hand, and counts the hands
+ * created of each combination type. Metrics are off unless the system property {@code holdem.metrics} is
+ * {@code true} or {@link #setEnabled(boolean)} turns them on.
+ *
+ * <p>The measured operations take tens of nanoseconds, less than one atomic update or clock read on many
+ * machines, so calls are sampled rather than each counted. Each {@code HoldemModel}, which serves one user,
+ * records through its own {@link Recorder}, which only counts down a field until the next sampled call; the
+ * gaps are random, so every call is sampled with the same probability of one in {@link #getSampleInterval()}
+ * whatever order the calls come in. A sampled call is timed into a {@code LatencyHistogram} and adds the
+ * interval to striped {@code LongAdder} totals, so the counts are unbiased estimates with a standard error of
+ * about {@code sqrt(count * interval)}; an interval of 1 counts every call exactly, at the cost of two clock
+ * reads per call. Whether metrics are on is read only at sampled calls, so while they are off a call costs one
+ * decrement.</p>
+ *
+ * <p>The metrics can be read with {@link #dump()} as text, or over JMX once {@link #registerMBeans()} has run
+ * (enabling metrics runs it): {@code holdem:type=ModelMetrics} holds the switch, the sample interval, the
+ * combination counts and the dump, and {@code holdem:type=ModelMetrics,operation=<name>} the calls and
+ * latencies of each operation.</p>
+ */
+public final class ModelMetrics {
+  /**
+   * Default number of calls per sampled call.
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 1024;
+
+  /**
+   * Value returned by {@link Recorder#start(Operation)} for a call that is not sampled.
+   */
+  public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  private static final String DOMAIN = "holdem";
+
+  /**
+   * The measured operations of {@code HoldemModel}.
+   */
+  public enum Operation {
+    CREATE_HAND("createHand"),
+    CALCULATE_SCORE("calculateScore"),
+    POSITION_DECISIONS("getPositionDecisions"),
+    POSITION_COMMENTS("getPositionBasedComments");
+
+    private final String methodName;
+
+    Operation(String methodName) {
+      this.methodName = methodName;
+    }
+
+    /**
+     * Returns the name of the measured method.
+     *
+     * @return the method name, such as "createHand".
+     */
+    public String getMethodName() {
+      return methodName;
+    }
+  }
+
+  private static final int OPERATIONS = Operation.values().length;
+
+  private static final LongAdder[] CALLS = new LongAdder[OPERATIONS];
+  private static final LongAdder[] HITS = new LongAdder[HandCombination.values().length];
+  private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[OPERATIONS];
+  private static volatile boolean enabled;
+  private static volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+  private static boolean registered;
+
+  static {
+    for (int i = 0; i < OPERATIONS; i++) {
+      CALLS[i] = new LongAdder();
+      LATENCIES[i] = new LatencyHistogram();
+    }
+    for (int i = 0; i < HITS.length; i++) {
+      HITS[i] = new LongAdder();
+    }
+    if (Boolean.getBoolean("holdem.metrics")) {
+      setEnabled(true);
+    }
+  }
+
+  private ModelMetrics() {
+  }
+
+  /**
+   * Returns whether metrics are being recorded.
+   *
+   * @return true if metrics are on.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns metrics on or off. Turning them on also registers the MBeans. Counts are kept while metrics are off.
+   *
+   * @param on true to record metrics.
+   */
+  public static void setEnabled(boolean on) {
+    if (on) {
+      registerMBeans();
+    }
+    enabled = on;
+  }
+
+  /**
+   * Returns how many calls there are per sampled call, on average.
+   *
+   * @return the sample interval.
+   */
+  public static int getSampleInterval() {
+    return sampleInterval;
+  }
+
+  /**
+   * Sets how many calls there are per sampled call, on average. A recorder uses the new interval from its next
+   * sampled call, and recorders created afterwards use it from the start.
+   *
+   * @param interval the sample interval; 1 counts and times every call.
+   * @throws IllegalArgumentException if the interval is less than 1.
+   */
+  public static void setSampleInterval(int interval) {
+    if (interval < 1) {
+      throw new IllegalArgumentException("Sample interval must be at least 1: " + interval);
+    }
+    sampleInterval = interval;
+  }
+
+  /**
+   * Creates a recorder for one model. The recorder is not thread-safe: only one thread at a time may record
+   * through it, such as the thread using the model.
+   *
+   * @return a new recorder.
+   */
+  public static Recorder newRecorder() {
+    return new Recorder();
+  }
+
+  /**
+   * Returns the estimated number of calls of an operation that returned while metrics were on.
+   *
+   * @param operation the operation.
+   * @return the call count.
+   */
+  public static long getCalls(Operation operation) {
+    return CALLS[operation.ordinal()].sum();
+  }
+
+  /**
+   * Returns the latencies of the sampled calls of an operation. The histogram is live: it keeps changing while
+   * calls are recorded.
+   *
+   * @param operation the operation.
+   * @return the latency histogram in nanoseconds.
+   */
+  public static LatencyHistogram getLatencies(Operation operation) {
+    return LATENCIES[operation.ordinal()];
+  }
+
+  /**
+   * Returns the estimated number of hands of a combination type created while metrics were on.
+   *
+   * @param combination the combination type.
+   * @return the hand count.
+   */
+  public static long getCombinationHits(HandCombination combination) {
+    return HITS[combination.ordinal()].sum();
+  }
+
+  /**
+   * Sets every counter and histogram back to zero. Calls recorded during the reset may be kept.
+   */
+  public static void reset() {
+    for (LongAdder calls : CALLS) {
+      calls.reset();
+    }
+    for (LongAdder hits : HITS) {
+      hits.reset();
+    }
+    for (LatencyHistogram latencies : LATENCIES) {
+      latencies.reset();
+    }
+  }
+
+  /**
+   * Returns every metric as text: a line per operation with its calls and latency percentiles, then the hands of
+   * each combination type.
+   *
+   * @return the report.
+   */
+  public static String dump() {
+    StringBuilder builder = new StringBuilder(String.format("Model metrics (%s, 1 in %d calls sampled)%n",
+        enabled ? "enabled" : "disabled", sampleInterval));
+    builder.append(String.format("%-26s %12s %10s %10s %10s %10s %10s%n",
+        "Operation", "Calls", "Mean ns", "p50 ns", "p99 ns", "p99.9 ns", "Max ns"));
+    for (Operation operation : Operation.values()) {
+      LatencyHistogram latencies = getLatencies(operation);
+      builder.append(String.format("%-26s %12d %10.1f %10d %10d %10d %10d%n", operation.getMethodName(),
+          getCalls(operation), latencies.getMean(), latencies.getValueAtPercentile(50),
+          latencies.getValueAtPercentile(99), latencies.getValueAtPercentile(99.9), latencies.getMax()));
+    }
+    builder.append(String.format("Hands by combination%n"));
+    for (HandCombination combination : HandCombination.values()) {
+      builder.append(String.format("  %-24s %12d%n", combination.getLabel(), getCombinationHits(combination)));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Registers the MBeans with the platform MBean server. Calling it again does nothing.
+   *
+   * @throws IllegalStateException if the MBeans cannot be registered.
+   */
+  public static synchronized void registerMBeans() {
+    if (registered) {
+      return;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.registerMBean(new MetricsBean(), new ObjectName(DOMAIN, "type", "ModelMetrics"));
+      for (Operation operation : Operation.values()) {
+        server.registerMBean(new OperationBean(operation), ObjectName.getInstance(
+            DOMAIN + ":type=ModelMetrics,operation=" + operation.getMethodName()));
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not register the model metrics MBeans", e);
+    }
+    registered = true;
+  }
+
+  /**
+   * Samples the calls of one model. An unsampled call only decrements a field of the recorder; the shared totals
+   * are touched by sampled calls alone.
+   */
+  public static final class Recorder {
+    private int countdown;
+    /** The sample interval the current gap was drawn with: the calls each sampled call stands for. */
+    private int gapWeight;
+    /** The weight of the sampled call in progress. */
+    private int sampleWeight;
+
+    private Recorder() {
+      nextGap();
+    }
+
+    /**
+     * Draws the number of calls up to and including the next sampled one. The gaps are geometric, so each call
+     * is sampled with the same probability regardless of the calls before it.
+     */
+    private void nextGap() {
+      int interval = sampleInterval;
+      gapWeight = interval;
+      if (interval == 1) {
+        countdown = 1;
+        return;
+      }
+      double gap = Math.log(1 - ThreadLocalRandom.current().nextDouble()) / Math.log(1 - 1.0 / interval);
+      countdown = 1 + (int) Math.min(gap, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Starts a call. Pass the result to {@link #stop(Operation, long)} when the call returns.
+     *
+     * @param operation the operation being called.
+     * @return the start time if the call is sampled while metrics are on, otherwise {@link #NOT_SAMPLED}.
+     */
+    public long start(Operation operation) {
+      return --countdown != 0 ? NOT_SAMPLED : sample();
+    }
+
+    /**
+     * Draws the next gap and reads the clock if metrics are on; kept out of {@link #start(Operation)} so the
+     * common path stays small enough to inline.
+     */
+    private long sample() {
+      sampleWeight = gapWeight;
+      nextGap();
+      return enabled ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Counts a sampled call that returned and records its latency.
+     *
+     * @param operation the operation that was called.
+     * @param start the value returned by {@link #start(Operation)}.
+     */
+    public void stop(Operation operation, long start) {
+      if (start != NOT_SAMPLED) {
+        LATENCIES[operation.ordinal()].record(System.nanoTime() - start);
+        CALLS[operation.ordinal()].add(sampleWeight);
+      }
+    }
+
+    /**
+     * Counts a hand created by a sampled {@code createHand} call under its combination type.
+     *
+     * @param start the value returned by {@link #start(Operation)} for the call.
+     * @param card1 the index of the first card, from 0 to 51.
+     * @param card2 the index of the second card, from 0 to 51.
+     */
+    public void recordHand(long start, int card1, int card2) {
+      if (start == NOT_SAMPLED) {
+        return;
+      }
+      int handClass = StartingHandTable.classOf(card1, card2);
+      if (handClass >= 0) {
+        HITS[StartingHandTable.getCombinationOrdinal(handClass)].add(sampleWeight);
+      }
+    }
+  }
+
+  /**
+   * The switch, sample interval, combination counts and dump over JMX.
+   */
+  private static final class MetricsBean implements ModelMetricsMXBean {
+    @Override
+    public boolean isEnabled() {
+      return ModelMetrics.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean on) {
+      ModelMetrics.setEnabled(on);
+    }
+
+    @Override
+    public int getSampleInterval() {
+      return ModelMetrics.getSampleInterval();
+    }
+
+    @Override
+    public void setSampleInterval(int interval) {
+      ModelMetrics.setSampleInterval(interval);
+    }
+
+    @Override
+    public Map<String, Long> getCombinationHits() {
+      Map<String, Long> hits = new LinkedHashMap<>();
+      for (HandCombination combination : HandCombination.values()) {
+        hits.put(combination.getLabel(), ModelMetrics.getCombinationHits(combination));
+      }
+      return hits;
+    }
+
+    @Override
+    public String dump() {
+      return ModelMetrics.dump();
+    }
+
+    @Override
+    public void reset() {
+      ModelMetrics.reset();
+    }
+  }
+
+  /**
+   * The calls and latencies of one operation over JMX.
+   */
+  private static final class OperationBean implements OperationMetricsMXBean {
+    private final Operation operation;
+
+    OperationBean(Operation operation) {
+      this.operation = operation;
+    }
+
+    @Override
+    public long getCalls() {
+      return ModelMetrics.getCalls(operation);
+    }
+
+    @Override
+    public long getSampledCalls() {
+      return getLatencies(operation).getCount();
+    }
+
+    @Override
+    public double getMeanNanos() {
+      return getLatencies(operation).getMean();
+    }
+
+    @Override
+    public long getP50Nanos() {
+      return getLatencies(operation).getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+      return getLatencies(operation).getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+      return getLatencies(operation).getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getMaxNanos() {
+      return getLatencies(operation).getMax();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+import java.util.Map;
+
+/**
+ * JMX view of {@code ModelMetrics}, registered as {@code holdem:type=ModelMetrics}.
+ */
+public interface ModelMetricsMXBean {
+  /**
+   * Returns whether the Model layer is being measured.
+   *
+   * @return true if metrics are recorded.
+   */
+  boolean isEnabled();
+
+  /**
+   * Turns measuring on or off.
+   *
+   * @param enabled true to record metrics.
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * Returns how many calls there are per sampled call.
+   *
+   * @return the sample interval.
+   */
+  int getSampleInterval();
+
+  /**
+   * Sets how many calls there are per sampled call; 1 counts every call exactly.
+   *
+   * @param interval the sample interval.
+   */
+  void setSampleInterval(int interval);
+
+  /**
+   * Returns the estimated number of hands of each combination type that have been created.
+   *
+   * @return the hand count keyed by combination label.
+   */
+  Map<String, Long> getCombinationHits();
+
+  /**
+   * Returns every metric as text.
+   *
+   * @return the report of {@code ModelMetrics.dump()}.
+   */
+  String dump();
+
+  /**
+   * Sets every counter and histogram back to zero.
+   */
+  void reset();
+}
@@ -0,0 +1,55 @@
+/**
+ * JMX view of the metrics of one measured Model operation, registered as
+ * {@code holdem:type=ModelMetrics,operation=<name>}. Latencies are in nanoseconds and come from the sampled
+ * calls.
+ */
+public interface OperationMetricsMXBean {
+  /**
+   * Returns the estimated number of calls, see {@code ModelMetrics}.
+   *
+   * @return the call count.
+   */
+  long getCalls();
+
+  /**
+   * Returns the number of sampled calls, whose latency was recorded.
+   *
+   * @return the sampled call count.
+   */
+  long getSampledCalls();
+
+  /**
+   * Returns the mean latency.
+   *
+   * @return the mean in nanoseconds.
+   */
+  double getMeanNanos();
+
+  /**
+   * Returns the median latency.
+   *
+   * @return the 50th percentile in nanoseconds.
+   */
+  long getP50Nanos();
+
+  /**
+   * Returns the 99th percentile latency.
+   *
+   * @return the 99th percentile in nanoseconds.
+   */
+  long getP99Nanos();
+
+  /**
+   * Returns the 99.9th percentile latency.
+   *
+   * @return the 99.9th percentile in nanoseconds.
+   */
+  long getP999Nanos();
+
+  /**
+   * Returns the largest latency.
+   *
+   * @return the maximum in nanoseconds.
+   */
+  long getMaxNanos();
+}
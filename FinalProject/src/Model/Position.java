@@ -0,0 +1,76 @@
+/**
+ * A seat position at the table. The label is the key used by the string-keyed decision and comment maps shown in
+ * the view; it states the score needed to bet from the position, which comes from the active
+ * {@code StrategyProfile}.
+ */
+public enum Position {
+  EARLY("Early Position"),
+  MIDDLE("Middle Position"),
+  LATE("Late Position");
+
+  private static final Position[] VALUES = values();
+
+  private final String name;
+
+  Position(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns the name of the position, without a threshold.
+   *
+   * @return the name, such as "Early Position".
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the display label of the position under the active strategy profile.
+   *
+   * @return the label, such as "Early Position(Bet > 20)".
+   */
+  public String getLabel() {
+    return StartingHandTable.getStrategyProfile().getLabel(this);
+  }
+
+  /**
+   * Returns the display label of the position for a betting threshold.
+   *
+   * @param threshold the score a hand must exceed to bet from this position.
+   * @return the label, such as "Early Position(Bet > 20)".
+   */
+  public String getLabel(int threshold) {
+    return name + "(Bet > " + threshold + ")";
+  }
+
+  /**
+   * Returns the position with the given ordinal without allocating.
+   *
+   * @param ordinal the ordinal of the position.
+   * @return the position.
+   */
+  public static Position ofOrdinal(int ordinal) {
+    return VALUES[ordinal];
+  }
+
+  /**
+   * Finds the position with the given display label. Labels built for any threshold are recognized, so maps
+   * built under an earlier strategy profile can still be read.
+   *
+   * @param label the label, such as "Early Position(Bet > 20)", or the bare name.
+   * @return the position, or null if no position has that label.
+   */
+  public static Position fromLabel(String label) {
+    if (label == null) {
+      return null;
+    }
+    for (Position position : VALUES) {
+      if (label.equals(position.name)
+          || (label.startsWith(position.name + "(Bet > ") && label.endsWith(")"))) {
+        return position;
+      }
+    }
+    return null;
+  }
+}
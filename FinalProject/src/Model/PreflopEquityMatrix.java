@@ -0,0 +1,104 @@
+import java.nio.FloatBuffer;
+
+/**
+ * Exact heads-up preflop equity between every pair of the 169 starting hand classes. Entry
+ * {@code (hero, villain)} is the hero class's average equity over every combination of a hero hand and a
+ * villain hand that do not share a card. Once computed, the matrix is served from memory, either from the
+ * heap or from a memory-mapped {@code EquityMatrixFile}.
+ */
+public final class PreflopEquityMatrix {
+  /**
+   * Number of rows and columns of the matrix.
+   */
+  public static final int SIZE = StartingHandTable.CLASS_COUNT;
+
+  private final FloatBuffer equities;
+
+  /**
+   * Constructs a matrix from its entries in row-major order. The array is not copied.
+   *
+   * @param equities the hero equities, {@code hero * 169 + villain}.
+   */
+  PreflopEquityMatrix(float[] equities) {
+    this(FloatBuffer.wrap(equities));
+  }
+
+  /**
+   * Constructs a matrix over a buffer of entries in row-major order, for example a view of a mapped file.
+   * The buffer is not copied and must not be modified afterwards.
+   *
+   * @param equities the hero equities, {@code hero * 169 + villain}, starting at position 0.
+   */
+  PreflopEquityMatrix(FloatBuffer equities) {
+    if (equities.capacity() != SIZE * SIZE) {
+      throw new IllegalArgumentException("A preflop equity matrix has " + SIZE * SIZE + " entries.");
+    }
+    this.equities = equities;
+  }
+
+  /**
+   * Computes the full matrix by exact enumeration. Each class pair is computed once and its mirror entry is
+   * derived from it; the calculator's cache ensures each canonical matchup is enumerated only once. This takes
+   * a long time and is meant to be run once.
+   *
+   * @param calculator the calculator that enumerates the matchups.
+   * @return the computed matrix.
+   */
+  public static PreflopEquityMatrix compute(EquityCalculator calculator) {
+    float[] equities = new float[SIZE * SIZE];
+    for (int hero = 0; hero < SIZE; hero++) {
+      for (int villain = hero; villain < SIZE; villain++) {
+        double equity = classEquity(calculator, hero, villain);
+        equities[hero * SIZE + villain] = (float) equity;
+        equities[villain * SIZE + hero] = (float) (1 - equity);
+      }
+    }
+    return new PreflopEquityMatrix(equities);
+  }
+
+  /**
+   * Computes the exact equity of one class against another, averaged over every pair of hands from the two
+   * classes that do not share a card.
+   *
+   * @param calculator the calculator that enumerates the matchups.
+   * @param heroClass the class of the first player.
+   * @param villainClass the class of the second player.
+   * @return the first player's equity.
+   */
+  public static double classEquity(EquityCalculator calculator, int heroClass, int villainClass) {
+    double total = 0;
+    int matchups = 0;
+    for (int[] hero : StartingHandTable.getHands(heroClass)) {
+      for (int[] villain : StartingHandTable.getHands(villainClass)) {
+        if (hero[0] == villain[0] || hero[0] == villain[1] || hero[1] == villain[0] || hero[1] == villain[1]) {
+          continue;
+        }
+        total += calculator.enumerate(hero, villain).getEquity(0);
+        matchups++;
+      }
+    }
+    return total / matchups;
+  }
+
+  /**
+   * Returns the equity of one class against another.
+   *
+   * @param heroClass the class of the first player.
+   * @param villainClass the class of the second player.
+   * @return the first player's equity, between 0 and 1.
+   */
+  public float getEquity(int heroClass, int villainClass) {
+    return equities.get(heroClass * SIZE + villainClass);
+  }
+
+  /**
+   * Returns a copy of the entries in row-major order.
+   *
+   * @return the hero equities, {@code hero * 169 + villain}.
+   */
+  public float[] toArray() {
+    float[] copy = new float[SIZE * SIZE];
+    equities.duplicate().position(0).get(copy);
+    return copy;
+  }
+}
@@ -0,0 +1,342 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the equity of one {@code HandRange} against another, taking card removal into account: a
+ * combination is only matched against the opposing combinations (and boards) that share no card with it.
+ *
+ * <p>{@link #enumerate(HandRange, HandRange)} gives the exact preflop equity: the average of the exact equity
+ * of every compatible pair of combinations. Pair results come from the cache of the underlying
+ * {@code EquityCalculator}, keyed by canonical matchup, so a whole range needs one enumeration per distinct
+ * matchup up to suits, and later ranges that share matchups are answered from memory.
+ * {@link #simulate(HandRange, HandRange, int[], int, double, long)} estimates the equity on any board by
+ * drawing a random compatible pair of combinations and a random run-out for every trial.</p>
+ *
+ * <p>A cold enumeration of two wide ranges takes seconds, one canonical matchup after another.
+ * {@link #calculate(HandRange, HandRange)} bounds that: it enumerates the matchups missing from the cache until
+ * a time budget runs out, and answers exactly if it got through them all, or otherwise by simulation with a
+ * bounded number of trials and a confidence interval. The matchups it enumerated stay cached, so asking again
+ * gets closer to the exact answer and soon reaches it.</p>
+ *
+ * <p>Both methods split their work recursively across the fork-join pool of the {@code EquityCalculator}.</p>
+ */
+public final class RangeEquityCalculator {
+  private static final int BOARD_SIZE = 5;
+  private static final int TRIALS_PER_TASK = 1 << 14;
+  private static final int COMBINATIONS_PER_TASK = 4;
+
+  /**
+   * Time {@link #calculate(HandRange, HandRange)} spends enumerating matchups that are not cached yet.
+   */
+  public static final long DEFAULT_ENUMERATION_BUDGET_MILLIS = 250;
+
+  /**
+   * Trials {@link #calculate(HandRange, HandRange)} simulates when the enumeration does not finish in time.
+   */
+  public static final int DEFAULT_TRIALS = 500_000;
+
+  private final EquityCalculator calculator;
+
+  /**
+   * Constructs a range calculator with its own {@code EquityCalculator} on the common fork-join pool.
+   */
+  public RangeEquityCalculator() {
+    this(new EquityCalculator());
+  }
+
+  /**
+   * Constructs a range calculator that shares the pool and the exact equity cache of a calculator.
+   *
+   * @param calculator the calculator used for combination-vs-combination results.
+   */
+  public RangeEquityCalculator(EquityCalculator calculator) {
+    this.calculator = calculator;
+  }
+
+  /**
+   * Computes the exact preflop equity of one range against another.
+   *
+   * @param hero the first player's range.
+   * @param villain the second player's range.
+   * @return the exact equity of both players; the trial count is the number of compatible combination pairs.
+   * @throws IllegalArgumentException if no combination of one range is compatible with one of the other.
+   */
+  public EquityResult enumerate(HandRange hero, HandRange villain) {
+    int[] heroCombinations = hero.combinations();
+    int[] villainCombinations = villain.combinations();
+    double[] sums = calculator.getPool().invoke(
+        new ExactTask(heroCombinations, villainCombinations, 0, heroCombinations.length));
+    if (sums[1] == 0) {
+      throw new IllegalArgumentException("The ranges have no compatible combinations.");
+    }
+    double equity = sums[0] / sums[1];
+    return new EquityResult(new double[] {equity, 1 - equity}, new double[2], (long) sums[1], 1.0);
+  }
+
+  /**
+   * Computes the preflop equity of one range against another within the default time budget: exactly when the
+   * matchups missing from the cache can be enumerated in {@value #DEFAULT_ENUMERATION_BUDGET_MILLIS} ms,
+   * otherwise by simulating {@value #DEFAULT_TRIALS} trials.
+   *
+   * @param hero the first player's range.
+   * @param villain the second player's range.
+   * @return the equity of both players; exact results have a confidence of 1 and no margin of error.
+   * @throws IllegalArgumentException if no combination of one range is compatible with one of the other.
+   */
+  public EquityResult calculate(HandRange hero, HandRange villain) {
+    return calculate(hero, villain, DEFAULT_ENUMERATION_BUDGET_MILLIS, DEFAULT_TRIALS,
+        new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Computes the preflop equity of one range against another, spending at most about the given time on
+   * enumeration. The matchups missing from the cache are enumerated, and cached, one at a time until the budget
+   * runs out; if any are left, the equity is estimated by simulation instead, at the default confidence level.
+   *
+   * @param hero the first player's range.
+   * @param villain the second player's range.
+   * @param enumerationBudgetMillis the time after which no new matchup is enumerated; 0 only uses the cache.
+   * @param trials the number of trials to simulate if the enumeration does not finish.
+   * @param seed the seed of the simulation.
+   * @return the equity of both players; exact results have a confidence of 1 and no margin of error.
+   * @throws IllegalArgumentException if the budget is negative, the trial count is not positive, or no
+   *     combination of one range is compatible with one of the other.
+   */
+  public EquityResult calculate(HandRange hero, HandRange villain, long enumerationBudgetMillis, int trials,
+      long seed) {
+    if (enumerationBudgetMillis < 0) {
+      throw new IllegalArgumentException("Enumeration budget cannot be negative: " + enumerationBudgetMillis);
+    }
+    if (trials <= 0) {
+      throw new IllegalArgumentException("Trial count must be positive: " + trials);
+    }
+    long deadline = System.nanoTime() + enumerationBudgetMillis * 1_000_000;
+    int[] heroHand = new int[2];
+    int[] villainHand = new int[2];
+    for (int heroCombination : hero.combinations()) {
+      heroHand[0] = HandRange.firstCard(heroCombination);
+      heroHand[1] = HandRange.secondCard(heroCombination);
+      for (int villainCombination : villain.combinations()) {
+        if ((HandRange.cardMask(heroCombination) & HandRange.cardMask(villainCombination)) != 0) {
+          continue;
+        }
+        villainHand[0] = HandRange.firstCard(villainCombination);
+        villainHand[1] = HandRange.secondCard(villainCombination);
+        if (!calculator.isExactEquityCached(heroHand, villainHand)) {
+          if (System.nanoTime() - deadline >= 0) {
+            return simulate(hero, villain, new int[0], trials, EquityCalculator.DEFAULT_CONFIDENCE, seed);
+          }
+          calculator.exactEquity(heroHand, villainHand);
+        }
+      }
+    }
+    return enumerate(hero, villain);
+  }
+
+  /**
+   * Estimates the equity of one range against another with a random seed and the default confidence level.
+   *
+   * @param hero the first player's range.
+   * @param villain the second player's range.
+   * @param board the card indexes already on the board, from none to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @return the estimated equity of both players.
+   * @throws IllegalArgumentException if the board or the trial count is invalid, or the ranges have no
+   *     compatible combinations.
+   */
+  public EquityResult simulate(HandRange hero, HandRange villain, int[] board, int trials) {
+    return simulate(hero, villain, board, trials, EquityCalculator.DEFAULT_CONFIDENCE,
+        new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Estimates the equity of one range against another on a board.
+   *
+   * @param hero the first player's range.
+   * @param villain the second player's range.
+   * @param board the card indexes already on the board, from none to five cards.
+   * @param trials the number of run-outs to simulate.
+   * @param confidence the confidence level of the reported intervals, for example 0.95.
+   * @param seed the seed of the random number generator; the same seed gives the same result.
+   * @return the estimated equity of both players.
+   * @throws IllegalArgumentException if the board, the trial count or the confidence level is invalid, or the
+   *     ranges have no compatible combinations.
+   */
+  public EquityResult simulate(HandRange hero, HandRange villain, int[] board, int trials, double confidence,
+      long seed) {
+    if (trials <= 0) {
+      throw new IllegalArgumentException("Trial count must be positive: " + trials);
+    }
+    if (!(confidence > 0 && confidence < 1)) {
+      throw new IllegalArgumentException("Confidence must be between 0 and 1: " + confidence);
+    }
+    if (board.length > BOARD_SIZE) {
+      throw new IllegalArgumentException("The board holds at most five cards.");
+    }
+    long boardMask = 0;
+    long boardBits = 0;
+    for (int card : board) {
+      if (card < 0 || card >= CardF.DECK_SIZE) {
+        throw new IllegalArgumentException("Invalid card index: " + card);
+      }
+      if ((boardMask & (1L << card)) != 0) {
+        throw new IllegalArgumentException("Duplicate card: " + CardF.of(card));
+      }
+      boardMask |= 1L << card;
+      boardBits |= SevenCardHandEvaluator.cardBits(card);
+    }
+    int[] heroCombinations = hero.without(boardMask).combinations();
+    int[] villainCombinations = villain.without(boardMask).combinations();
+    if (!hasCompatiblePair(heroCombinations, villainCombinations)) {
+      throw new IllegalArgumentException("The ranges have no compatible combinations.");
+    }
+
+    double[] sums = calculator.getPool().invoke(new SimulationTask(heroCombinations, villainCombinations,
+        boardMask, boardBits, BOARD_SIZE - board.length, trials, new SplittableRandom(seed)));
+    double mean = sums[0] / trials;
+    double variance = Math.max(0, sums[1] / trials - mean * mean);
+    double margin = EquityCalculator.inverseNormal(0.5 + confidence / 2) * Math.sqrt(variance / trials);
+    return new EquityResult(new double[] {mean, 1 - mean}, new double[] {margin, margin}, trials, confidence);
+  }
+
+  private static boolean hasCompatiblePair(int[] heroCombinations, int[] villainCombinations) {
+    for (int hero : heroCombinations) {
+      for (int villain : villainCombinations) {
+        if ((HandRange.cardMask(hero) & HandRange.cardMask(villain)) == 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sums the exact equity of the first player's combinations {@code from} to {@code to} against every
+   * compatible combination of the second player. Returns the equity sum and the number of pairs.
+   */
+  private final class ExactTask extends RecursiveTask<double[]> {
+    private final int[] heroCombinations;
+    private final int[] villainCombinations;
+    private final int from;
+    private final int to;
+
+    ExactTask(int[] heroCombinations, int[] villainCombinations, int from, int to) {
+      this.heroCombinations = heroCombinations;
+      this.villainCombinations = villainCombinations;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected double[] compute() {
+      if (to - from <= COMBINATIONS_PER_TASK) {
+        double[] sums = new double[2];
+        int[] heroHand = new int[2];
+        int[] villainHand = new int[2];
+        for (int i = from; i < to; i++) {
+          int hero = heroCombinations[i];
+          heroHand[0] = HandRange.firstCard(hero);
+          heroHand[1] = HandRange.secondCard(hero);
+          for (int villain : villainCombinations) {
+            if ((HandRange.cardMask(hero) & HandRange.cardMask(villain)) != 0) {
+              continue;
+            }
+            villainHand[0] = HandRange.firstCard(villain);
+            villainHand[1] = HandRange.secondCard(villain);
+            sums[0] += calculator.exactEquity(heroHand, villainHand);
+            sums[1]++;
+          }
+        }
+        return sums;
+      }
+      int middle = (from + to) >>> 1;
+      ExactTask left = new ExactTask(heroCombinations, villainCombinations, from, middle);
+      left.fork();
+      double[] sums = new ExactTask(heroCombinations, villainCombinations, middle, to).compute();
+      double[] leftSums = left.join();
+      sums[0] += leftSums[0];
+      sums[1] += leftSums[1];
+      return sums;
+    }
+  }
+
+  /**
+   * Simulates a range of trials, splitting it in half until it is small enough to run directly. Returns the
+   * first player's sum of pot shares and sum of squared pot shares.
+   */
+  private static final class SimulationTask extends RecursiveTask<double[]> {
+    private final int[] heroCombinations;
+    private final int[] villainCombinations;
+    private final long boardMask;
+    private final long boardBits;
+    private final int cardsToDeal;
+    private final int trials;
+    private final SplittableRandom random;
+
+    SimulationTask(int[] heroCombinations, int[] villainCombinations, long boardMask, long boardBits,
+        int cardsToDeal, int trials, SplittableRandom random) {
+      this.heroCombinations = heroCombinations;
+      this.villainCombinations = villainCombinations;
+      this.boardMask = boardMask;
+      this.boardBits = boardBits;
+      this.cardsToDeal = cardsToDeal;
+      this.trials = trials;
+      this.random = random;
+    }
+
+    @Override
+    protected double[] compute() {
+      if (trials <= TRIALS_PER_TASK) {
+        return simulateDirectly();
+      }
+      int half = trials / 2;
+      SimulationTask left = new SimulationTask(heroCombinations, villainCombinations, boardMask, boardBits,
+          cardsToDeal, half, random.split());
+      SimulationTask right = new SimulationTask(heroCombinations, villainCombinations, boardMask, boardBits,
+          cardsToDeal, trials - half, random);
+      left.fork();
+      double[] sums = right.compute();
+      double[] leftSums = left.join();
+      sums[0] += leftSums[0];
+      sums[1] += leftSums[1];
+      return sums;
+    }
+
+    private double[] simulateDirectly() {
+      Deck deck = new Deck(random, boardMask);
+      double[] sums = new double[2];
+      for (int trial = 0; trial < trials; trial++) {
+        // Rejection sampling keeps every compatible pair of combinations equally likely
+        int hero;
+        int villain;
+        do {
+          hero = heroCombinations[random.nextInt(heroCombinations.length)];
+          villain = villainCombinations[random.nextInt(villainCombinations.length)];
+        } while ((HandRange.cardMask(hero) & HandRange.cardMask(villain)) != 0);
+        long holeCards = HandRange.cardMask(hero) | HandRange.cardMask(villain);
+
+        // Skipping the hole cards while dealing leaves every run-out of the remaining cards equally likely
+        long board = boardBits;
+        deck.reset();
+        for (int dealt = 0; dealt < cardsToDeal; ) {
+          int card = deck.deal();
+          if ((holeCards & (1L << card)) == 0) {
+            board |= SevenCardHandEvaluator.cardBits(card);
+            dealt++;
+          }
+        }
+
+        int heroRank = SevenCardHandEvaluator.evaluateBits(board
+            | SevenCardHandEvaluator.cardBits(HandRange.firstCard(hero))
+            | SevenCardHandEvaluator.cardBits(HandRange.secondCard(hero)), 7);
+        int villainRank = SevenCardHandEvaluator.evaluateBits(board
+            | SevenCardHandEvaluator.cardBits(HandRange.firstCard(villain))
+            | SevenCardHandEvaluator.cardBits(HandRange.secondCard(villain)), 7);
+        double share = heroRank > villainRank ? 1 : heroRank == villainRank ? 0.5 : 0;
+        sums[0] += share;
+        sums[1] += share * share;
+      }
+      return sums;
+    }
+  }
+}
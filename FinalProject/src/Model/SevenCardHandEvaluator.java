@@ -0,0 +1,543 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks the best five-card poker hand out of five to seven cards, for example two hole cards plus the board
+ * at showdown. Extends {@code AbstractHandEvaluator} so it can be used wherever the preflop evaluator is used.
+ *
+ * <p>Each card has a key: a number for its rank, chosen so that the sums of up to seven of them never collide,
+ * plus one in a 4-bit count of its suit. Ranking a hand adds the keys of its cards; unless a suit count reaches
+ * five, the sum of the rank numbers is looked up in a table holding the rank of every combination of five to
+ * seven ranks, so the common case has no branches to mispredict. A hand with a flush is instead folded into four
+ * 13-bit rank masks, one per suit, and ranked from its flush suit with two 8,192-entry lookup tables (straight
+ * detection and top-five ranks); the same masks also rank any hand with a few bit operations, which is how the
+ * table is filled. The resulting rank is a single int where a larger value always means a stronger hand: the
+ * category ("Flush", "Full House", ...) sits above bit 20 and the ranks that break ties are packed as 4-bit
+ * nibbles below it.</p>
+ *
+ * <p>Position decisions and comments are about the starting hand, so they are delegated to a
+ * {@code TexasHoldemHandEvaluator} over the first two cards (the hole cards).</p>
+ */
+public class SevenCardHandEvaluator extends AbstractHandEvaluator {
+  public static final int HIGH_CARD = 0;
+  public static final int ONE_PAIR = 1;
+  public static final int TWO_PAIR = 2;
+  public static final int THREE_OF_A_KIND = 3;
+  public static final int STRAIGHT = 4;
+  public static final int FLUSH = 5;
+  public static final int FULL_HOUSE = 6;
+  public static final int FOUR_OF_A_KIND = 7;
+  public static final int STRAIGHT_FLUSH = 8;
+
+  private static final String[] CATEGORY_NAMES = {"High Card", "One Pair", "Two Pair", "Three of a Kind",
+      "Straight", "Flush", "Full House", "Four of a Kind", "Straight Flush"};
+
+  private static final int CATEGORY_SHIFT = 20;
+  private static final int RANK_MASKS = 1 << 13;
+  private static final int WHEEL = 0x100F;  // A, 5, 4, 3, 2
+
+  /**
+   * For every rank mask, the rank of the highest card of the best straight plus one, or 0 if there is none.
+   */
+  private static final byte[] STRAIGHT_HIGH = new byte[RANK_MASKS];
+
+  /**
+   * For every rank mask, the ranks of its (up to) five highest cards packed as nibbles, highest first at bit 16.
+   */
+  private static final int[] TOP_FIVE = new int[RANK_MASKS];
+
+  /**
+   * For every card index, the card's rank bit placed in the 16-bit lane of its suit.
+   */
+  private static final long[] CARD_BITS = new long[CardF.DECK_SIZE];
+
+  /**
+   * The number of each rank in a hand key. Summed over up to seven ranks they stay below 2^25 and never collide.
+   */
+  private static final int[] RANK_KEYS = {0x2000, 0x8001, 0x11000, 0x3a000, 0x91000, 0x176005, 0x366000,
+      0x41a013, 0x47802e, 0x479068, 0x48c0e4, 0x48f211, 0x494493};
+
+  /**
+   * For every card index, its rank's number in the low 32 bits, plus one in the 4-bit lane of its suit above them
+   * and one in the card count from bit 48.
+   */
+  private static final long[] CARD_KEYS = new long[CardF.DECK_SIZE];
+
+  /**
+   * The lowest bit of the card count in a hand key.
+   */
+  static final int KEY_COUNT_SHIFT = 48;
+
+  /**
+   * Added to the suit counts of a hand key, this sets bit 3 of every lane holding five or more cards.
+   */
+  private static final int FLUSH_CARRY = 0x3333;
+  private static final int FLUSH_BITS = 0x8888;
+
+  static {
+    for (int mask = 0; mask < RANK_MASKS; mask++) {
+      for (int high = 12; high >= 4; high--) {
+        int run = 0x1F << (high - 4);
+        if ((mask & run) == run) {
+          STRAIGHT_HIGH[mask] = (byte) (high + 1);
+          break;
+        }
+      }
+      if (STRAIGHT_HIGH[mask] == 0 && (mask & WHEEL) == WHEEL) {
+        STRAIGHT_HIGH[mask] = 4;  // five-high
+      }
+
+      int packed = 0;
+      int shift = 16;
+      for (int rank = 12; rank >= 0 && shift >= 0; rank--) {
+        if ((mask & (1 << rank)) != 0) {
+          packed |= rank << shift;
+          shift -= 4;
+        }
+      }
+      TOP_FIVE[mask] = packed;
+    }
+    for (int card = 0; card < CardF.DECK_SIZE; card++) {
+      CARD_BITS[card] = 1L << (CardF.suitOf(card) * 16 + CardF.rankOf(card));
+      CARD_KEYS[card] = RANK_KEYS[CardF.rankOf(card)] | 1L << (32 + CardF.suitOf(card) * 4) | 1L << KEY_COUNT_SHIFT;
+    }
+  }
+
+  private final TexasHoldemHandEvaluator preflop;
+
+  /**
+   * Initializes a new evaluator with a list of cards. The first two cards are the hole cards.
+   *
+   * @param cards the list of cards to evaluate; five to seven distinct cards are needed to rank a hand.
+   */
+  public SevenCardHandEvaluator(List<CardF> cards) {
+    super(cards);
+    this.preflop = new TexasHoldemHandEvaluator(cards.size() > 2 ? cards.subList(0, 2) : cards);
+  }
+
+  /**
+   * Ranks the best five-card hand that can be made from five to seven card indexes. The cards are checked: their
+   * bits are ORed while their keys are summed, and a repeated card leaves fewer bits than cards.
+   *
+   * @param cards the card indexes, from 0 to 51.
+   * @param count the number of cards to read from the array, between 5 and 7.
+   * @return the hand rank; larger values are stronger hands.
+   * @throws IllegalArgumentException if {@code count} is not between 5 and 7 or a card is repeated.
+   */
+  public static int evaluate(int[] cards, int count) {
+    if (count < 5 || count > 7) {
+      throw new IllegalArgumentException("Five to seven cards are needed to rank a hand.");
+    }
+    long key = 0;
+    long bits = 0;
+    for (int i = 0; i < count; i++) {
+      key += CARD_KEYS[cards[i]];
+      bits |= CARD_BITS[cards[i]];
+    }
+    if (Long.bitCount(bits) != count) {
+      throw new IllegalArgumentException("Duplicate card in hand.");
+    }
+    if (hasFlush(key)) {
+      return evaluateBits(bits, count);
+    }
+    return RankStates.handRank((int) key);
+  }
+
+  /**
+   * Ranks the best five-card hand out of exactly seven card indexes. This is the hot path of the simulations, so
+   * the cards are not checked: they must be seven distinct indexes from 0 to 51, which is asserted when assertions
+   * are enabled. Repeated cards give a meaningless rank.
+   *
+   * @return the hand rank; larger values are stronger hands.
+   */
+  public static int evaluate(int c0, int c1, int c2, int c3, int c4, int c5, int c6) {
+    assert Long.bitCount(CARD_BITS[c0] | CARD_BITS[c1] | CARD_BITS[c2] | CARD_BITS[c3] | CARD_BITS[c4]
+        | CARD_BITS[c5] | CARD_BITS[c6]) == 7 : "Duplicate card in hand.";
+    long key = CARD_KEYS[c0] + CARD_KEYS[c1] + CARD_KEYS[c2] + CARD_KEYS[c3] + CARD_KEYS[c4] + CARD_KEYS[c5]
+        + CARD_KEYS[c6];
+    if (hasFlush(key)) {
+      return evaluateBits(CARD_BITS[c0] | CARD_BITS[c1] | CARD_BITS[c2] | CARD_BITS[c3]
+          | CARD_BITS[c4] | CARD_BITS[c5] | CARD_BITS[c6], 7);
+    }
+    return RankStates.handRank((int) key);
+  }
+
+  /**
+   * Returns the bit a card contributes to a packed hand, for callers that build hands incrementally.
+   *
+   * @param card the card index, from 0 to 51.
+   * @return the card's rank bit in the 16-bit lane of its suit.
+   */
+  static long cardBits(int card) {
+    return CARD_BITS[card];
+  }
+
+  /**
+   * Returns the key a card adds to a hand key, for callers that build hands incrementally.
+   *
+   * @param card the card index, from 0 to 51.
+   * @return the number of the card's rank, plus one in the 4-bit count of its suit above bit 32 and one in the
+   *     card count from bit 48.
+   */
+  static long cardKey(int card) {
+    return CARD_KEYS[card];
+  }
+
+  /**
+   * Ranks a hand given both as the sum of its card keys and as its packed rank masks, for callers that build
+   * hands incrementally. The masks are only read when a suit holds five cards.
+   *
+   * @param key the sum of the {@link #cardKey(int)} of five to seven distinct cards.
+   * @param bits the packed rank masks of the same cards.
+   * @return the hand rank; larger values are stronger hands.
+   */
+  static int evaluateKey(long key, long bits) {
+    if (hasFlush(key)) {
+      return evaluateBits(bits, keyCount(key));
+    }
+    return RankStates.handRank((int) key);
+  }
+
+  /**
+   * Returns the number of cards summed into a hand key.
+   *
+   * @param key the sum of the {@link #cardKey(int)} of the cards.
+   * @return the card count.
+   */
+  static int keyCount(long key) {
+    return (int) (key >>> KEY_COUNT_SHIFT);
+  }
+
+  private static boolean hasFlush(long key) {
+    return (((int) (key >>> 32) + FLUSH_CARRY) & FLUSH_BITS) != 0;
+  }
+
+  /**
+   * Returns the best straight in a rank mask, for callers that look for straight draws.
+   *
+   * @param ranks a 13-bit rank mask.
+   * @return the rank of the highest card of the best straight plus one, or 0 if there is none.
+   */
+  static int straightHigh(int ranks) {
+    return STRAIGHT_HIGH[ranks];
+  }
+
+  /**
+   * Ranks a hand given as four 13-bit rank masks packed into the 16-bit lanes of a long.
+   *
+   * @param bits the packed rank masks, Spades in the lowest lane.
+   * @param count the number of distinct cards in the hand, between 5 and 7.
+   * @return the hand rank; larger values are stronger hands.
+   */
+  static int evaluateBits(long bits, int count) {
+    int s = (int) bits & 0x1FFF;
+    int h = (int) (bits >>> 16) & 0x1FFF;
+    int c = (int) (bits >>> 32) & 0x1FFF;
+    int d = (int) (bits >>> 48) & 0x1FFF;
+    int ranks = s | h | c | d;
+    int duplicates = count - Integer.bitCount(ranks);
+
+    // With at most seven cards, a flush or straight leaves too few cards for a full house or quads
+    int flushMask = Integer.bitCount(s) >= 5 ? s
+        : Integer.bitCount(h) >= 5 ? h
+        : Integer.bitCount(c) >= 5 ? c
+        : Integer.bitCount(d) >= 5 ? d : 0;
+    if (flushMask != 0) {
+      return flushRank(flushMask);
+    }
+    int straight = STRAIGHT_HIGH[ranks];
+    if (straight != 0) {
+      return (STRAIGHT << CATEGORY_SHIFT) | (straight - 1);
+    }
+
+    // Ranks held an even number of times (pairs), and ranks held at least three times
+    int twoMask = ranks ^ (s ^ h ^ c ^ d);
+    switch (duplicates) {
+      case 0:
+        return (HIGH_CARD << CATEGORY_SHIFT) | TOP_FIVE[ranks];
+      case 1:
+        return (ONE_PAIR << CATEGORY_SHIFT) | (highRank(twoMask) << 12) | (TOP_FIVE[ranks ^ twoMask] >> 8);
+      case 2:
+        if (twoMask != 0) {
+          return (TWO_PAIR << CATEGORY_SHIFT) | (TOP_FIVE[twoMask] >> 8)
+              | (TOP_FIVE[ranks ^ twoMask] >> 16);
+        }
+        int tripsOnly = ((s & h) | (c & d)) & ((s & c) | (h & d));
+        return (THREE_OF_A_KIND << CATEGORY_SHIFT) | (highRank(tripsOnly) << 8)
+            | (TOP_FIVE[ranks ^ tripsOnly] >> 12);
+      default:
+        int fourMask = s & h & c & d;
+        if (fourMask != 0) {
+          return (FOUR_OF_A_KIND << CATEGORY_SHIFT) | (highRank(fourMask) << 4)
+              | (TOP_FIVE[ranks ^ fourMask] >> 16);
+        }
+        if (Integer.bitCount(twoMask) != duplicates) {
+          int threeMask = ((s & h) | (c & d)) & ((s & c) | (h & d));
+          int tripRank = highRank(threeMask);
+          int pairRank = highRank((twoMask | threeMask) ^ (1 << tripRank));
+          return (FULL_HOUSE << CATEGORY_SHIFT) | (tripRank << 4) | pairRank;
+        }
+        // Three pairs: the third pair can only be a kicker
+        int topPairs = twoMask ^ (1 << lowRank(twoMask));
+        return (TWO_PAIR << CATEGORY_SHIFT) | (TOP_FIVE[topPairs] >> 8) | (TOP_FIVE[ranks ^ topPairs] >> 16);
+    }
+  }
+
+  /**
+   * Ranks a flush. With at most seven cards, a hand with a flush has no full house or quads, so this is the rank
+   * of the whole hand.
+   *
+   * @param flushMask the 13-bit rank mask of a suit holding at least five of the cards.
+   * @return the rank of the straight flush or flush.
+   */
+  private static int flushRank(int flushMask) {
+    int straightFlush = STRAIGHT_HIGH[flushMask];
+    if (straightFlush != 0) {
+      return (STRAIGHT_FLUSH << CATEGORY_SHIFT) | (straightFlush - 1);
+    }
+    return (FLUSH << CATEGORY_SHIFT) | TOP_FIVE[flushMask];
+  }
+
+  private static int highRank(int mask) {
+    return 31 - Integer.numberOfLeadingZeros(mask);
+  }
+
+  private static int lowRank(int mask) {
+    return Integer.numberOfTrailingZeros(mask);
+  }
+
+  /**
+   * Extracts the category from a hand rank.
+   *
+   * @param rank a hand rank returned by this evaluator.
+   * @return the category, from {@code HIGH_CARD} to {@code STRAIGHT_FLUSH}.
+   */
+  public static int categoryOf(int rank) {
+    return rank >>> CATEGORY_SHIFT;
+  }
+
+  /**
+   * Returns the display name of a hand category.
+   *
+   * @param category the category, from {@code HIGH_CARD} to {@code STRAIGHT_FLUSH}.
+   * @return the name of the category, such as "Full House".
+   */
+  public static String categoryName(int category) {
+    return CATEGORY_NAMES[category];
+  }
+
+  /**
+   * Ranks the cards held by this evaluator.
+   *
+   * @return the hand rank; larger values are stronger hands.
+   * @throws IllegalArgumentException if there are not five to seven distinct cards.
+   */
+  private int rank() {
+    if (cards.size() < 5 || cards.size() > 7) {
+      throw new IllegalArgumentException("Five to seven cards are needed to rank a hand.");
+    }
+    long bits = 0;
+    for (CardF card : cards) {
+      long bit = CARD_BITS[card.getIndex()];
+      if ((bits & bit) != 0) {
+        throw new IllegalArgumentException("Duplicate card in hand: " + card);
+      }
+      bits |= bit;
+    }
+    return evaluateBits(bits, cards.size());
+  }
+
+  /**
+   * Determines the category of the best five-card hand, such as "Two Pair" or "Straight".
+   *
+   * @return the name of the hand category.
+   * @throws IllegalArgumentException if there are not five to seven distinct cards.
+   */
+  @Override
+  public String getHandCombination() {
+    return categoryName(categoryOf(rank()));
+  }
+
+  /**
+   * Calculates the rank of the best five-card hand. Ranks of different hands can be compared directly.
+   *
+   * @return the hand rank; larger values are stronger hands.
+   * @throws IllegalArgumentException if there are not five to seven distinct cards.
+   */
+  @Override
+  public int calculateScore() {
+    return rank();
+  }
+
+  /**
+   * Compares this hand with another at showdown.
+   *
+   * @param other the opposing hand.
+   * @return a positive number if this hand wins, a negative number if it loses, and 0 for a split pot.
+   */
+  public int compareRanks(SevenCardHandEvaluator other) {
+    return Integer.compare(rank(), other.rank());
+  }
+
+  /**
+   * Provides the position-based comments for the hole cards.
+   *
+   * @return A map of position-based strategic comments.
+   */
+  @Override
+  public Map<String, String> getPositionBasedComments() {
+    return preflop.getPositionBasedComments();
+  }
+
+  @Override
+  public String decideAction(int score, int threshold) {
+    return preflop.decideAction(score, threshold);
+  }
+
+  /**
+   * Provides the position decisions for a starting hand score.
+   *
+   * @param score The preflop score of the hole cards.
+   * @return A map containing decisions for positions like "Early Position", "Middle Position", etc.
+   */
+  @Override
+  public Map<String, String> getPositionDecisions(int score) {
+    return preflop.getPositionDecisions(score);
+  }
+
+  @Override
+  public String generateComment(String position, String decision, String handCombination) {
+    return preflop.generateComment(position, decision, handCombination);
+  }
+
+  @Override
+  public String generateGeneralComment(String position, String decision, String rationale) {
+    return preflop.generateGeneralComment(position, decision, rationale);
+  }
+
+  /**
+   * The rank states: every multiset of five to seven ranks, each held at most four times, named by the sum of the
+   * keys of its ranks. The ranks of the states sit in one table indexed by a perfect hash of the sum:
+   * the key's high bits pick a bucket, and the key's hash is moved by the bucket's displacement, chosen so that
+   * the keys of every bucket land on entries no other key uses. Built once, on first use, by ranking one hand of
+   * each state whose suits are spread so that none holds five cards.
+   */
+  private static final class RankStates {
+    private static final int BUCKET_SHIFT = 11;
+    private static final int TABLE_BITS = 17;
+    private static final int HASH_MULTIPLIER = 0x9E3779B1;
+
+    private static final char[] DISPLACEMENTS;
+
+    /**
+     * The rank of each state when no suit holds five of its cards, at the perfect hash of its key.
+     */
+    private static final int[] HAND_RANKS = new int[1 << TABLE_BITS];
+
+    /**
+     * The number of multisets of five to seven ranks, each held at most four times.
+     */
+    private static final int STATES = 73_775;
+
+    static {
+      int[] keys = new int[STATES];
+      int[] ranks = new int[STATES];
+      addStates(keys, ranks, 0, 0, 0, 0, 0);
+      // Seven times the largest rank key bounds the key of any seven cards
+      int buckets = (7 * RANK_KEYS[RANK_KEYS.length - 1] >>> BUCKET_SHIFT) + 1;
+      int[][] hashesByBucket = new int[buckets][];
+      int[] sizes = new int[buckets];
+      for (int key : keys) {
+        sizes[key >>> BUCKET_SHIFT]++;
+      }
+      for (int bucket = 0; bucket < buckets; bucket++) {
+        hashesByBucket[bucket] = new int[sizes[bucket]];
+        sizes[bucket] = 0;
+      }
+      for (int key : keys) {
+        int bucket = key >>> BUCKET_SHIFT;
+        hashesByBucket[bucket][sizes[bucket]++] = hash(key);
+      }
+      // Fullest buckets first, while most entries are free, each at the lowest displacement that fits
+      Integer[] order = new Integer[buckets];
+      for (int bucket = 0; bucket < buckets; bucket++) {
+        order[bucket] = bucket;
+      }
+      Arrays.sort(order, (a, b) -> hashesByBucket[b].length - hashesByBucket[a].length);
+      DISPLACEMENTS = new char[buckets];
+      boolean[] taken = new boolean[HAND_RANKS.length];
+      for (int bucket : order) {
+        int[] hashes = hashesByBucket[bucket];
+        // Also catches two states with the same key
+        Arrays.sort(hashes);
+        for (int i = 1; i < hashes.length; i++) {
+          if (hashes[i] == hashes[i - 1]) {
+            throw new IllegalStateException("Rank state keys share a hash in bucket " + bucket);
+          }
+        }
+        int displacement = 0;
+        while (!fits(taken, hashes, displacement)) {
+          displacement++;
+        }
+        for (int hash : hashes) {
+          taken[hash ^ displacement] = true;
+        }
+        DISPLACEMENTS[bucket] = (char) displacement;
+      }
+      for (int state = 0; state < STATES; state++) {
+        HAND_RANKS[index(keys[state])] = ranks[state];
+      }
+    }
+
+    private RankStates() {
+    }
+
+    /**
+     * Ranks every state reachable by adding ranks from {@code rank} upwards, dealing the suits of the cards in
+     * turn so that at most two of seven cards share a suit.
+     *
+     * @return the number of states stored so far.
+     */
+    private static int addStates(int[] keys, int[] ranks, int stored, int rank, int key, long hand,
+        int cardCount) {
+      if (cardCount >= 5) {
+        keys[stored] = key;
+        ranks[stored++] = evaluateBits(hand, cardCount);
+      }
+      for (int next = rank; next < RANK_KEYS.length; next++) {
+        long added = hand;
+        for (int copies = 1; copies <= 4 && cardCount + copies <= 7; copies++) {
+          added |= CARD_BITS[next * 4 + (cardCount + copies - 1) % 4];
+          stored = addStates(keys, ranks, stored, next + 1, key + copies * RANK_KEYS[next], added,
+              cardCount + copies);
+        }
+      }
+      return stored;
+    }
+
+    private static boolean fits(boolean[] taken, int[] hashes, int displacement) {
+      for (int hash : hashes) {
+        if (taken[hash ^ displacement]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int hash(int key) {
+      return (key * HASH_MULTIPLIER) >>> (Integer.SIZE - TABLE_BITS);
+    }
+
+    private static int index(int key) {
+      return hash(key) ^ DISPLACEMENTS[key >>> BUCKET_SHIFT];
+    }
+
+    /**
+     * Returns the rank of a state of five or more cards with no flush.
+     */
+    static int handRank(int key) {
+      return HAND_RANKS[index(key)];
+    }
+  }
+}
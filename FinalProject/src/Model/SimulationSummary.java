@@ -0,0 +1,131 @@
+/**
+ * Immutable totals of a headless table simulation: how many hands were dealt and how they ended, and how long
+ * the simulation took.
+ */
+public final class SimulationSummary {
+  private final int tables;
+  private final int seatsPerTable;
+  private final long hands;
+  private final long showdowns;
+  private final long uncontested;
+  private final long splitPots;
+  private final long bets;
+  private final long elapsedNanos;
+
+  /**
+   * Constructs a simulation summary.
+   *
+   * @param tables the number of tables that were simulated.
+   * @param seatsPerTable the number of players at each table.
+   * @param hands the total number of hands dealt.
+   * @param showdowns the hands where two or more players bet and the best seven-card hand won.
+   * @param uncontested the hands where exactly one player bet.
+   * @param splitPots the showdowns where two or more players tied for the best hand.
+   * @param bets the total number of times a player chose to bet.
+   * @param elapsedNanos the wall-clock time of the simulation.
+   */
+  public SimulationSummary(int tables, int seatsPerTable, long hands, long showdowns, long uncontested,
+      long splitPots, long bets, long elapsedNanos) {
+    this.tables = tables;
+    this.seatsPerTable = seatsPerTable;
+    this.hands = hands;
+    this.showdowns = showdowns;
+    this.uncontested = uncontested;
+    this.splitPots = splitPots;
+    this.bets = bets;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the number of tables that were simulated.
+   *
+   * @return the number of tables.
+   */
+  public int getTables() {
+    return tables;
+  }
+
+  /**
+   * Returns the number of players at each table.
+   *
+   * @return the number of seats per table.
+   */
+  public int getSeatsPerTable() {
+    return seatsPerTable;
+  }
+
+  /**
+   * Returns the total number of hands dealt.
+   *
+   * @return the number of hands.
+   */
+  public long getHands() {
+    return hands;
+  }
+
+  /**
+   * Returns the number of hands that went to showdown between two or more players.
+   *
+   * @return the number of showdowns.
+   */
+  public long getShowdowns() {
+    return showdowns;
+  }
+
+  /**
+   * Returns the number of hands won by the only player who bet.
+   *
+   * @return the number of uncontested hands.
+   */
+  public long getUncontested() {
+    return uncontested;
+  }
+
+  /**
+   * Returns the number of showdowns where the pot was split.
+   *
+   * @return the number of split pots.
+   */
+  public long getSplitPots() {
+    return splitPots;
+  }
+
+  /**
+   * Returns the total number of times a player chose to bet.
+   *
+   * @return the number of bets.
+   */
+  public long getBets() {
+    return bets;
+  }
+
+  /**
+   * Returns the wall-clock time of the simulation.
+   *
+   * @return the elapsed time in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the simulation throughput.
+   *
+   * @return the number of hands dealt per second of wall-clock time.
+   */
+  public double getHandsPerSecond() {
+    return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Returns a string representation of the summary.
+   *
+   * @return the totals and the throughput.
+   */
+  @Override
+  public String toString() {
+    return String.format("Tables: %d (%d-max), Hands: %d, Showdowns: %d, Uncontested: %d, Split pots: %d, "
+        + "Bets: %d, Hands/s: %.0f", tables, seatsPerTable, hands, showdowns, uncontested, splitPots, bets,
+        getHandsPerSecond());
+  }
+}
@@ -0,0 +1,342 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Precomputed lookup table for all Texas Hold'em starting hands. The 1,326 distinct two-card combinations
+ * collapse into 169 canonical classes (13 pairs, 78 suited and 78 offsuit hands), because the starting hand
+ * rules only look at the two ranks and whether the cards share a suit. The table is built eagerly from the
+ * rule-based evaluation in {@code TexasHoldemHandEvaluator} and answers every query with a single array index.
+ * Comment strings are built once per (combination, position, action), and the decisions and comments of each
+ * class are kept both as enum-indexed arrays for allocation-free lookups and as the string-keyed maps the view
+ * displays.
+ *
+ * <p>Scores, decisions and comments depend on the active {@code StrategyProfile}. They live in an immutable
+ * {@code StrategyTable} behind an atomic reference: {@link #setStrategyProfile(StrategyProfile)} and
+ * {@link #reloadStrategyProfile(Path)} build a new table off to the side and then swap it in, so evaluations
+ * already running finish on the table they started with and nothing waits for the rebuild.</p>
+ *
+ * <p>Classes are laid out as the usual 13x13 grid over ranks 0 (deuce) to 12 (ace): pairs on the diagonal,
+ * suited hands at {@code high * 13 + low} and offsuit hands at {@code low * 13 + high}.</p>
+ */
+public final class StartingHandTable {
+  /**
+   * Number of canonical starting hand classes.
+   */
+  public static final int CLASS_COUNT = 169;
+
+  /**
+   * Number of distinct two-card starting hands.
+   */
+  public static final int COMBINATION_COUNT = 1326;
+
+  private static final int CARD_COUNT = CardF.DECK_SIZE;
+
+  /**
+   * Maps a pair of card indexes ({@code first * 52 + second}) to its class, or -1 for the same card twice.
+   */
+  private static final short[] CLASS_BY_CARDS = new short[CARD_COUNT * CARD_COUNT];
+  private static final String[] COMBINATIONS = new String[CLASS_COUNT];
+  private static final byte[] COMBINATION_ORDINALS = new byte[CLASS_COUNT];
+
+  /**
+   * The displayed comment for every (combination, position, action), built once.
+   */
+  private static final String[][][] COMMENT_TEXT =
+      new String[HandCombination.values().length][Position.values().length][Action.values().length];
+  private static final int[][][] HANDS_BY_CLASS = new int[CLASS_COUNT][][];
+
+  /**
+   * The strategy-dependent part of the table. Only ever replaced by a table with a larger version.
+   */
+  private static final AtomicReference<StrategyTable> STRATEGY = new AtomicReference<>();
+
+  static {
+    TexasHoldemHandEvaluator rules = new TexasHoldemHandEvaluator(Collections.emptyList());
+    for (HandCombination combination : HandCombination.values()) {
+      for (Position position : Position.values()) {
+        for (Action action : Action.values()) {
+          COMMENT_TEXT[combination.ordinal()][position.ordinal()][action.ordinal()] = " \n"
+              + rules.generateComment(position.getName(), action.getLabel(), combination.getLabel()) + "\n";
+        }
+      }
+    }
+    for (int first = 0; first < CARD_COUNT; first++) {
+      for (int second = 0; second < CARD_COUNT; second++) {
+        if (first == second) {
+          CLASS_BY_CARDS[first * CARD_COUNT + second] = -1;
+          continue;
+        }
+        int handClass = classOf(CardF.rankOf(first), CardF.rankOf(second),
+            CardF.suitOf(first) == CardF.suitOf(second));
+        CLASS_BY_CARDS[first * CARD_COUNT + second] = (short) handClass;
+        if (COMBINATIONS[handClass] == null) {
+          COMBINATIONS[handClass] =
+              TexasHoldemHandEvaluator.ruleBasedCombination(CardF.of(first), CardF.of(second));
+          COMBINATION_ORDINALS[handClass] = (byte) HandCombination.fromLabel(COMBINATIONS[handClass]).ordinal();
+        }
+      }
+    }
+    int[] filled = new int[CLASS_COUNT];
+    for (int handClass = 0; handClass < CLASS_COUNT; handClass++) {
+      int high = handClass / 13;
+      int low = handClass % 13;
+      HANDS_BY_CLASS[handClass] = new int[high == low ? 6 : high > low ? 4 : 12][];
+    }
+    for (int first = 0; first < CARD_COUNT; first++) {
+      for (int second = first + 1; second < CARD_COUNT; second++) {
+        int handClass = CLASS_BY_CARDS[first * CARD_COUNT + second];
+        HANDS_BY_CLASS[handClass][filled[handClass]++] = new int[] {first, second};
+      }
+    }
+    STRATEGY.set(new StrategyTable(StrategyProfile.DEFAULT));
+  }
+
+  private StartingHandTable() {
+  }
+
+  /**
+   * Returns the active strategy profile.
+   *
+   * @return the profile the scores and decisions are currently based on.
+   */
+  public static StrategyProfile getStrategyProfile() {
+    return STRATEGY.get().getProfile();
+  }
+
+  /**
+   * Returns the version of the active strategy. The version grows every time a new strategy is applied, so it
+   * can be part of a cache key.
+   *
+   * @return the strategy version.
+   */
+  public static long getStrategyVersion() {
+    return STRATEGY.get().getVersion();
+  }
+
+  /**
+   * Returns the active strategy table. Callers that read several values for one evaluation should read them all
+   * from the same table.
+   */
+  static StrategyTable getStrategyTable() {
+    return STRATEGY.get();
+  }
+
+  /**
+   * Rebuilds the scores, decisions and comments for a profile and makes them active. Evaluations that are
+   * already running keep using the previous table.
+   *
+   * @param profile the strategy to apply.
+   * @throws IllegalArgumentException if the profile is null.
+   */
+  public static void setStrategyProfile(StrategyProfile profile) {
+    if (profile == null) {
+      throw new IllegalArgumentException("Strategy profile cannot be null");
+    }
+    install(new StrategyTable(profile));
+  }
+
+  /**
+   * Loads a profile from a properties file and applies it in the background. The current strategy stays active
+   * until the new table is complete.
+   *
+   * @param path the properties file, see {@code StrategyProfile}.
+   * @return a future that completes with the applied profile, or exceptionally if the file cannot be read or
+   *     holds an invalid value.
+   */
+  public static CompletableFuture<StrategyProfile> reloadStrategyProfile(Path path) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        StrategyProfile profile = StrategyProfile.load(path);
+        install(new StrategyTable(profile));
+        return profile;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, task -> Thread.ofVirtual().name("strategy-reload").start(task));
+  }
+
+  /**
+   * Swaps in a table unless a table built later has already been installed.
+   */
+  private static void install(StrategyTable table) {
+    STRATEGY.accumulateAndGet(table, (current, next) -> next.getVersion() > current.getVersion() ? next : current);
+  }
+
+  /**
+   * Returns one hand of a class, as two card indexes.
+   */
+  static int[] representative(int handClass) {
+    return HANDS_BY_CLASS[handClass][0];
+  }
+
+  /**
+   * Computes the class of a starting hand from its two ranks and suitedness.
+   *
+   * @param rank1 The rank of the first card, from 0 (deuce) to 12 (ace).
+   * @param rank2 The rank of the second card, from 0 (deuce) to 12 (ace).
+   * @param suited Whether both cards share a suit.
+   * @return The class index, between 0 and 168.
+   */
+  public static int classOf(int rank1, int rank2, boolean suited) {
+    int high = Math.max(rank1, rank2);
+    int low = Math.min(rank1, rank2);
+    return suited ? high * 13 + low : low * 13 + high;
+  }
+
+  /**
+   * Looks up the class of a starting hand made of two cards.
+   *
+   * @param card1 The first card of the hand.
+   * @param card2 The second card of the hand.
+   * @return The class index, or -1 if both arguments are the same card.
+   */
+  public static int classOf(CardF card1, CardF card2) {
+    return classOf(card1.getIndex(), card2.getIndex());
+  }
+
+  /**
+   * Looks up the class of a starting hand made of two card indexes.
+   *
+   * @param card1 The index of the first card, from 0 to 51.
+   * @param card2 The index of the second card, from 0 to 51.
+   * @return The class index, or -1 if both arguments are the same card.
+   */
+  public static int classOf(int card1, int card2) {
+    return CLASS_BY_CARDS[card1 * CARD_COUNT + card2];
+  }
+
+  /**
+   * Looks up the class of a hand encoded as {@code card1 * 52 + card2}, see {@code HoldemModel.encodeHand}.
+   *
+   * @param encodedHand The encoded hand, from 0 to 2703.
+   * @return The class index, or -1 if both cards are the same.
+   */
+  public static int classOfEncoded(int encodedHand) {
+    return CLASS_BY_CARDS[encodedHand];
+  }
+
+  /**
+   * Returns the score of every hand in the given class.
+   *
+   * @param handClass The class index.
+   * @return The score of the class.
+   */
+  public static int getScore(int handClass) {
+    return STRATEGY.get().getScore(handClass);
+  }
+
+  /**
+   * Returns the combination type of every hand in the given class.
+   *
+   * @param handClass The class index.
+   * @return The combination type, such as "Pair" or "Suited Connector".
+   */
+  public static String getCombination(int handClass) {
+    return COMBINATIONS[handClass];
+  }
+
+  /**
+   * Returns the combination type of every hand in the given class as a small number.
+   *
+   * @param handClass The class index.
+   * @return The ordinal of the combination type; see {@link #getCombinationName(int)}.
+   */
+  public static int getCombinationOrdinal(int handClass) {
+    return COMBINATION_ORDINALS[handClass];
+  }
+
+  /**
+   * Returns the combination type for an ordinal returned by {@link #getCombinationOrdinal(int)}.
+   *
+   * @param ordinal The ordinal of the combination type.
+   * @return The combination type, such as "Pair" or "Suited Connector".
+   */
+  public static String getCombinationName(int ordinal) {
+    return HandCombination.ofOrdinal(ordinal).getLabel();
+  }
+
+  /**
+   * Returns the action recommended for every hand in the given class at a position.
+   *
+   * @param handClass The class index.
+   * @param position The position at the table.
+   * @return The recommended action.
+   */
+  public static Action getAction(int handClass, Position position) {
+    return STRATEGY.get().getAction(handClass, position);
+  }
+
+  /**
+   * Returns the comment displayed for every hand in the given class at a position.
+   *
+   * @param handClass The class index.
+   * @param position The position at the table.
+   * @return The precomputed comment, as it appears in {@link #getComments(int)}.
+   */
+  public static String getComment(int handClass, Position position) {
+    return STRATEGY.get().getComment(handClass, position);
+  }
+
+  /**
+   * Returns the comment displayed for a combination type, position and action.
+   *
+   * @param combination The combination type.
+   * @param position The position at the table.
+   * @param action The recommended action.
+   * @return The precomputed comment.
+   */
+  public static String getComment(HandCombination combination, Position position, Action action) {
+    return COMMENT_TEXT[combination.ordinal()][position.ordinal()][action.ordinal()];
+  }
+
+  /**
+   * Returns the per-position decisions of every hand in the given class as a bit mask: the bit at a
+   * {@code Position} ordinal is set when the hand should bet from that position.
+   *
+   * @param handClass The class index.
+   * @return The decision mask.
+   */
+  public static int getDecisionMask(int handClass) {
+    return STRATEGY.get().getDecisionMask(handClass);
+  }
+
+  /**
+   * Returns the per-position decisions of every hand in the given class.
+   *
+   * @param handClass The class index.
+   * @return An unmodifiable map of decisions keyed by position.
+   */
+  public static Map<String, String> getDecisions(int handClass) {
+    return STRATEGY.get().getDecisions(handClass);
+  }
+
+  /**
+   * Returns the position-based comments of every hand in the given class. The same map instance is shared by
+   * all hands of the class.
+   *
+   * @param handClass The class index.
+   * @return An unmodifiable map of comments keyed by position.
+   */
+  public static Map<String, String> getComments(int handClass) {
+    return STRATEGY.get().getComments(handClass);
+  }
+
+  /**
+   * Returns every two-card hand in the given class: 6 for a pair, 4 for a suited hand and 12 for an offsuit hand.
+   *
+   * @param handClass The class index.
+   * @return A new array of card index pairs, each ordered from the lower to the higher index.
+   */
+  public static int[][] getHands(int handClass) {
+    int[][] hands = new int[HANDS_BY_CLASS[handClass].length][];
+    for (int i = 0; i < hands.length; i++) {
+      hands[i] = HANDS_BY_CLASS[handClass][i].clone();
+    }
+    return hands;
+  }
+}
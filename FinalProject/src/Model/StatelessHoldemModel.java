@@ -0,0 +1,50 @@
+/**
+ * Stateless counterpart of {@code HoldemModel} for serving many requests at once. Every method takes the hand
+ * it evaluates and returns an immutable {@code HandEvaluation}; nothing is stored between calls, so a single
+ * instance can be shared by any number of threads, including virtual threads, without locking.
+ */
+public class StatelessHoldemModel {
+
+  /**
+   * Evaluates a hand given by card values and suits.
+   *
+   * @param card1Value the value of the first card (e.g., "A", "10", "K")
+   * @param card1Suit the suit of the first card (e.g., "H" for hearts)
+   * @param card2Value the value of the second card
+   * @param card2Suit the suit of the second card
+   * @return the evaluation of the hand.
+   * @throws IllegalArgumentException if the card values or suits are invalid.
+   */
+  public HandEvaluation evaluate(String card1Value, String card1Suit, String card2Value, String card2Suit) {
+    return evaluate(CardF.of(card1Value, card1Suit), CardF.of(card2Value, card2Suit));
+  }
+
+  /**
+   * Evaluates a hand encoded by {@link HoldemModel#encodeHand(CardF, CardF)}.
+   *
+   * @param encodedHand the encoded hand.
+   * @return the evaluation of the hand.
+   * @throws IllegalArgumentException if the encoding is invalid.
+   */
+  public HandEvaluation evaluate(int encodedHand) {
+    if (encodedHand < 0 || encodedHand >= CardF.DECK_SIZE * CardF.DECK_SIZE) {
+      throw new IllegalArgumentException("Invalid encoded hand: " + encodedHand);
+    }
+    return evaluate(CardF.of(encodedHand / CardF.DECK_SIZE), CardF.of(encodedHand % CardF.DECK_SIZE));
+  }
+
+  /**
+   * Evaluates a hand of two cards.
+   *
+   * @param card1 the first card of the hand.
+   * @param card2 the second card of the hand.
+   * @return the evaluation of the hand.
+   * @throws IllegalArgumentException if either card is null.
+   */
+  public HandEvaluation evaluate(CardF card1, CardF card2) {
+    if (card1 == null || card2 == null) {
+      throw new IllegalArgumentException("Both cards must be non-null");
+    }
+    return HandEvaluation.of(card1, card2);
+  }
+}
@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The numbers behind the starting hand strategy: the bonuses added to a hand's score and the score a hand must
+ * exceed to bet from each position. Profiles are immutable; {@code StartingHandTable} keeps the active one and
+ * can swap it at runtime.
+ *
+ * <p>A profile can be loaded from a properties file. Every key is optional and falls back to the default
+ * strategy:</p>
+ * <pre>
+ * name=tight
+ * score.pair=15
+ * score.suited=7
+ * score.highCards=7
+ * score.connected=3
+ * threshold.early=20
+ * threshold.middle=15
+ * threshold.late=12
+ * </pre>
+ */
+public final class StrategyProfile {
+  /**
+   * The strategy the application has always used.
+   */
+  public static final StrategyProfile DEFAULT = new StrategyProfile("default", 15, 7, 7, 3, 20, 15, 12);
+
+  private final String name;
+  private final int pairBonus;
+  private final int suitedBonus;
+  private final int highCardsBonus;
+  private final int connectedBonus;
+  private final int[] thresholds;
+  private final String[] labels;
+
+  /**
+   * Constructs a strategy profile.
+   *
+   * @param name the name of the profile, for example the variant of an A/B test.
+   * @param pairBonus the score added to a pair.
+   * @param suitedBonus the score added to two cards of the same suit.
+   * @param highCardsBonus the score added when both cards are ten or higher.
+   * @param connectedBonus the score added when the two values are consecutive.
+   * @param earlyThreshold the score a hand must exceed to bet from early position.
+   * @param middleThreshold the score a hand must exceed to bet from middle position.
+   * @param lateThreshold the score a hand must exceed to bet from late position.
+   * @throws IllegalArgumentException if the name is null or empty.
+   */
+  public StrategyProfile(String name, int pairBonus, int suitedBonus, int highCardsBonus, int connectedBonus,
+      int earlyThreshold, int middleThreshold, int lateThreshold) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Strategy name cannot be empty");
+    }
+    this.name = name;
+    this.pairBonus = pairBonus;
+    this.suitedBonus = suitedBonus;
+    this.highCardsBonus = highCardsBonus;
+    this.connectedBonus = connectedBonus;
+    this.thresholds = new int[Position.values().length];
+    thresholds[Position.EARLY.ordinal()] = earlyThreshold;
+    thresholds[Position.MIDDLE.ordinal()] = middleThreshold;
+    thresholds[Position.LATE.ordinal()] = lateThreshold;
+    this.labels = new String[thresholds.length];
+    for (Position position : Position.values()) {
+      labels[position.ordinal()] = position.getLabel(getThreshold(position));
+    }
+  }
+
+  /**
+   * Loads a profile from a properties file.
+   *
+   * @param path the file to read, in UTF-8.
+   * @return the profile; missing keys take their default value.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if a value is not a whole number.
+   */
+  public static StrategyProfile load(Path path) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+    return fromProperties(properties);
+  }
+
+  /**
+   * Builds a profile from properties, using the keys shown in the class description.
+   *
+   * @param properties the properties to read.
+   * @return the profile; missing keys take their default value.
+   * @throws IllegalArgumentException if a value is not a whole number.
+   */
+  public static StrategyProfile fromProperties(Properties properties) {
+    return new StrategyProfile(
+        properties.getProperty("name", DEFAULT.name).trim(),
+        intProperty(properties, "score.pair", DEFAULT.pairBonus),
+        intProperty(properties, "score.suited", DEFAULT.suitedBonus),
+        intProperty(properties, "score.highCards", DEFAULT.highCardsBonus),
+        intProperty(properties, "score.connected", DEFAULT.connectedBonus),
+        intProperty(properties, "threshold.early", DEFAULT.getThreshold(Position.EARLY)),
+        intProperty(properties, "threshold.middle", DEFAULT.getThreshold(Position.MIDDLE)),
+        intProperty(properties, "threshold.late", DEFAULT.getThreshold(Position.LATE)));
+  }
+
+  private static int intProperty(Properties properties, String key, int defaultValue) {
+    String value = properties.getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+    }
+  }
+
+  /**
+   * Scores a starting hand with this profile's bonuses: the average of the two values, plus the bonuses that
+   * apply.
+   *
+   * @param card1 the first card of the hand.
+   * @param card2 the second card of the hand.
+   * @return the score of the hand.
+   */
+  public int score(CardF card1, CardF card2) {
+    int score = (card1.getNumericValue() + card2.getNumericValue()) / 2;
+    boolean isSuited = card1.getSuit().equals(card2.getSuit());
+    int differenceInValue = Math.abs(card1.getNumericValue() - card2.getNumericValue());
+
+    // Check for pairs
+    if (card1.getValue().equals(card2.getValue())) {
+      score += pairBonus;
+    }
+
+    // Check for suited cards
+    if (isSuited) {
+      score += suitedBonus;
+    }
+
+    // Check for two high cards
+    if (card1.getNumericValue() >= 10 && card2.getNumericValue() >= 10) {
+      score += highCardsBonus;
+    }
+
+    // Check for connected cards
+    if (differenceInValue == 1) {
+      score += connectedBonus;
+    }
+
+    return score;
+  }
+
+  /**
+   * Returns the name of the profile.
+   *
+   * @return the name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the score added to a pair.
+   *
+   * @return the pair bonus.
+   */
+  public int getPairBonus() {
+    return pairBonus;
+  }
+
+  /**
+   * Returns the score added to two cards of the same suit.
+   *
+   * @return the suited bonus.
+   */
+  public int getSuitedBonus() {
+    return suitedBonus;
+  }
+
+  /**
+   * Returns the score added when both cards are ten or higher.
+   *
+   * @return the high cards bonus.
+   */
+  public int getHighCardsBonus() {
+    return highCardsBonus;
+  }
+
+  /**
+   * Returns the score added when the two values are consecutive.
+   *
+   * @return the connected bonus.
+   */
+  public int getConnectedBonus() {
+    return connectedBonus;
+  }
+
+  /**
+   * Returns the score a hand must exceed to bet from a position.
+   *
+   * @param position the position at the table.
+   * @return the betting threshold.
+   */
+  public int getThreshold(Position position) {
+    return thresholds[position.ordinal()];
+  }
+
+  /**
+   * Returns the display label of a position under this profile, which states its betting threshold.
+   *
+   * @param position the position at the table.
+   * @return the label, such as "Early Position(Bet > 20)".
+   */
+  public String getLabel(Position position) {
+    return labels[position.ordinal()];
+  }
+
+  /**
+   * Returns a string representation of the profile.
+   *
+   * @return the name, bonuses and thresholds.
+   */
+  @Override
+  public String toString() {
+    return String.format("Strategy %s: pair +%d, suited +%d, high cards +%d, connected +%d, "
+        + "thresholds early %d, middle %d, late %d", name, pairBonus, suitedBonus, highCardsBonus,
+        connectedBonus, getThreshold(Position.EARLY), getThreshold(Position.MIDDLE),
+        getThreshold(Position.LATE));
+  }
+}
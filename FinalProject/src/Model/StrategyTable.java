@@ -0,0 +1,105 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The part of the starting hand table that depends on the strategy: the score, decisions and comments of every
+ * class under one {@code StrategyProfile}. A table is immutable once built, so readers that hold on to one see
+ * consistent answers while {@code StartingHandTable} swaps in a newer table.
+ */
+final class StrategyTable {
+  private static final AtomicLong VERSIONS = new AtomicLong();
+
+  private final StrategyProfile profile;
+  private final long version;
+  private final int[] scores = new int[StartingHandTable.CLASS_COUNT];
+  private final byte[] decisionMasks = new byte[StartingHandTable.CLASS_COUNT];
+  private final Action[][] actions = new Action[StartingHandTable.CLASS_COUNT][];
+  private final String[][] comments = new String[StartingHandTable.CLASS_COUNT][];
+  private final Map<String, String>[] decisionMaps = newMapArray();
+  private final Map<String, String>[] commentMaps = newMapArray();
+
+  /**
+   * Builds the table of a profile. Every table gets a larger version than the ones built before it.
+   *
+   * @param profile the strategy to apply.
+   */
+  StrategyTable(StrategyProfile profile) {
+    this.profile = profile;
+    this.version = VERSIONS.incrementAndGet();
+    for (int handClass = 0; handClass < StartingHandTable.CLASS_COUNT; handClass++) {
+      int[] hand = StartingHandTable.representative(handClass);
+      scores[handClass] = profile.score(CardF.of(hand[0]), CardF.of(hand[1]));
+      HandCombination combination = HandCombination.ofOrdinal(StartingHandTable.getCombinationOrdinal(handClass));
+      actions[handClass] = new Action[Position.values().length];
+      comments[handClass] = new String[Position.values().length];
+      Map<String, String> decisionMap = new HashMap<>();
+      Map<String, String> commentMap = new HashMap<>();
+      for (Position position : Position.values()) {
+        Action action = Action.forScore(scores[handClass], profile.getThreshold(position));
+        String comment = StartingHandTable.getComment(combination, position, action);
+        actions[handClass][position.ordinal()] = action;
+        comments[handClass][position.ordinal()] = comment;
+        if (action == Action.BET) {
+          decisionMasks[handClass] |= (byte) (1 << position.ordinal());
+        }
+        decisionMap.put(profile.getLabel(position), action.getLabel());
+        commentMap.put(profile.getLabel(position), comment);
+      }
+      decisionMaps[handClass] = Collections.unmodifiableMap(decisionMap);
+      commentMaps[handClass] = Collections.unmodifiableMap(commentMap);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, String>[] newMapArray() {
+    return (Map<String, String>[]) new Map[StartingHandTable.CLASS_COUNT];
+  }
+
+  StrategyProfile getProfile() {
+    return profile;
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  int getScore(int handClass) {
+    return scores[handClass];
+  }
+
+  int getDecisionMask(int handClass) {
+    return decisionMasks[handClass];
+  }
+
+  Action getAction(int handClass, Position position) {
+    return actions[handClass][position.ordinal()];
+  }
+
+  String getComment(int handClass, Position position) {
+    return comments[handClass][position.ordinal()];
+  }
+
+  /**
+   * Returns the shared action array of a class, indexed by position ordinal. Callers must not modify it.
+   */
+  Action[] actionsOf(int handClass) {
+    return actions[handClass];
+  }
+
+  /**
+   * Returns the shared comment array of a class, indexed by position ordinal. Callers must not modify it.
+   */
+  String[] commentsOf(int handClass) {
+    return comments[handClass];
+  }
+
+  Map<String, String> getDecisions(int handClass) {
+    return decisionMaps[handClass];
+  }
+
+  Map<String, String> getComments(int handClass) {
+    return commentMaps[handClass];
+  }
+}
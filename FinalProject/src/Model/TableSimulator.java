@@ -0,0 +1,204 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless simulation of many poker tables playing at once, without the Swing view or controller. Every hand,
+ * a table shuffles, deals two hole cards to each seat and five board cards, asks the starting hand rules
+ * whether each seat bets from its position, and resolves the hand: nobody bets, one player wins uncontested,
+ * or the bettors go to showdown and the best seven-card hand wins.
+ *
+ * <p>Each table runs on its own virtual thread with its own random generator, split from the simulation seed,
+ * so a run is reproducible. Decisions come from the {@code StartingHandTable}, the precomputed form of the
+ * {@code TexasHoldemHandEvaluator} rules, and showdowns from {@code SevenCardHandEvaluator.evaluate}, so a table
+ * deals and resolves hands without allocating anything per hand.</p>
+ */
+public final class TableSimulator {
+  /**
+   * The smallest supported table.
+   */
+  public static final int MIN_SEATS = 2;
+
+  /**
+   * The largest supported table (a full ring game).
+   */
+  public static final int MAX_SEATS = 9;
+
+  private static final int BOARD_SIZE = 5;
+
+  private final int seats;
+
+  /**
+   * Constructs a simulator for tables of the given size.
+   *
+   * @param seats the number of players at each table, for example 6 or 9.
+   * @throws IllegalArgumentException if the table size is not between 2 and 9.
+   */
+  public TableSimulator(int seats) {
+    if (seats < MIN_SEATS || seats > MAX_SEATS) {
+      throw new IllegalArgumentException("A table must have between " + MIN_SEATS + " and " + MAX_SEATS
+          + " seats.");
+    }
+    this.seats = seats;
+  }
+
+  /**
+   * Returns the number of players at each table.
+   *
+   * @return the number of seats per table.
+   */
+  public int getSeats() {
+    return seats;
+  }
+
+  /**
+   * Returns the position of a seat, counted clockwise from the seat after the button. The first third of the
+   * table acts in early position, the second third in middle position and the rest, up to the button, in late
+   * position.
+   *
+   * @param seatAfterButton the seat's distance from the button minus one; the button itself is
+   *     {@code seats - 1}.
+   * @param seats the number of players at the table.
+   * @return the position of the seat.
+   */
+  public static Position positionOf(int seatAfterButton, int seats) {
+    return Position.ofOrdinal(seatAfterButton * Position.values().length / seats);
+  }
+
+  /**
+   * Plays a number of hands at each of a number of tables, all tables at once.
+   *
+   * @param tables the number of tables.
+   * @param handsPerTable the number of hands each table plays.
+   * @param seed the seed of the random generators; the same seed gives the same totals.
+   * @return the totals of all tables and the throughput.
+   * @throws IllegalArgumentException if there is no table or the number of hands is negative.
+   * @throws IllegalStateException if a table fails or the simulation is interrupted.
+   */
+  public SimulationSummary simulate(int tables, int handsPerTable, long seed) {
+    if (tables <= 0) {
+      throw new IllegalArgumentException("At least one table is needed.");
+    }
+    if (handsPerTable < 0) {
+      throw new IllegalArgumentException("The number of hands cannot be negative.");
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    Table[] running = new Table[tables];
+    for (int i = 0; i < tables; i++) {
+      running[i] = new Table(seats, random.split());
+    }
+
+    long start = System.nanoTime();
+    List<Future<?>> results = new ArrayList<>(tables);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Table table : running) {
+        results.add(executor.submit(() -> table.play(handsPerTable)));
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The simulation was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A table failed during the simulation.", e.getCause());
+    }
+
+    long hands = 0;
+    long showdowns = 0;
+    long uncontested = 0;
+    long splitPots = 0;
+    long bets = 0;
+    for (Table table : running) {
+      hands += table.hands;
+      showdowns += table.showdowns;
+      uncontested += table.uncontested;
+      splitPots += table.splitPots;
+      bets += table.bets;
+    }
+    return new SimulationSummary(tables, seats, hands, showdowns, uncontested, splitPots, bets, elapsed);
+  }
+
+  /**
+   * One table: its deck, the cards dealt for the current hand and its running totals. Only the thread
+   * playing the table touches it until the simulation collects the totals.
+   */
+  private static final class Table {
+    private final int seats;
+    private final Deck deck;
+    private final int[] dealt;
+    private final Position[] positions;
+    private final int[] bettors;
+    private int button;
+    private long hands;
+    private long showdowns;
+    private long uncontested;
+    private long splitPots;
+    private long bets;
+
+    Table(int seats, SplittableRandom random) {
+      this.seats = seats;
+      this.deck = new Deck(random);
+      this.dealt = new int[seats * 2 + BOARD_SIZE];
+      this.positions = new Position[seats];
+      this.bettors = new int[seats];
+      for (int seat = 0; seat < seats; seat++) {
+        positions[seat] = positionOf(seat, seats);
+      }
+    }
+
+    void play(int count) {
+      for (int i = 0; i < count; i++) {
+        playHand();
+      }
+    }
+
+    private void playHand() {
+      deck.reset();
+      deck.deal(dealt, 0, dealt.length);
+
+      StrategyTable strategy = StartingHandTable.getStrategyTable();
+      int bettorCount = 0;
+      for (int seat = 0; seat < seats; seat++) {
+        int handClass = StartingHandTable.classOf(dealt[2 * seat], dealt[2 * seat + 1]);
+        Position position = positions[(seat - button - 1 + seats) % seats];
+        if (strategy.getAction(handClass, position) == Action.BET) {
+          bettors[bettorCount++] = seat;
+        }
+      }
+      bets += bettorCount;
+
+      if (bettorCount == 1) {
+        uncontested++;
+      } else if (bettorCount > 1) {
+        showdowns++;
+        int board = seats * 2;
+        int best = -1;
+        int winners = 0;
+        for (int i = 0; i < bettorCount; i++) {
+          int seat = bettors[i];
+          int rank = SevenCardHandEvaluator.evaluate(dealt[2 * seat], dealt[2 * seat + 1], dealt[board],
+              dealt[board + 1], dealt[board + 2], dealt[board + 3], dealt[board + 4]);
+          if (rank > best) {
+            best = rank;
+            winners = 1;
+          } else if (rank == best) {
+            winners++;
+          }
+        }
+        if (winners > 1) {
+          splitPots++;
+        }
+      }
+      hands++;
+      button = (button + 1) % seats;
+    }
+  }
+}
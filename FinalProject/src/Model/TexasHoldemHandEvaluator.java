@@ -22,6 +22,7 @@ public class TexasHoldemHandEvaluator extends AbstractHandEvaluator {
   /**
    * Determines the combination type of the hand using the properties of the cards such as suits and values.
    * It categorizes the hand into types like Pair, Suited Connectors, and others based on common poker rules.
+   * The answer is read from the precomputed {@code StartingHandTable}.
    *
    * @return A string representing the type of poker hand, such as "Pair" or "Suited Connector".
    * @throws IllegalArgumentException If there are insufficient cards to determine a hand combination.
@@ -34,7 +35,41 @@ public class TexasHoldemHandEvaluator extends AbstractHandEvaluator {
 
     CardF card1 = cards.get(0);
     CardF card2 = cards.get(1);
+    int handClass = StartingHandTable.classOf(card1, card2);
+    if (handClass < 0) {
+      // The same card twice is not a real starting hand, so it is not in the table
+      return ruleBasedCombination(card1, card2);
+    }
+    return StartingHandTable.getCombination(handClass);
+  }
+
+  /**
+   * Calculates the score of the hand based on a combination of the card values, suits, and their relative positions.
+   * This score helps in making strategic decisions during the game. The answer is read from the precomputed
+   * {@code StartingHandTable}.
+   *
+   * @return The calculated numerical score representing the strength of the hand.
+   */
+  @Override
+  public int calculateScore() {
+    CardF card1 = cards.get(0);
+    CardF card2 = cards.get(1);
+    int handClass = StartingHandTable.classOf(card1, card2);
+    if (handClass < 0) {
+      return ruleBasedScore(card1, card2);
+    }
+    return StartingHandTable.getScore(handClass);
+  }
 
+  /**
+   * Determines the combination type of two cards by applying the starting hand rules directly.
+   * This is the reference implementation used to build the {@code StartingHandTable}.
+   *
+   * @param card1 The first card of the hand.
+   * @param card2 The second card of the hand.
+   * @return A string representing the type of poker hand, such as "Pair" or "Suited Connector".
+   */
+  static String ruleBasedCombination(CardF card1, CardF card2) {
     boolean isSuited = card1.getSuit().equals(card2.getSuit());
     int differenceInValue = Math.abs(card1.getNumericValue() - card2.getNumericValue());
 
@@ -72,41 +107,15 @@ public class TexasHoldemHandEvaluator extends AbstractHandEvaluator {
   }
 
   /**
-   * Calculates the score of the hand based on a combination of the card values, suits, and their relative positions.
-   * This score helps in making strategic decisions during the game.
+   * Calculates the score of two cards by applying the starting hand rules of the active
+   * {@code StrategyProfile} directly.
    *
+   * @param card1 The first card of the hand.
+   * @param card2 The second card of the hand.
    * @return The calculated numerical score representing the strength of the hand.
    */
-  @Override
-  public int calculateScore() {
-    CardF card1 = cards.get(0);
-    CardF card2 = cards.get(1);
-
-    int score = (card1.getNumericValue() + card2.getNumericValue()) / 2;
-    boolean isSuited = card1.getSuit().equals(card2.getSuit());
-    int differenceInValue = Math.abs(card1.getNumericValue() - card2.getNumericValue());
-
-    // Check for pairs
-    if (card1.getValue().equals(card2.getValue())) {
-      score += 15;
-    }
-
-    // Check for suited cards
-    if (isSuited) {
-      score += 7;
-    }
-
-    // Check for two high cards
-    if (card1.getNumericValue() >= 10 && card2.getNumericValue() >= 10) {
-      score += 7;
-    }
-
-    // Check for connected cards
-    if (differenceInValue == 1) {
-      score += 3;
-    }
-
-    return score;
+  static int ruleBasedScore(CardF card1, CardF card2) {
+    return StartingHandTable.getStrategyProfile().score(card1, card2);
   }
 
   /**
@@ -131,32 +140,69 @@ public class TexasHoldemHandEvaluator extends AbstractHandEvaluator {
    */
   @Override
   public Map<String, String> getPositionDecisions(int score) {
+    StrategyProfile profile = StartingHandTable.getStrategyProfile();
     Map<String, String> decisions = new HashMap<>();
-    int earlyPositionThreshold = 20;
-    int middlePositionThreshold = 15;
-    int latePositionThreshold = 12;
-
+    for (Position position : Position.values()) {
+      decisions.put(profile.getLabel(position), decideAction(score, profile.getThreshold(position)));
+    }
+    return decisions;
+  }
 
-    decisions.put("Late Position(Bet > 12)", decideAction(score, latePositionThreshold));
-    decisions.put("Early Position(Bet > 20)", decideAction(score, earlyPositionThreshold));
-    decisions.put("Middle Position(Bet > 15)", decideAction(score, middlePositionThreshold));
+  /**
+   * Returns the action recommended for this hand at a position. Unlike {@link #getPositionDecisions(int)},
+   * this reads the precomputed {@code StartingHandTable} and allocates nothing.
+   *
+   * @param position The position at the table.
+   * @return The recommended action.
+   */
+  public Action getPositionAction(Position position) {
+    int handClass = StartingHandTable.classOf(cards.get(0), cards.get(1));
+    if (handClass < 0) {
+      return Action.forScore(calculateScore(), StartingHandTable.getStrategyProfile().getThreshold(position));
+    }
+    return StartingHandTable.getAction(handClass, position);
+  }
 
-    return decisions;
+  /**
+   * Returns the comment for this hand at a position. Unlike {@link #getPositionBasedComments()}, this reads
+   * the precomputed comment strings and allocates nothing.
+   *
+   * @param position The position at the table.
+   * @return The comment, as it appears in the map returned by {@link #getPositionBasedComments()}.
+   */
+  public String getPositionComment(Position position) {
+    int handClass = StartingHandTable.classOf(cards.get(0), cards.get(1));
+    if (handClass < 0) {
+      HandCombination combination = HandCombination.fromLabel(getHandCombination());
+      return StartingHandTable.getComment(combination, position, getPositionAction(position));
+    }
+    return StartingHandTable.getComment(handClass, position);
   }
 
   /**
    * Generates and returns position-based comments that provide insight into why certain decisions
    * are recommended. These comments are useful for players to understand the rationale behind suggested
-   * betting strategies.
+   * betting strategies. The string-keyed map is kept for the view; see {@link #getPositionComment(Position)}
+   * for the allocation-free lookup.
    *
    * @return A map of position-based strategic comments.
    */
   @Override
   public Map<String, String> getPositionBasedComments() {
     int score = calculateScore();
-    Map<String, String> decisions = getPositionDecisions(score);
+    return buildPositionBasedComments(getPositionDecisions(score), getHandCombination());
+  }
+
+  /**
+   * Builds the position-based comments for a set of decisions and a hand combination. This is shared with the
+   * {@code StartingHandTable}, which caches the comments of every hand class.
+   *
+   * @param decisions The decisions keyed by position.
+   * @param handCombination The type of hand combination evaluated.
+   * @return A map of position-based strategic comments.
+   */
+  Map<String, String> buildPositionBasedComments(Map<String, String> decisions, String handCombination) {
     Map<String, String> adviceMap = new HashMap<>();
-    String handCombination = getHandCombination(); // Get the hand combination once for all positions
 
     // Generate comments based on the decisions
     decisions.forEach((position, decision) -> {
@@ -227,22 +273,24 @@ public class TexasHoldemHandEvaluator extends AbstractHandEvaluator {
     String fold = "at this position, the disadvantage outweigh the strength of the hand.";
     String lateposition = "Late position gives you the advantages to observe other player's action. ";
 
-    switch (position) {
-      case "Early Position(Bet > 20)":
+    Position seat = Position.fromLabel(position);
+    if (seat == null) {
+      logUnexpectedPosition(position);
+      return "Unexpected position. Play cautiously.";
+    }
+    switch (seat) {
+      case EARLY:
         return decision.equals("Fold")
             ? rationale + "However, " + fold
             : "Betting early since " + rationale;
-      case "Middle Position(Bet > 15)":
+      case MIDDLE:
         return decision.equals("Fold")
             ? rationale + "But, " + fold
             : rationale + "Middle position gives you some edge aginst players at early position.";
-      case "Late Position(Bet > 12)":
+      default:
         return decision.equals("Fold")
             ? lateposition + rationale + "However, the risk is not manageble in this scenario."
             : lateposition + " So you can play wider range of hands.";
-      default:
-        logUnexpectedPosition(position);
-        return "Unexpected position. Play cautiously.";
     }
   }
 
@@ -1,6 +1,7 @@
 package view;
 
 import javax.swing.*;
+import javax.swing.text.DefaultCaret;
 import java.awt.BorderLayout;
 import java.util.Map;
 
@@ -8,6 +9,9 @@ import java.util.Map;
  * Provides the graphical user interface for the poker hand evaluator application.
  * This class extends {@link JFrame} and implements {@code IUserInterface}, handling all user interactions
  * including card input, button actions, and displaying results and errors.
+ *
+ * <p>The results area is drawn through a {@link ResultDocument}: each {@code display*} call replaces or adds a
+ * section, and only the characters that changed are written to the text area, at most once per frame.</p>
  */
 public class HoldemView extends JFrame implements view.IUserInterface {
   public JTextField card1ValueTextField = new JTextField(3);
@@ -16,6 +20,7 @@ public class HoldemView extends JFrame implements view.IUserInterface {
   public JTextField card2SuitTextField = new JTextField(3);
   public JButton submitButton = new JButton("Evaluate Hand");
   public JTextArea resultArea = new JTextArea(20, 100);  // Adjusted size for better visibility
+  private final ResultDocument results = new ResultDocument(resultArea.getDocument());
 
   /**
    * Constructs a HoldemView and initializes its UI components.
@@ -44,6 +49,8 @@ public class HoldemView extends JFrame implements view.IUserInterface {
     panel.add(submitButton);
 
     resultArea.setEditable(false);
+    // Keep the scroll position while the results are updated in place
+    ((DefaultCaret) resultArea.getCaret()).setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
     JScrollPane scrollPane = new JScrollPane(resultArea);
     add(panel, BorderLayout.CENTER);
     add(scrollPane, BorderLayout.SOUTH);
@@ -107,7 +114,7 @@ public class HoldemView extends JFrame implements view.IUserInterface {
    * Clears the results area text.
    */
   public void clearResultsArea() {
-    resultArea.setText("");
+    results.clear();
   }
 
   /**
@@ -117,13 +124,7 @@ public class HoldemView extends JFrame implements view.IUserInterface {
    * @param dataMap a map containing strings to display in key-value pairs.
    */
   public void updateTextArea(String title, Map<String, String> dataMap) {
-    StringBuilder stringBuilder = new StringBuilder(resultArea.getText());
-    stringBuilder.append(title).append(":\n");
-    for (Map.Entry<String, String> entry : dataMap.entrySet()) {
-      stringBuilder.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-    }
-    stringBuilder.append("\n");
-    resultArea.setText(stringBuilder.toString());
+    results.append(formatSection(title, dataMap));
   }
 
   /**
@@ -132,8 +133,8 @@ public class HoldemView extends JFrame implements view.IUserInterface {
    * @param handInfo a string containing formatted information about a hand.
    */
   public void displayHandInformation(String handInfo) {
-    clearResultsArea();
-    resultArea.append(handInfo + "\n\n");
+    results.clear();
+    results.append(handInfo + "\n\n");
   }
 
   /**
@@ -142,11 +143,7 @@ public class HoldemView extends JFrame implements view.IUserInterface {
    * @param decisions a map of decisions where keys are position descriptions and values are the recommended actions.
    */
   public void displayDecisions(Map<String, String> decisions) {
-    resultArea.append("Decisions:\n");
-    for (Map.Entry<String, String> entry : decisions.entrySet()) {
-      resultArea.append(entry.getKey() + ": " + entry.getValue() + "\n");
-    }
-    resultArea.append("\n");
+    results.append(formatSection("Decisions", decisions));
   }
 
   /**
@@ -155,10 +152,18 @@ public class HoldemView extends JFrame implements view.IUserInterface {
    * @param comments a map containing comments for various game positions.
    */
   public void displayComments(Map<String, String> comments) {
-    resultArea.append("Comments:\n");
-    for (Map.Entry<String, String> entry : comments.entrySet()) {
-      resultArea.append(entry.getKey() + ": " + entry.getValue() + "\n");
+    results.append(formatSection("Comments", comments));
+  }
+
+  /**
+   * Formats a titled section with one key-value pair per line, followed by a blank line.
+   */
+  private static String formatSection(String title, Map<String, String> dataMap) {
+    StringBuilder stringBuilder = new StringBuilder();
+    stringBuilder.append(title).append(":\n");
+    for (Map.Entry<String, String> entry : dataMap.entrySet()) {
+      stringBuilder.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
     }
-    resultArea.append("\n");
+    return stringBuilder.append("\n").toString();
   }
 }
@@ -0,0 +1,187 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+/**
+ * Keeps the results shown in a text component as an ordered list of sections, such as the hand information, the
+ * decisions and the comments, and writes only what changed to the underlying {@link Document}.
+ *
+ * <p>Updates are staged and drawn at most once per refresh interval. A section added when nothing was drawn during
+ * the last interval is drawn at once. Other updates, and clearing the sections, which is nearly always followed by
+ * new ones, are merged and drawn by a {@link Timer} on the Event Dispatch Thread when the interval ends. A
+ * simulation can therefore publish thousands of estimates per second while the document is edited about sixty
+ * times per second.</p>
+ *
+ * <p>When drawing, each section is compared with the one drawn before at the same place. Sections that did not
+ * change are left alone, and in a section that did, only the characters between the common beginning and the
+ * common end are replaced. An equity estimate that moves from 52.3% to 52.7% is therefore one one-character edit,
+ * however long the rest of the results are.</p>
+ */
+public final class ResultDocument {
+  /**
+   * Default time between two redraws, about one frame of a 60 Hz display.
+   */
+  public static final int DEFAULT_REFRESH_MILLIS = 16;
+
+  private final Document document;
+  private final long refreshNanos;
+  private final Timer timer;
+  private final List<String> staged = new ArrayList<>();
+  private final List<String> rendered = new ArrayList<>();
+  private boolean dirty;
+  private long lastFlush;
+
+  /**
+   * Constructs a model drawing into a document at most once per frame.
+   *
+   * @param document the document to draw into; it should not be edited by anything else.
+   */
+  public ResultDocument(Document document) {
+    this(document, DEFAULT_REFRESH_MILLIS);
+  }
+
+  /**
+   * Constructs a model drawing into a document at most once per refresh interval.
+   *
+   * @param document the document to draw into; it should not be edited by anything else.
+   * @param refreshMillis the shortest time between two redraws, in milliseconds.
+   * @throws IllegalArgumentException if the interval is negative.
+   */
+  public ResultDocument(Document document, int refreshMillis) {
+    if (refreshMillis < 0) {
+      throw new IllegalArgumentException("Refresh interval cannot be negative: " + refreshMillis);
+    }
+    this.document = document;
+    this.refreshNanos = refreshMillis * 1_000_000L;
+    this.lastFlush = System.nanoTime() - refreshNanos;
+    this.timer = new Timer(refreshMillis, e -> flush());
+    this.timer.setRepeats(false);
+  }
+
+  /**
+   * Removes every section.
+   */
+  public synchronized void clear() {
+    staged.clear();
+    // New sections nearly always follow in the same event, so the empty document is never drawn on its own
+    dirty = true;
+    if (!timer.isRunning()) {
+      schedule(lastFlush + refreshNanos - System.nanoTime());
+    }
+  }
+
+  /**
+   * Adds a section after the existing ones.
+   *
+   * @param text the text of the section, including its line breaks.
+   */
+  public synchronized void append(String text) {
+    staged.add(text);
+    changed();
+  }
+
+  /**
+   * Returns the text the document will hold once the staged updates are drawn.
+   *
+   * @return the text of every section, in order.
+   */
+  public synchronized String getText() {
+    return String.join("", staged);
+  }
+
+  /**
+   * Draws the staged updates now if nothing was drawn during the last interval, and otherwise makes sure they are
+   * drawn when it ends.
+   */
+  private void changed() {
+    dirty = true;
+    if (timer.isRunning()) {
+      return;
+    }
+    long wait = lastFlush + refreshNanos - System.nanoTime();
+    if (wait <= 0) {
+      flush();
+    } else {
+      schedule(wait);
+    }
+  }
+
+  private void schedule(long waitNanos) {
+    timer.setInitialDelay((int) Math.max(0, waitNanos / 1_000_000L));
+    timer.start();
+  }
+
+  /**
+   * Draws the staged updates now, editing only the sections that changed.
+   */
+  public synchronized void flush() {
+    timer.stop();
+    if (!dirty) {
+      return;
+    }
+    dirty = false;
+    lastFlush = System.nanoTime();
+    try {
+      if (document.getLength() != length(rendered, 0)) {
+        // Something else edited the document, so the drawn sections no longer say where text is
+        document.remove(0, document.getLength());
+        rendered.clear();
+      }
+      int offset = 0;
+      int common = Math.min(staged.size(), rendered.size());
+      for (int i = 0; i < common; i++) {
+        replaceChanged(offset, rendered.get(i), staged.get(i));
+        offset += staged.get(i).length();
+      }
+      int removed = length(rendered, common);
+      if (removed > 0) {
+        document.remove(offset, removed);
+      }
+      if (staged.size() > common) {
+        document.insertString(offset, String.join("", staged.subList(common, staged.size())), null);
+      }
+    } catch (BadLocationException e) {
+      throw new IllegalStateException("Results document is out of step with its sections", e);
+    }
+    rendered.clear();
+    rendered.addAll(staged);
+  }
+
+  /**
+   * Replaces the part of a section that differs between what was drawn and what is staged.
+   */
+  private void replaceChanged(int offset, String before, String after) throws BadLocationException {
+    if (before.equals(after)) {
+      return;
+    }
+    int shorter = Math.min(before.length(), after.length());
+    int prefix = 0;
+    while (prefix < shorter && before.charAt(prefix) == after.charAt(prefix)) {
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < shorter - prefix
+        && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+      suffix++;
+    }
+    int removed = before.length() - prefix - suffix;
+    if (removed > 0) {
+      document.remove(offset + prefix, removed);
+    }
+    if (after.length() - prefix - suffix > 0) {
+      document.insertString(offset + prefix, after.substring(prefix, after.length() - suffix), null);
+    }
+  }
+
+  private static int length(List<String> sections, int from) {
+    int length = 0;
+    for (int i = from; i < sections.size(); i++) {
+      length += sections.get(i).length();
+    }
+    return length;
+  }
+}
@@ -1,48 +1,290 @@
-//import java.util.Collections;
-//import java.util.Map;
-//import org.junit.Before;
-//import org.junit.Test;
-//import static org.junit.Assert.*;
-//
-//public class HoldemControllerTest {
-//  private MockHoldemModel mockModel;
-//  private MockHoldemView mockView;
-//  private HoldemController controller;
-//
-//  @Before
-//  public void setUp() {
-//    HandF mockHand = new MockHandF("Pair", 2); // Assume MockHandF extends HandF
-//    Map<String, String> mockDecisions = Collections.singletonMap("Early", "Fold");
-//    Map<String, String> mockComments = Collections.singletonMap("Early", "Not favorable");
-//
-//    mockModel = new MockHoldemModel(mockHand, mockDecisions, mockComments);
-//    mockView = new MockHoldemView();
-//
-//    controller = new HoldemController(mockModel, mockView);
-//  }
-//
-//  @Test
-//  public void testEvaluateHandSuccessful() {
-//    controller.evaluateHand();
-//
-//    assertNotNull("Info should be displayed", mockView.displayedInfo);
-//    assertEquals("Decisions should be displayed", "Fold", mockView.displayedDecisions.get("Early"));
-//    assertEquals("Comments should be displayed", "Not favorable", mockView.displayedComments.get("Early"));
-//  }
-//
-//  @Test
-//  public void testEvaluateHandInvalidInput() {
-//    // Simulate invalid input
-//    mockView = new MockHoldemView() {
-//      @Override
-//      public String getFirstCardValue() {
-//        return ""; // Invalid value
-//      }
-//    };
-//    controller = new HoldemController(mockModel, mockView);
-//
-//    controller.evaluateHand();
-//
-//    assertEquals("Invalid Input: Card value cannot be empty", mockView.displayedError);
-//  }
-//}
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Test class for {@code HoldemController}, driven without a display: the view is a stub, the view updates run
+ * on the thread that publishes them, and the evaluations run on an executor chosen by each test.
+ */
+public class HoldemControllerTest {
+  private StubView view;
+  private ScriptedModel model;
+  private ManualExecutor manualExecutor;
+  private HoldemController controller;
+
+  @Before
+  public void setUp() {
+    view = new StubView();
+    model = new ScriptedModel();
+    manualExecutor = new ManualExecutor();
+    controller = new HoldemController(model, view, manualExecutor, Runnable::run);
+  }
+
+  @After
+  public void tearDown() {
+    controller.shutdown();
+  }
+
+  @Test
+  public void testOnlyTheLastOfRapidSubmissionsIsEvaluated() {
+    view.enter("A", "S", "K", "S");
+    controller.evaluateHand();
+    view.enter("Q", "H", "Q", "D");
+    controller.evaluateHand();
+    view.enter("7", "C", "2", "D");
+    controller.evaluateHand();
+    assertEquals(1, manualExecutor.queued());
+
+    manualExecutor.runAll();
+    assertEquals(List.of("7C " + ScriptedModel.ROUNDS), model.runs);
+    List<String> shown = view.drain();
+    assertEquals(ScriptedModel.ROUNDS + 1, shown.size());
+    for (String info : shown) {
+      assertTrue(info, info.startsWith(handInfo("7", "C", "2", "D")));
+    }
+    assertEquals(finalInfo("7", "C", "2", "D"), shown.get(shown.size() - 1));
+  }
+
+  @Test
+  public void testSupersededEvaluationStopsEarly() {
+    // The user submits another hand while the third round of the first one is running
+    model.beforeRound = (card, round) -> {
+      if (card.equals(CardF.of("A", "S")) && round == 2) {
+        view.enter("Q", "H", "Q", "D");
+        controller.evaluateHand();
+      }
+    };
+    view.enter("A", "S", "K", "S");
+    controller.evaluateHand();
+    manualExecutor.runAll();
+
+    assertEquals(List.of("AS 2", "QH " + ScriptedModel.ROUNDS), model.runs);
+    List<String> shown = view.drain();
+    assertEquals(finalInfo("Q", "H", "Q", "D"), shown.get(shown.size() - 1));
+    // The hand and the two finished rounds of the first submission, then everything of the second
+    assertEquals(3 + ScriptedModel.ROUNDS + 1, shown.size());
+    for (String info : shown.subList(3, shown.size())) {
+      assertTrue(info, info.startsWith(handInfo("Q", "H", "Q", "D")));
+    }
+  }
+
+  @Test
+  public void testFailedEvaluationIsReportedAndTheWorkerKeepsRunning() throws InterruptedException {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    HoldemController threaded = new HoldemController(model, view, executor, Runnable::run);
+    try {
+      model.beforeRound = (card, round) -> {
+        if (card.equals(CardF.of("A", "S"))) {
+          throw new IllegalStateException("Simulation failed");
+        }
+      };
+      view.enter("A", "S", "K", "S");
+      threaded.evaluateHand();
+      assertEquals(handInfo("A", "S", "K", "S"), view.next());
+      assertEquals("Error: Evaluation failed: Simulation failed", view.next());
+
+      view.enter("Q", "H", "Q", "D");
+      threaded.evaluateHand();
+      String info;
+      do {
+        info = view.next();
+        assertTrue(info, info.startsWith(handInfo("Q", "H", "Q", "D")));
+      } while (!info.equals(finalInfo("Q", "H", "Q", "D")));
+    } finally {
+      threaded.shutdown();
+    }
+  }
+
+  @Test
+  public void testInvalidInputIsReported() {
+    view.enter("", "S", "K", "S");
+    controller.evaluateHand();
+    manualExecutor.runAll();
+
+    List<String> shown = view.drain();
+    assertEquals(1, shown.size());
+    assertTrue(shown.get(0), shown.get(0).startsWith("Error: Invalid Input: "));
+    assertTrue(model.runs.isEmpty());
+  }
+
+  private static String handInfo(String value1, String suit1, String value2, String suit2) {
+    return new HandInfoDisplayFormat().formatHandInformation(
+        new HoldemModel().createHand(value1, suit1, value2, suit2));
+  }
+
+  private static String finalInfo(String value1, String suit1, String value2, String suit2) {
+    return handInfo(value1, suit1, value2, suit2) + "\n" + new HandInfoDisplayFormat().formatEquity(
+        ScriptedModel.estimate(CardF.of(value1, suit1), ScriptedModel.ROUNDS - 1));
+  }
+
+  /**
+   * A model whose equity against a random hand is a scripted series of rounds, recording how many rounds each
+   * evaluation went through before it finished or was stopped.
+   */
+  private static final class ScriptedModel extends HoldemModel {
+    static final int ROUNDS = 5;
+
+    final List<String> runs = Collections.synchronizedList(new ArrayList<>());
+    volatile BiConsumer<CardF, Integer> beforeRound = (card, round) -> { };
+
+    static EquityResult estimate(CardF card, int round) {
+      double equity = card.getIndex() / 100.0;
+      return new EquityResult(new double[] {equity, 1 - equity}, new double[] {0.01, 0.01}, (round + 1) * 1000L,
+          0.95);
+    }
+
+    @Override
+    public EquityResult evaluateAgainstRandomHand(CardF card1, CardF card2, List<CardF> board,
+        Predicate<EquityResult> progress) {
+      EquityResult estimate = null;
+      int rounds = 0;
+      while (rounds < ROUNDS) {
+        beforeRound.accept(card1, rounds);
+        estimate = estimate(card1, rounds);
+        if (!progress.test(estimate)) {
+          break;
+        }
+        rounds++;
+      }
+      runs.add(card1.getValue() + card1.getSuit() + " " + rounds);
+      return estimate;
+    }
+  }
+
+  /**
+   * A view that takes its input from the test and records what it is asked to show, in order.
+   */
+  private static final class StubView implements view.IUserInterface {
+    private volatile String[] input = {"A", "S", "K", "S"};
+    private final BlockingQueue<String> shown = new LinkedBlockingQueue<>();
+
+    void enter(String value1, String suit1, String value2, String suit2) {
+      input = new String[] {value1, suit1, value2, suit2};
+    }
+
+    List<String> drain() {
+      List<String> drained = new ArrayList<>();
+      shown.drainTo(drained);
+      return drained;
+    }
+
+    String next() throws InterruptedException {
+      String info = shown.poll(10, TimeUnit.SECONDS);
+      assertNotNull("Nothing was shown", info);
+      return info;
+    }
+
+    @Override
+    public String getFirstCardValue() {
+      return input[0];
+    }
+
+    @Override
+    public String getFirstCardSuit() {
+      return input[1];
+    }
+
+    @Override
+    public String getSecondCardValue() {
+      return input[2];
+    }
+
+    @Override
+    public String getSecondCardSuit() {
+      return input[3];
+    }
+
+    @Override
+    public void displayError(String message) {
+      shown.add("Error: " + message);
+    }
+
+    @Override
+    public void clearResultsArea() {
+    }
+
+    @Override
+    public void updateTextArea(String title, Map<String, String> dataMap) {
+    }
+
+    @Override
+    public void displayHandInformation(String handInfo) {
+      shown.add(handInfo);
+    }
+
+    @Override
+    public void displayDecisions(Map<String, String> decisions) {
+    }
+
+    @Override
+    public void displayComments(Map<String, String> comments) {
+    }
+  }
+
+  /**
+   * Queues the evaluations and runs them only when the test asks, so the test decides what is waiting when.
+   */
+  private static final class ManualExecutor extends AbstractExecutorService {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean shutdown;
+
+    int queued() {
+      return tasks.size();
+    }
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      shutdown = true;
+      List<Runnable> pending = new ArrayList<>(tasks);
+      tasks.clear();
+      return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return isTerminated();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Test class for {@code HoldemBinaryServer}. Each test starts a server on a free loopback port and talks to it
+ * over a blocking {@code SocketChannel}.
+ */
+public class HoldemBinaryServerTest {
+  private HoldemBinaryServer server;
+  private SocketChannel channel;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HoldemBinaryServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    channel.close();
+    server.close();
+  }
+
+  private static ByteBuffer request(int... cards) {
+    ByteBuffer request = ByteBuffer.allocate(2 + cards.length);
+    request.putShort((short) (cards.length / 2));
+    for (int card : cards) {
+      request.put((byte) card);
+    }
+    return request.flip();
+  }
+
+  private void send(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private ByteBuffer receive(int hands) throws IOException {
+    ByteBuffer response = ByteBuffer.allocate(2 + 4 * hands);
+    while (response.hasRemaining()) {
+      if (channel.read(response) < 0) {
+        throw new IOException("Connection closed");
+      }
+    }
+    response.flip();
+    assertEquals(hands, response.getShort() & 0xFFFF);
+    return response;
+  }
+
+  @Test
+  public void testResponsesMatchBatchEvaluation() throws IOException {
+    int aceSpades = CardF.indexOf("A", "S");
+    int kingHearts = CardF.indexOf("K", "H");
+    int sevenClubs = CardF.indexOf("7", "C");
+    int twoDiamonds = CardF.indexOf("2", "D");
+    HandBatchResult expected = HoldemModel.evaluateBatch(new int[] {
+        aceSpades * CardF.DECK_SIZE + kingHearts, sevenClubs * CardF.DECK_SIZE + twoDiamonds});
+
+    send(request(aceSpades, kingHearts, sevenClubs, twoDiamonds));
+    ByteBuffer response = receive(2);
+
+    for (int hand = 0; hand < 2; hand++) {
+      assertEquals(expected.getScore(hand), response.getShort());
+      assertEquals(expected.getCombinationOrdinal(hand), response.get() & 0xFF);
+      assertEquals(expected.getDecisionMask(hand), response.get() & 0xFF);
+    }
+  }
+
+  @Test
+  public void testScoresOutsideSixteenBitsAreClamped() throws IOException {
+    StartingHandTable.setStrategyProfile(new StrategyProfile("huge-bonuses", 100_000, -100_000, 7, 3, 20, 15, 12));
+    try {
+      int aceSpades = CardF.indexOf("A", "S");
+      int aceHearts = CardF.indexOf("A", "H");
+      int sevenClubs = CardF.indexOf("7", "C");
+      int twoClubs = CardF.indexOf("2", "C");
+      HandBatchResult expected = HoldemModel.evaluateBatch(new int[] {
+          aceSpades * CardF.DECK_SIZE + aceHearts, sevenClubs * CardF.DECK_SIZE + twoClubs});
+      assertTrue(expected.getScore(0) > Short.MAX_VALUE);
+      assertTrue(expected.getScore(1) < Short.MIN_VALUE);
+
+      send(request(aceSpades, aceHearts, sevenClubs, twoClubs));
+      ByteBuffer response = receive(2);
+
+      assertEquals(Short.MAX_VALUE, response.getShort());
+      assertEquals(expected.getCombinationOrdinal(0), response.get() & 0xFF);
+      assertEquals(expected.getDecisionMask(0), response.get() & 0xFF);
+      assertEquals(Short.MIN_VALUE, response.getShort());
+      assertEquals(expected.getCombinationOrdinal(1), response.get() & 0xFF);
+      assertEquals(expected.getDecisionMask(1), response.get() & 0xFF);
+    } finally {
+      StartingHandTable.setStrategyProfile(StrategyProfile.DEFAULT);
+    }
+  }
+
+  @Test
+  public void testInvalidHandsAreMarked() throws IOException {
+    send(request(5, 5, 52, 0, 0, 1));
+    ByteBuffer response = receive(3);
+
+    assertEquals(HoldemBinaryServer.INVALID_HAND << 8, response.getInt());
+    assertEquals(HoldemBinaryServer.INVALID_HAND << 8, response.getInt());
+    response.getShort();
+    assertNotEquals(HoldemBinaryServer.INVALID_HAND, response.get() & 0xFF);
+  }
+
+  @Test
+  public void testPipelinedRequestsAreAnsweredInOrder() throws IOException {
+    ByteBuffer requests = ByteBuffer.allocate(3 * 4 + 2);
+    requests.put(request(48, 49)).put(request(0, 4)).put(request(51, 47)).putShort((short) 0).flip();
+    send(requests);
+
+    assertEquals(HoldemModel.evaluateBatch(new int[] {48 * 52 + 49}).getScore(0), receive(1).getShort());
+    assertEquals(HoldemModel.evaluateBatch(new int[] {4}).getScore(0), receive(1).getShort());
+    assertEquals(HoldemModel.evaluateBatch(new int[] {51 * 52 + 47}).getScore(0), receive(1).getShort());
+    receive(0);
+  }
+
+  @Test
+  public void testClientThatReadsLateGetsEveryResponse() throws Exception {
+    int frames = 200;
+    int hands = HoldemBinaryServer.MAX_FRAME_HANDS;
+    // About 1.6 MB of requests and 3.2 MB of responses, far more than the socket buffers hold
+    Thread writer = Thread.ofPlatform().start(() -> {
+      try {
+        for (int frame = 0; frame < frames; frame++) {
+          ByteBuffer request = ByteBuffer.allocate(2 + 2 * hands);
+          request.putShort((short) hands);
+          for (int i = 0; i < hands; i++) {
+            request.put((byte) (i % 52)).put((byte) ((i + 1) % 52));
+          }
+          send(request.flip());
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Thread.sleep(200);
+    for (int frame = 0; frame < frames; frame++) {
+      receive(hands);
+    }
+    writer.join();
+  }
+
+  @Test
+  public void testOversizedFrameClosesConnection() throws IOException {
+    ByteBuffer request = ByteBuffer.allocate(2).putShort((short) (HoldemBinaryServer.MAX_FRAME_HANDS + 1));
+    send(request.flip());
+
+    assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+  }
+}
@@ -0,0 +1,128 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for {@code HoldemServer}. Each test starts a server on a free loopback port.
+ */
+public class HoldemServerTest {
+  private HoldemServer server;
+  private HttpClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HoldemServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    client = HttpClient.newHttpClient();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + server.getPort() + path);
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> post(String path, String body) throws Exception {
+    return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  public void testEvaluateMatchesStatelessModel() throws Exception {
+    HttpResponse<String> response = get("/evaluate?hand=AsKh");
+    HandEvaluation expected = new StatelessHoldemModel().evaluate("A", "S", "K", "H");
+
+    assertEquals(200, response.statusCode());
+    assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+    assertTrue(response.body().startsWith("{\"hand\":\"AsKh\",\"score\":" + expected.getScore() + ","));
+    assertTrue(response.body().contains("\"combination\":\"" + expected.getCombination() + "\""));
+    assertTrue(response.body().contains("\"EARLY\":\"" + expected.getAction(Position.EARLY).getLabel() + "\""));
+  }
+
+  @Test
+  public void testBatchKeepsRequestOrder() throws Exception {
+    HttpResponse<String> response = post("/evaluate/batch", "[\"7c2d\", \"AsAh\",\"tdjd\"]");
+
+    assertEquals(200, response.statusCode());
+    String body = response.body();
+    assertTrue(body.startsWith("[{\"hand\":\"7c2d\""));
+    assertTrue(body.indexOf("\"hand\":\"AsAh\"") < body.indexOf("\"hand\":\"TdJd\""));
+    assertTrue(body.endsWith("}]"));
+    assertEquals("[]", post("/evaluate/batch", "[]").body());
+  }
+
+  @Test
+  public void testInvalidInputIsRejected() throws Exception {
+    assertEquals(400, get("/evaluate?hand=AsAs").statusCode());
+    assertEquals(400, get("/evaluate?hand=1s2h").statusCode());
+    assertEquals(400, get("/evaluate").statusCode());
+    assertEquals(405, post("/evaluate", "").statusCode());
+    assertEquals(404, get("/evaluate/other").statusCode());
+
+    HttpResponse<String> response = post("/evaluate/batch", "[\"AsKh\",\"Xx\"]");
+    assertEquals(400, response.statusCode());
+    assertEquals("{\"error\":\"Invalid hand at index 1: Xx\"}", response.body());
+  }
+
+  @Test
+  public void testBatchSizeIsLimited() throws Exception {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i <= HoldemServer.MAX_BATCH_HANDS; i++) {
+      body.append("AsKh ");
+    }
+    assertEquals(400, post("/evaluate/batch", body.toString()).statusCode());
+  }
+
+  @Test
+  public void testPipelinedRequestsOnOneConnection() throws Exception {
+    String body = "[\"AsKh\",\"7c2d\"]";
+    String requests = "GET /evaluate?hand=QcQd HTTP/1.1\r\nHost: localhost\r\n\r\n"
+        + "POST /evaluate/batch HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + body.length() + "\r\n\r\n" + body
+        + "GET /evaluate?hand=2s3s HTTP/1.1\r\nHost: localhost\r\n\r\n";
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+      socket.setSoTimeout(5000);
+      socket.getOutputStream().write(requests.getBytes(StandardCharsets.US_ASCII));
+      InputStream in = socket.getInputStream();
+
+      assertTrue(readResponse(in).contains("\"hand\":\"QcQd\""));
+      assertTrue(readResponse(in).contains("\"hand\":\"7c2d\""));
+      assertTrue(readResponse(in).contains("\"hand\":\"2s3s\""));
+    }
+  }
+
+  /**
+   * Reads one response with a Content-Length from a kept-alive connection and returns its body.
+   */
+  private static String readResponse(InputStream in) throws IOException {
+    ByteArrayOutputStream headers = new ByteArrayOutputStream();
+    while (!headers.toString(StandardCharsets.US_ASCII).endsWith("\r\n\r\n")) {
+      int b = in.read();
+      assertTrue("Connection closed early", b >= 0);
+      headers.write(b);
+    }
+    String head = headers.toString(StandardCharsets.US_ASCII);
+    assertTrue(head, head.startsWith("HTTP/1.1 200"));
+    int start = head.toLowerCase().indexOf("content-length:") + "content-length:".length();
+    int length = Integer.parseInt(head.substring(start, head.indexOf("\r\n", start)).trim());
+    return new String(in.readNBytes(length), StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,128 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for {@code BoundedCache} and the evaluation cache of {@code HoldemModel}.
+ */
+public class BoundedCacheTest {
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    BoundedCache<String, Integer> cache = new BoundedCache<>(3, (key, value) -> 1, 1);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    cache.put("c", 3);
+    assertEquals(Integer.valueOf(1), cache.getIfPresent("a"));
+    cache.put("d", 4);
+    assertNull("b was the least recently used", cache.getIfPresent("b"));
+    assertEquals(Integer.valueOf(1), cache.getIfPresent("a"));
+    assertEquals(3, cache.size());
+    assertEquals(1, cache.stats().getEvictions());
+  }
+
+  @Test
+  public void testWeightBound() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10, (key, value) -> value.length(), 1);
+    cache.put("a", "12345");
+    cache.put("b", "1234");
+    cache.put("c", "123");
+    CacheStats stats = cache.stats();
+    assertEquals(7, stats.getWeight());
+    assertEquals(2, stats.getSize());
+    cache.put("huge", "12345678901");
+    assertNull("Heavier than the whole cache", cache.getIfPresent("huge"));
+    cache.put("c", "1");
+    assertEquals(5, cache.stats().getWeight());
+  }
+
+  @Test
+  public void testStatistics() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+    AtomicInteger loads = new AtomicInteger();
+    for (int round = 0; round < 3; round++) {
+      for (int key = 0; key < 10; key++) {
+        assertEquals(Integer.valueOf(key * key), cache.get(key, k -> {
+          loads.incrementAndGet();
+          return k * k;
+        }));
+      }
+    }
+    CacheStats stats = cache.stats();
+    assertEquals(10, loads.get());
+    assertEquals(10, stats.getMisses());
+    assertEquals(20, stats.getHits());
+    assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConcurrentAccessStaysBounded() throws Exception {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(64);
+    List<Future<?>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int thread = 0; thread < 200; thread++) {
+        int offset = thread;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            int key = (offset + i) % 300;
+            assertEquals(Integer.valueOf(key + 1), cache.get(key, k -> k + 1));
+          }
+        }));
+      }
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    CacheStats stats = cache.stats();
+    assertTrue(stats.getSize() <= 64);
+    assertEquals(200 * 1000, stats.getHits() + stats.getMisses());
+    assertTrue(stats.getEvictions() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new BoundedCache<String, String>(0);
+  }
+
+  @Test
+  public void testModelCachesEvaluations() {
+    HoldemModel model = new HoldemModel();
+    CardF ace = new CardF("A", "S");
+    CardF king = new CardF("K", "S");
+    EquityResult first = model.evaluateAgainstRandomHand(ace, king, Collections.emptyList());
+    EquityResult second = model.evaluateAgainstRandomHand(king, ace, Collections.emptyList());
+    assertSame("The same hand in either order is one cache entry", first, second);
+    assertEquals(0.67, first.getEquity(0), 0.01);
+    CacheStats stats = model.getEvaluationCacheStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(1, stats.getMisses());
+
+    EquityResult flop = model.evaluateAgainstRandomHand(ace, king,
+        List.of(new CardF("A", "H"), new CardF("7", "D"), new CardF("2", "C")));
+    assertNotSame(first, flop);
+    assertTrue(flop.getEquity(0) > first.getEquity(0));
+  }
+
+  @Test
+  public void testStrategyChangeMissesCache() {
+    HoldemModel model = new HoldemModel();
+    CardF ace = new CardF("A", "S");
+    CardF king = new CardF("K", "S");
+    model.evaluateAgainstRandomHand(ace, king, Collections.emptyList());
+    try {
+      StartingHandTable.setStrategyProfile(new StrategyProfile("other", 15, 7, 7, 3, 21, 16, 13));
+      model.evaluateAgainstRandomHand(ace, king, Collections.emptyList());
+      assertEquals(2, model.getEvaluationCacheStats().getMisses());
+    } finally {
+      StartingHandTable.setStrategyProfile(StrategyProfile.DEFAULT);
+    }
+  }
+}
@@ -88,5 +88,28 @@ public class CardFTest {
     assertFalse("Non-equal objects should generally have different hash codes", kingOfHearts.hashCode() == tenOfDiamonds.hashCode());
     assertFalse("Non-equal objects should generally have different hash codes", queenOfClubs.hashCode() == secondAceOfSpades.hashCode());
   }
-}
 
+  @Test
+  public void testOfReturnsCanonicalInstance() {
+    assertSame("Cards from of() should be interned", CardF.of("A", "S"), CardF.of("A", "S"));
+    assertSame("Index and value lookups should agree", CardF.of("10", "D"), CardF.of(tenOfDiamonds.getIndex()));
+    assertEquals("Interned cards should equal constructed cards", aceOfSpades, CardF.of("A", "S"));
+  }
+
+  @Test
+  public void testIndexEncoding() {
+    for (int index = 0; index < CardF.DECK_SIZE; index++) {
+      CardF card = CardF.of(index);
+      assertEquals("Index should round trip", index, card.getIndex());
+      assertEquals("Index should round trip through strings", index, CardF.indexOf(card.getValue(), card.getSuit()));
+      assertEquals("Rank should match numeric value", card.getNumericValue() - 2, card.getRank());
+    }
+    assertEquals("Ace of Spades should be rank 12, suit 0", 48, aceOfSpades.getIndex());
+    assertEquals("Diamonds should be suit 3", 3, tenOfDiamonds.getSuitIndex());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenIndexIsInvalid_thenExceptionIsThrown() {
+    CardF.of(52);
+  }
+}
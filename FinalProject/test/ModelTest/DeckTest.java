@@ -0,0 +1,85 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.SplittableRandom;
+
+/**
+ * Test class for {@code Deck}.
+ */
+public class DeckTest {
+
+  @Test
+  public void testDealsEveryCardOnce() {
+    Deck deck = Deck.seeded(5004);
+    long seen = 0;
+    for (int i = 0; i < CardF.DECK_SIZE; i++) {
+      int card = deck.deal();
+      assertEquals("Card dealt twice: " + card, 0, seen & (1L << card));
+      seen |= 1L << card;
+    }
+    assertEquals(CardF.DECK_SIZE, Long.bitCount(seen));
+    assertEquals(0, deck.remaining());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEmptyDeck() {
+    Deck deck = Deck.seeded(1);
+    for (int i = 0; i <= CardF.DECK_SIZE; i++) {
+      deck.deal();
+    }
+  }
+
+  @Test
+  public void testDeadCardsAreNeverDealt() {
+    long dead = (1L << CardF.indexOf("A", "S")) | (1L << CardF.indexOf("A", "H")) | (1L << 0);
+    Deck deck = new Deck(new SplittableRandom(7), dead);
+    assertEquals(CardF.DECK_SIZE - 3, deck.remaining());
+    for (int round = 0; round < 1000; round++) {
+      deck.reset();
+      int[] cards = new int[7];
+      deck.deal(cards, 0, cards.length);
+      for (int card : cards) {
+        assertEquals(0, dead & (1L << card));
+      }
+    }
+    deck.removeCards(1L << 51);
+    assertEquals(dead | (1L << 51), deck.getDeadCards());
+    assertEquals(CardF.DECK_SIZE - 4, deck.remaining());
+  }
+
+  @Test
+  public void testSameSeedDealsSameCards() {
+    Deck first = Deck.xoshiro(42);
+    Deck second = Deck.xoshiro(42);
+    for (int round = 0; round < 100; round++) {
+      first.reset();
+      second.reset();
+      for (int i = 0; i < 9; i++) {
+        assertEquals(first.deal(), second.deal());
+      }
+    }
+  }
+
+  @Test
+  public void testDealsAreRoughlyUniform() {
+    Deck deck = Deck.seeded(3);
+    int rounds = 52_000;
+    int[] counts = new int[CardF.DECK_SIZE];
+    for (int round = 0; round < rounds; round++) {
+      deck.reset();
+      deck.deal();
+      counts[deck.deal()]++;
+    }
+    double chiSquare = 0;
+    double expected = rounds / (double) CardF.DECK_SIZE;
+    for (int count : counts) {
+      chiSquare += (count - expected) * (count - expected) / expected;
+    }
+    // 51 degrees of freedom: the 99.9th percentile is about 87
+    assertTrue("Chi-square too large: " + chiSquare, chiSquare < 87);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGenerator() {
+    new Deck(null);
+  }
+}
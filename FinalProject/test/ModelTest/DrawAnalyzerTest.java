@@ -0,0 +1,149 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for {@code DrawAnalyzer}.
+ */
+public class DrawAnalyzerTest {
+
+  /**
+   * Builds a list of cards from value and suit pairs, such as {@code "A", "S", "K", "S"}.
+   */
+  private static List<CardF> cards(String... valuesAndSuits) {
+    List<CardF> cards = new ArrayList<>();
+    for (int i = 0; i < valuesAndSuits.length; i += 2) {
+      cards.add(CardF.of(valuesAndSuits[i], valuesAndSuits[i + 1]));
+    }
+    return cards;
+  }
+
+  private static int draws(String... valuesAndSuits) {
+    List<CardF> cards = cards(valuesAndSuits);
+    int[] board = new int[cards.size() - 2];
+    for (int i = 2; i < cards.size(); i++) {
+      board[i - 2] = cards.get(i).getIndex();
+    }
+    return DrawAnalyzer.analyze(cards.get(0).getIndex(), cards.get(1).getIndex(), board, board.length);
+  }
+
+  @Test
+  public void testFlushDraw() {
+    int draws = draws("A", "H", "5", "H", "K", "H", "9", "H", "2", "C");
+    assertEquals(9, DrawAnalyzer.flushOuts(draws));
+    assertEquals(0, DrawAnalyzer.straightOuts(draws));
+    assertEquals(9, DrawAnalyzer.totalOuts(draws));
+    assertEquals(SevenCardHandEvaluator.HIGH_CARD, DrawAnalyzer.madeCategory(draws));
+  }
+
+  @Test
+  public void testFlushOnBoardIsNotADraw() {
+    int draws = draws("A", "C", "5", "D", "K", "H", "9", "H", "2", "H", "7", "H");
+    assertEquals(0, DrawAnalyzer.flushOuts(draws));
+  }
+
+  @Test
+  public void testStraightDraws() {
+    int openEnded = draws("9", "S", "8", "D", "7", "C", "6", "H", "2", "S");
+    assertEquals(8, DrawAnalyzer.straightOuts(openEnded));
+    int gutshot = draws("9", "S", "8", "D", "6", "C", "5", "H", "K", "S");
+    assertEquals(4, DrawAnalyzer.straightOuts(gutshot));
+    int wheel = draws("A", "S", "2", "D", "3", "C", "4", "H", "K", "S");
+    assertEquals("Ace-to-five needs a five", 4, DrawAnalyzer.straightOuts(wheel));
+    int made = draws("9", "S", "8", "D", "7", "C", "6", "H", "5", "S");
+    assertEquals(0, DrawAnalyzer.straightOuts(made));
+  }
+
+  @Test
+  public void testStraightOnBoardIsNotADraw() {
+    // A ten or a five makes a straight on the board alone, which the hole cards do not improve
+    int draws = draws("2", "S", "2", "D", "9", "C", "8", "H", "7", "S", "6", "D");
+    assertEquals(0, DrawAnalyzer.straightOuts(draws));
+    // With the ten the hand already holds a straight, so there is nothing left to draw
+    int higher = draws("10", "S", "2", "D", "9", "C", "8", "H", "7", "S", "6", "D");
+    assertEquals(SevenCardHandEvaluator.STRAIGHT, DrawAnalyzer.madeCategory(higher));
+    assertEquals(0, DrawAnalyzer.straightOuts(higher));
+  }
+
+  @Test
+  public void testComboDrawCountsSharedOutsOnce() {
+    int draws = draws("9", "H", "8", "H", "7", "H", "6", "C", "2", "H");
+    assertEquals(9, DrawAnalyzer.flushOuts(draws));
+    assertEquals(8, DrawAnalyzer.straightOuts(draws));
+    assertEquals("The ten and five of hearts complete both", 15, DrawAnalyzer.totalOuts(draws));
+  }
+
+  @Test
+  public void testSetAndTwoPairDraws() {
+    int pocketPair = draws("7", "S", "7", "D", "K", "C", "Q", "H", "2", "S");
+    assertEquals(2, DrawAnalyzer.setOuts(pocketPair));
+    assertEquals(0, DrawAnalyzer.twoPairOuts(pocketPair));
+
+    int topPair = draws("A", "S", "J", "D", "A", "C", "8", "H", "3", "S");
+    assertEquals(3, DrawAnalyzer.twoPairOuts(topPair));
+    assertEquals(0, DrawAnalyzer.setOuts(topPair));
+
+    int set = draws("7", "S", "7", "D", "7", "C", "Q", "H", "2", "S");
+    assertEquals(0, DrawAnalyzer.setOuts(set));
+  }
+
+  @Test
+  public void testProbabilities() {
+    assertEquals(9 / 47.0, DrawAnalyzer.nextCardProbability(9, 3), 1e-12);
+    assertEquals(1 - 38.0 * 37.0 / (47.0 * 46.0), DrawAnalyzer.byRiverProbability(9, 3), 1e-12);
+    assertEquals(0.35, DrawAnalyzer.byRiverProbability(9, 3), 0.005);
+    assertEquals(9 / 46.0, DrawAnalyzer.byRiverProbability(9, 4), 1e-12);
+    assertEquals(0, DrawAnalyzer.byRiverProbability(0, 3), 0);
+  }
+
+  @Test
+  public void testEvaluatorInterface() {
+    AbstractHandEvaluator evaluator = new DrawAnalyzer(cards("9", "H", "8", "H", "7", "H", "6", "C", "2", "H"));
+    assertEquals("Flush Draw, Open-Ended Straight Draw", evaluator.getHandCombination());
+    assertEquals(15, evaluator.calculateScore());
+    DrawAnalyzer turn = new DrawAnalyzer(cards("A", "S", "K", "D", "Q", "C", "10", "H", "7", "S", "3", "D"));
+    assertEquals("Gutshot Straight Draw", turn.getHandCombination());
+    assertEquals(4 / 46.0, turn.getByRiverProbability(), 1e-12);
+    assertEquals(3, new DrawAnalyzer(cards("A", "S", "K", "D", "Q", "C", "2", "H", "7", "S"))
+        .getPositionDecisions(30).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPreflopHasNoOuts() {
+    new DrawAnalyzer(cards("A", "S", "K", "D")).getOuts();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateCard() {
+    new DrawAnalyzer(cards("A", "S", "K", "D", "A", "S", "2", "H", "7", "S")).getOuts();
+  }
+
+  @Test
+  public void testOutsImproveTheHand() {
+    // Every counted out, dealt as the next card, must make the hand better than it was
+    Deck deck = Deck.seeded(5004);
+    int[] cards = new int[7];
+    for (int deal = 0; deal < 2000; deal++) {
+      deck.reset();
+      deck.deal(cards, 0, 6);
+      int boardCount = 3 + deal % 2;
+      long known = 0;
+      for (int i = 0; i < 2 + boardCount; i++) {
+        known |= 1L << cards[i];
+      }
+      int draws = DrawAnalyzer.analyze(cards[0], cards[1], new int[] {cards[2], cards[3], cards[4], cards[5]},
+          boardCount);
+      int before = SevenCardHandEvaluator.categoryOf(SevenCardHandEvaluator.evaluate(cards, 2 + boardCount));
+      int improving = 0;
+      for (int next = 0; next < CardF.DECK_SIZE; next++) {
+        if ((known & 1L << next) == 0) {
+          cards[2 + boardCount] = next;
+          int after = SevenCardHandEvaluator.categoryOf(SevenCardHandEvaluator.evaluate(cards, 3 + boardCount));
+          improving += after > before ? 1 : 0;
+        }
+      }
+      assertTrue(DrawAnalyzer.totalOuts(draws) <= improving);
+    }
+  }
+}
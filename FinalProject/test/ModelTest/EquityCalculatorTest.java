@@ -0,0 +1,173 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for {@code EquityCalculator} and the equity methods of {@code HoldemModel}. Verifies well-known
+ * preflop matchups, exact results on complete boards, reproducibility of seeded runs and input validation.
+ */
+public class EquityCalculatorTest {
+  private final EquityCalculator calculator = new EquityCalculator();
+
+  private int card(String value, String suit) {
+    return CardF.indexOf(value, suit);
+  }
+
+  /**
+   * Tests that aces against kings with no shared suits is 81.26% (exact enumeration) to 18.74%, within the reported confidence interval.
+   */
+  @Test
+  public void testAcesAgainstKings() {
+    int[][] hands = {{card("A", "S"), card("A", "H")}, {card("K", "C"), card("K", "D")}};
+    EquityResult result = calculator.simulate(hands, new int[0], 200000, 0.999, 42);
+    assertEquals(2, result.getPlayerCount());
+    assertTrue("Aces should be about 81.3% against offsuit kings: " + result,
+        result.getLowerBound(0) < 0.8126 && 0.8126 < result.getUpperBound(0));
+    assertEquals("Equities should add up to one", 1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+    assertTrue("A sampled result should have a margin of error", result.getMarginOfError(0) > 0);
+  }
+
+  /**
+   * Tests that a complete board gives an exact result, including split pots.
+   */
+  @Test
+  public void testCompleteBoard() {
+    int[] board = {card("A", "D"), card("K", "C"), card("Q", "S"), card("J", "H"), card("10", "D")};
+    int[][] split = {{card("2", "S"), card("3", "H")}, {card("4", "C"), card("5", "D")}};
+    EquityResult result = calculator.simulate(split, board, 1000);
+    assertEquals("Both players play the board", 0.5, result.getEquity(0), 1e-9);
+    assertEquals("An exact result has no margin of error", 0.0, result.getMarginOfError(0), 1e-9);
+
+    int[] pairedBoard = {card("A", "D"), card("7", "C"), card("7", "S"), card("2", "H"), card("9", "D")};
+    int[][] trips = {{card("7", "H"), card("3", "H")}, {card("K", "C"), card("K", "D")}};
+    assertEquals(1.0, calculator.simulate(trips, pairedBoard, 1000).getEquity(0), 1e-9);
+  }
+
+  /**
+   * Tests that the same seed gives the same result, for three players and a partial board.
+   */
+  @Test
+  public void testSeededRunsAreReproducible() {
+    int[][] hands = {{card("A", "S"), card("K", "S")}, {card("Q", "H"), card("Q", "D")},
+        {card("7", "C"), card("8", "C")}};
+    int[] flop = {card("2", "S"), card("9", "C"), card("Q", "S")};
+    EquityResult first = calculator.simulate(hands, flop, 100000, 0.95, 7);
+    EquityResult second = calculator.simulate(hands, flop, 100000, 0.95, 7);
+    for (int player = 0; player < 3; player++) {
+      assertEquals(first.getEquity(player), second.getEquity(player), 0.0);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateCardsAreRejected() {
+    int[][] hands = {{card("A", "S"), card("A", "H")}, {card("A", "S"), card("K", "D")}};
+    calculator.simulate(hands, new int[0], 1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSinglePlayerIsRejected() {
+    calculator.simulate(new int[][] {{card("A", "S"), card("A", "H")}}, new int[0], 1000);
+  }
+
+  @Test
+  public void testInverseNormal() {
+    assertEquals(1.959964, EquityCalculator.inverseNormal(0.975), 1e-6);
+    assertEquals(0.0, EquityCalculator.inverseNormal(0.5), 1e-9);
+    assertEquals(-2.326348, EquityCalculator.inverseNormal(0.01), 1e-6);
+  }
+
+  /**
+   * Tests the equity entry point on {@code HoldemModel}.
+   */
+  @Test
+  public void testModelCalculateEquity() {
+    HoldemModel model = new HoldemModel();
+    List<List<CardF>> hands = Arrays.asList(
+        Arrays.asList(CardF.of("A", "S"), CardF.of("A", "H")),
+        Arrays.asList(CardF.of("7", "C"), CardF.of("2", "D")));
+    EquityResult result = model.calculateEquity(hands, Collections.emptyList(), 50000, 0.95, 1);
+    assertTrue("Aces should be a big favorite: " + result, result.getEquity(0) > 0.8);
+  }
+
+  /**
+   * Tests exact enumeration against a plain enumeration of every board, for a matchup where three suits are
+   * not held by either player and the suit-isomorphism shortcut applies.
+   */
+  @Test
+  public void testEnumerateMatchesPlainEnumeration() {
+    int[] hand1 = {card("A", "S"), card("K", "S")};
+    int[] hand2 = {card("Q", "S"), card("J", "S")};
+    int[] live = new int[48];
+    int n = 0;
+    for (int c = 0; c < CardF.DECK_SIZE; c++) {
+      if (c != hand1[0] && c != hand1[1] && c != hand2[0] && c != hand2[1]) {
+        live[n++] = c;
+      }
+    }
+    double shares = 0;
+    long boards = 0;
+    for (int a = 0; a < n; a++) {
+      for (int b = a + 1; b < n; b++) {
+        for (int c = b + 1; c < n; c++) {
+          for (int d = c + 1; d < n; d++) {
+            for (int e = d + 1; e < n; e++) {
+              int rank1 = SevenCardHandEvaluator.evaluate(hand1[0], hand1[1], live[a], live[b], live[c], live[d], live[e]);
+              int rank2 = SevenCardHandEvaluator.evaluate(hand2[0], hand2[1], live[a], live[b], live[c], live[d], live[e]);
+              shares += rank1 > rank2 ? 1 : rank1 == rank2 ? 0.5 : 0;
+              boards++;
+            }
+          }
+        }
+      }
+    }
+    EquityResult result = calculator.enumerate(hand1, hand2);
+    assertEquals(boards, result.getTrials());
+    assertEquals(shares / boards, result.getEquity(0), 1e-9);
+  }
+
+  /**
+   * Tests the exact equity of aces against kings with no shared suits, and that equivalent matchups are served
+   * from the cache with the seats swapped correctly.
+   */
+  @Test
+  public void testEnumerateUsesCanonicalCache() {
+    EquityResult aces = calculator.enumerate(new int[] {card("A", "S"), card("A", "H")},
+        new int[] {card("K", "C"), card("K", "D")});
+    assertEquals(0.81255, aces.getEquity(0), 1e-5);
+    assertEquals(1, calculator.getCachedMatchupCount());
+
+    EquityResult kings = calculator.enumerate(new int[] {card("K", "S"), card("K", "H")},
+        new int[] {card("A", "C"), card("A", "D")});
+    assertEquals("Suit relabelling and seat swap should hit the cache", 1, calculator.getCachedMatchupCount());
+    assertEquals(aces.getEquity(1), kings.getEquity(0), 1e-12);
+  }
+
+  /**
+   * Tests that class equities are averaged over the hands of both classes.
+   */
+  @Test
+  public void testClassEquity() {
+    int aces = StartingHandTable.classOf(12, 12, false);
+    int kings = StartingHandTable.classOf(11, 11, false);
+    double equity = PreflopEquityMatrix.classEquity(calculator, aces, kings);
+    assertEquals("Aces are about 82% against kings", 0.82, equity, 0.01);
+    assertTrue("Only a few canonical matchups exist for AA against KK", calculator.getCachedMatchupCount() <= 4);
+  }
+
+  @Test
+  public void testCombineMatchesOneLongerRun() {
+    // Two halves of the same 0/1 outcomes: 300 wins of 1000, then 500 wins of 1000
+    double z = EquityCalculator.inverseNormal(0.975);
+    EquityResult first = new EquityResult(new double[] {0.3, 0.7},
+        new double[] {z * Math.sqrt(0.21 / 1000), z * Math.sqrt(0.21 / 1000)}, 1000, 0.95);
+    EquityResult second = new EquityResult(new double[] {0.5, 0.5},
+        new double[] {z * Math.sqrt(0.25 / 1000), z * Math.sqrt(0.25 / 1000)}, 1000, 0.95);
+    EquityResult combined = EquityResult.combine(first, second);
+    assertEquals(2000, combined.getTrials());
+    assertEquals(0.4, combined.getEquity(0), 1e-12);
+    assertEquals(0.6, combined.getEquity(1), 1e-12);
+    assertEquals(z * Math.sqrt(0.24 / 2000), combined.getMarginOfError(0), 1e-12);
+  }
+}
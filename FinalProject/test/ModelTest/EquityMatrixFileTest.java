@@ -0,0 +1,82 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Test class for {@code EquityMatrixFile}. Verifies that a matrix survives a write and a memory-mapped load,
+ * and that invalid files are rejected.
+ */
+public class EquityMatrixFileTest {
+
+  /**
+   * Builds a matrix with a distinct, easily checked value in every entry.
+   *
+   * @return the matrix.
+   */
+  private PreflopEquityMatrix sampleMatrix() {
+    int size = PreflopEquityMatrix.SIZE;
+    float[] entries = new float[size * size];
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = i / (float) entries.length;
+    }
+    return new PreflopEquityMatrix(entries);
+  }
+
+  @Test
+  public void testWriteThenLoad() throws IOException {
+    Path file = Files.createTempFile("preflop", ".heqm");
+    try {
+      PreflopEquityMatrix matrix = sampleMatrix();
+      EquityMatrixFile.write(matrix, file);
+      PreflopEquityMatrix loaded = EquityMatrixFile.load(file);
+      assertArrayEquals(matrix.toArray(), loaded.toArray(), 0f);
+      assertEquals(matrix.getEquity(168, 0), loaded.getEquity(168, 0), 0f);
+      assertEquals(matrix.getEquity(3, 77), loaded.getEquity(3, 77), 0f);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testModelServesLoadedMatrix() throws IOException {
+    Path file = Files.createTempFile("preflop", ".heqm");
+    try {
+      EquityMatrixFile.write(sampleMatrix(), file);
+      HoldemModel model = new HoldemModel();
+      PreflopEquityMatrix loaded = model.loadPreflopEquityMatrix(file);
+      assertSame("The loaded matrix should be served without recomputing", loaded, model.getPreflopEquityMatrix());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorruptFileIsRejected() throws IOException {
+    Path file = Files.createTempFile("preflop", ".heqm");
+    try {
+      EquityMatrixFile.write(sampleMatrix(), file);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), 100);
+      }
+      EquityMatrixFile.load(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testWrongSizeIsRejected() throws IOException {
+    Path file = Files.createTempFile("preflop", ".heqm");
+    try {
+      Files.write(file, new byte[64]);
+      EquityMatrixFile.load(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for {@code HandCanonicalizer}.
+ */
+public class HandCanonicalizerTest {
+
+  private static int card(String value, String suit) {
+    return CardF.indexOf(value, suit);
+  }
+
+  private static long mask(int... cards) {
+    long mask = 0;
+    for (int card : cards) {
+      mask |= 1L << card;
+    }
+    return mask;
+  }
+
+  @Test
+  public void testPreflopIndexIgnoresSuits() {
+    assertEquals(HandCanonicalizer.preflopIndex(card("A", "S"), card("K", "S")),
+        HandCanonicalizer.preflopIndex(card("K", "H"), card("A", "H")));
+    assertNotEquals(HandCanonicalizer.preflopIndex(card("A", "S"), card("K", "S")),
+        HandCanonicalizer.preflopIndex(card("A", "S"), card("K", "H")));
+  }
+
+  @Test
+  public void testSuitRelabellingGivesSameKey() {
+    long spades = HandCanonicalizer.canonicalKey(card("A", "S"), card("K", "S"),
+        mask(card("7", "S"), card("2", "H"), card("2", "D")));
+    long hearts = HandCanonicalizer.canonicalKey(card("K", "H"), card("A", "H"),
+        mask(card("7", "H"), card("2", "S"), card("2", "C")));
+    assertEquals(spades, hearts);
+
+    long offsuitDraw = HandCanonicalizer.canonicalKey(card("A", "S"), card("K", "S"),
+        mask(card("7", "H"), card("2", "S"), card("2", "D")));
+    assertNotEquals("The flush draw changes the deal", spades, offsuitDraw);
+  }
+
+  @Test
+  public void testRepresentativeDecodes() {
+    int first = card("Q", "D");
+    int second = card("J", "C");
+    long board = mask(card("10", "D"), card("9", "H"), card("2", "C"), card("2", "S"));
+    long key = HandCanonicalizer.canonicalKey(first, second, board);
+    long decoded = HandCanonicalizer.canonicalKey(HandCanonicalizer.firstCard(key),
+        HandCanonicalizer.secondCard(key), HandCanonicalizer.board(key));
+    assertEquals("A representative is its own canonical form", key, decoded);
+    assertEquals(4, Long.bitCount(HandCanonicalizer.board(key)));
+  }
+
+  @Test
+  public void testFlopClassCount() {
+    // Every class of hole cards and flop has a member whose hole cards are the class representative
+    long[] keys = new long[HandCanonicalizer.PREFLOP_CLASSES * 50 * 49 * 48 / 6];
+    int count = 0;
+    for (int handClass = 0; handClass < HandCanonicalizer.PREFLOP_CLASSES; handClass++) {
+      int[] hand = StartingHandTable.representative(handClass);
+      long hole = mask(hand);
+      for (int a = 0; a < CardF.DECK_SIZE; a++) {
+        for (int b = a + 1; b < CardF.DECK_SIZE; b++) {
+          for (int c = b + 1; c < CardF.DECK_SIZE; c++) {
+            long flop = mask(a, b, c);
+            if ((flop & hole) == 0) {
+              keys[count++] = HandCanonicalizer.canonicalKey(hand[0], hand[1], flop);
+            }
+          }
+        }
+      }
+    }
+    assertEquals(keys.length, count);
+    Arrays.sort(keys);
+    int distinct = 1;
+    for (int i = 1; i < keys.length; i++) {
+      if (keys[i] != keys[i - 1]) {
+        distinct++;
+      }
+    }
+    assertEquals(HandCanonicalizer.FLOP_CLASSES, distinct);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHoleCardOnBoard() {
+    HandCanonicalizer.canonicalKey(card("A", "S"), card("K", "S"), mask(card("A", "S")));
+  }
+
+  @Test
+  public void testModelSharesIsomorphicEvaluations() {
+    HoldemModel model = new HoldemModel();
+    List<CardF> spadeBoard = List.of(CardF.of("7", "S"), CardF.of("2", "H"), CardF.of("2", "D"));
+    List<CardF> heartBoard = List.of(CardF.of("7", "H"), CardF.of("2", "C"), CardF.of("2", "S"));
+    EquityResult spades = model.evaluateAgainstRandomHand(CardF.of("A", "S"), CardF.of("K", "S"), spadeBoard);
+    EquityResult hearts = model.evaluateAgainstRandomHand(CardF.of("A", "H"), CardF.of("K", "H"), heartBoard);
+    assertSame(spades, hearts);
+    assertEquals(1, model.getEvaluationCacheStats().getSize());
+    model.evaluateAgainstRandomHand(CardF.of("A", "D"), CardF.of("K", "C"), Collections.emptyList());
+    model.evaluateAgainstRandomHand(CardF.of("A", "H"), CardF.of("K", "S"), Collections.emptyList());
+    assertEquals(2, model.getEvaluationCacheStats().getSize());
+  }
+}
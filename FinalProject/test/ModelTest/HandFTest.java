@@ -103,4 +103,26 @@ public class HandFTest {
     assertTrue("Description should mention Total Value", description.matches(".*Total Value: \\d+.*"));
     assertTrue("Description should mention Hand Combination", description.contains("Hand Combination"));
   }
+
+  /**
+   * Tests that the evaluation is computed once and reused, and that hands of the same class share their
+   * position-based comments.
+   */
+  @Test
+  public void testEvaluationIsMemoized() {
+    assertSame("Decisions should be cached", hand.getHandPositionDecisions(), hand.getHandPositionDecisions());
+    assertSame("Comments should be cached", hand.getHandPositionBasedComments(), hand.getHandPositionBasedComments());
+
+    HandF sameClass = new HandF(new CardF("A", "D"), new CardF("K", "C")) {};
+    assertSame("Hands of one class should share their comments",
+        hand.getHandPositionBasedComments(), sameClass.getHandPositionBasedComments());
+  }
+
+  /**
+   * Tests that the cached maps cannot be modified by callers.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCachedDecisionsAreImmutable() {
+    hand.getHandPositionDecisions().clear();
+  }
 }
@@ -0,0 +1,109 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test class for {@code HandHistoryReader} and {@code HandHistoryAnalyzer}.
+ */
+public class HandHistoryAnalyzerTest {
+
+  private static Path write(String content) throws IOException {
+    Path file = Files.createTempFile("history", ".txt");
+    Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+
+  @Test
+  public void testReaderDecodesRecords() throws IOException {
+    Path file = write("# id position cards action\r\n"
+        + "1 LATE AsKh BET\r\n"
+        + "\n"
+        + "2,early,7c2d,fold\n"
+        + "3 MIDDLE XsKh BET\n"
+        + "4 MIDDLE AsAs BET\n"
+        + "5\tM\tTdTc\tB");
+    try (HandHistoryReader reader = new HandHistoryReader(file)) {
+      int[] records = new int[10];
+      assertEquals(3, reader.read(records));
+      assertEquals(HoldemModel.encodeHand(CardF.of("A", "S"), CardF.of("K", "H")),
+          HandHistoryReader.handOf(records[0]));
+      assertEquals(Position.LATE, HandHistoryReader.positionOf(records[0]));
+      assertEquals(Action.BET, HandHistoryReader.actionOf(records[0]));
+      assertEquals(HoldemModel.encodeHand(CardF.of("7", "C"), CardF.of("2", "D")),
+          HandHistoryReader.handOf(records[1]));
+      assertEquals(Position.EARLY, HandHistoryReader.positionOf(records[1]));
+      assertEquals(Action.FOLD, HandHistoryReader.actionOf(records[1]));
+      assertEquals(HoldemModel.encodeHand(CardF.of("10", "D"), CardF.of("10", "C")),
+          HandHistoryReader.handOf(records[2]));
+      assertEquals(Position.MIDDLE, HandHistoryReader.positionOf(records[2]));
+      assertEquals(-1, reader.read(records));
+      assertEquals(2, reader.getMalformedLines());
+      assertEquals(Files.size(file), reader.getBytesRead());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testLinesSpanningBuffersAndBatches() throws IOException {
+    StringBuilder content = new StringBuilder();
+    int lines = 200_000;
+    for (int i = 0; i < lines; i++) {
+      content.append(i).append(i % 3 == 0 ? " EARLY " : " LATE ").append(i % 2 == 0 ? "AsAh" : "7c2d")
+          .append(i % 2 == 0 ? " BET\n" : " FOLD\n");
+    }
+    // A line longer than the read buffer is skipped without losing the lines around it
+    content.append("x".repeat(3 << 20)).append('\n').append("last LATE KsQs BET\n");
+    Path file = write(content.toString());
+    try {
+      HandHistoryStats stats = HandHistoryAnalyzer.analyze(file, 3);
+      assertEquals(lines + 1, stats.getHands());
+      assertEquals(1, stats.getMalformedLines());
+      assertEquals(lines / 2, stats.getHands(HandCombination.PAIR));
+      assertEquals(1.0, stats.getVpip(HandCombination.PAIR), 0);
+      assertEquals(0.0, stats.getVpip(HandCombination.BAD_HAND), 0);
+      assertEquals(1, stats.getHands(HandCombination.SUITED_CARDS) + stats.getHands(HandCombination.SUITED_CONNECTOR)
+          + stats.getHands(HandCombination.TWO_HIGH_CARDS));
+      assertEquals((lines / 2 + 1) / (double) (lines + 1), stats.getVpip(), 1e-12);
+      assertEquals("Pairs bet and 72 offsuit folds, as the strategy says", 1.0, stats.getStrategyAgreement(), 0);
+      assertEquals(Files.size(file), stats.getBytes());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testVpipByPosition() throws IOException {
+    Path file = write("1 E AsKs BET\n2 E 9c8c FOLD\n3 L 9c8c BET\n4 L 5d4h BET\n");
+    try {
+      HandHistoryStats stats = HoldemModel.analyzeHandHistory(file);
+      assertEquals(4, stats.getHands());
+      assertEquals(0.5, stats.getVpip(Position.EARLY), 0);
+      assertEquals(1.0, stats.getVpip(Position.LATE), 0);
+      assertEquals(0.0, stats.getVpip(Position.MIDDLE), 0);
+      assertEquals(0.75, stats.getVpip(), 0);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    Path file = write("");
+    try {
+      HandHistoryStats stats = HandHistoryAnalyzer.analyze(file, 1);
+      assertEquals(0, stats.getHands());
+      assertEquals(0.0, stats.getVpip(), 0);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoWorkers() throws IOException {
+    HandHistoryAnalyzer.analyze(Path.of("unused"), 0);
+  }
+}
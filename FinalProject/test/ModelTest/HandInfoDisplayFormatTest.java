@@ -59,4 +59,12 @@ public class HandInfoDisplayFormatTest {
       assertEquals("Hand cannot be null", e.getMessage());
     }
   }
+
+  @Test
+  public void testFormatEquity() {
+    EquityResult equity = new EquityResult(new double[] {0.671, 0.329}, new double[] {0.009, 0.009}, 30000, 0.95);
+    String formatted = new HandInfoDisplayFormat().formatEquity(equity);
+    assertEquals(String.format("Equity vs. Random Hand: %.1f%% (+/- %.1f%%, 30000 run-outs)", 67.1, 0.9),
+        formatted);
+  }
 }
@@ -0,0 +1,139 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test class for {@code HandRange} and {@code RangeEquityCalculator}.
+ */
+public class HandRangeTest {
+
+  @Test
+  public void testCombinationCounts() {
+    assertEquals(6, HandRange.parse("AA").size());
+    assertEquals(4, HandRange.parse("AKs").size());
+    assertEquals(12, HandRange.parse("AKo").size());
+    assertEquals(16, HandRange.parse("AK").size());
+    assertEquals(18, HandRange.parse("QQ+").size());
+    assertEquals(24, HandRange.parse("99-66").size());
+    assertEquals(16, HandRange.parse("ATs+").size());
+    assertEquals(16, HandRange.parse("KTs-K7s").size());
+    assertEquals(12, HandRange.parse("76s-54s").size());
+    assertEquals(1, HandRange.parse("AsKh").size());
+    assertEquals(6 + 4, HandRange.parse("AA, AKs, AA, AsKs").size());
+    assertEquals(HandRange.COMBINATION_COUNT, HandRange.parse("22+, A2+, K2+, Q2+, J2+, T2+, 92+, 82+, 72+, "
+        + "62+, 52+, 42+, 32").size());
+  }
+
+  @Test
+  public void testMembership() {
+    HandRange range = HandRange.parse("QQ+, AKs, 76s-54s");
+    int aceSpades = CardF.indexOf("A", "S");
+    int kingSpades = CardF.indexOf("K", "S");
+    int kingHearts = CardF.indexOf("K", "H");
+    assertTrue(range.contains(aceSpades, kingSpades));
+    assertTrue(range.contains(kingSpades, aceSpades));
+    assertFalse(range.contains(aceSpades, kingHearts));
+    assertTrue(range.contains(CardF.indexOf("6", "D"), CardF.indexOf("5", "D")));
+    assertFalse(range.contains(CardF.indexOf("8", "D"), CardF.indexOf("7", "D")));
+    assertFalse(range.contains(aceSpades, aceSpades));
+    for (int combination : range.combinations()) {
+      assertTrue(range.contains(HandRange.firstCard(combination), HandRange.secondCard(combination)));
+    }
+    assertEquals(range.size(), range.combinations().length);
+  }
+
+  @Test
+  public void testBlockersRemoveCombinations() {
+    HandRange aces = HandRange.parse("AA");
+    assertEquals(3, aces.without(1L << CardF.indexOf("A", "S")).size());
+    assertEquals(1, aces.without((1L << CardF.indexOf("A", "S")) | (1L << CardF.indexOf("A", "H"))).size());
+    assertEquals(6, aces.size());
+  }
+
+  @Test
+  public void testInvalidTokens() {
+    for (String notation : new String[] {"", "AAs", "AX", "AKs-QJo", "AKs-QTs", "KK-AQ", "AsAs", "1A"}) {
+      try {
+        HandRange.parse(notation);
+        fail("Expected an exception for " + notation);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testSingleCombinationsMatchExactEquity() {
+    EquityCalculator calculator = new EquityCalculator();
+    RangeEquityCalculator ranges = new RangeEquityCalculator(calculator);
+    EquityResult result = ranges.enumerate(HandRange.parse("AsAh"), HandRange.parse("KcKd"));
+    assertEquals(0.81255, result.getEquity(0), 1e-4);
+    assertEquals(1, result.getTrials());
+  }
+
+  @Test
+  public void testRangeEquityUsesBlockersAndCache() {
+    EquityCalculator calculator = new EquityCalculator();
+    RangeEquityCalculator ranges = new RangeEquityCalculator(calculator);
+    long start = System.nanoTime();
+    EquityResult result = ranges.enumerate(HandRange.parse("AA"), HandRange.parse("AKs"));
+    assertTrue("Matchup took too long", System.nanoTime() - start < 5_000_000_000L);
+    // Each ace pair leaves two suits for AKs: 6 * 2 pairs
+    assertEquals(12, result.getTrials());
+    assertEquals(0.87, result.getEquity(0), 0.01);
+    int cached = calculator.getCachedMatchupCount();
+    ranges.enumerate(HandRange.parse("AA"), HandRange.parse("AKs"));
+    assertEquals("A repeated matchup is answered from the cache", cached, calculator.getCachedMatchupCount());
+  }
+
+  @Test
+  public void testSimulationMatchesEnumeration() {
+    RangeEquityCalculator ranges = new RangeEquityCalculator();
+    HandRange hero = HandRange.parse("QQ+");
+    HandRange villain = HandRange.parse("AKs, JJ");
+    EquityResult exact = ranges.enumerate(hero, villain);
+    EquityResult simulated = ranges.simulate(hero, villain, new int[0], 400_000, 0.999, 5004);
+    assertEquals(exact.getEquity(0), simulated.getEquity(0), simulated.getMarginOfError(0) + 1e-3);
+  }
+
+  @Test
+  public void testCalculateSimulatesUntilMatchupsAreCached() {
+    EquityCalculator calculator = new EquityCalculator();
+    RangeEquityCalculator ranges = new RangeEquityCalculator(calculator);
+    HandRange hero = HandRange.parse("AA");
+    HandRange villain = HandRange.parse("KK");
+
+    EquityResult estimated = ranges.calculate(hero, villain, 0, 200_000, 5004);
+    assertEquals("No time to enumerate anything", 0, calculator.getCachedMatchupCount());
+    assertEquals(200_000, estimated.getTrials());
+    assertTrue(estimated.getMarginOfError(0) > 0);
+
+    EquityResult exact = ranges.calculate(hero, villain, 60_000, 200_000, 5004);
+    assertEquals(1.0, exact.getConfidence(), 0);
+    assertEquals(ranges.enumerate(hero, villain).getEquity(0), exact.getEquity(0), 1e-12);
+    assertEquals(exact.getEquity(0), estimated.getEquity(0), estimated.getMarginOfError(0) * 2);
+
+    EquityResult cached = ranges.calculate(hero, villain, 0, 200_000, 5004);
+    assertEquals("The cache answers exactly without enumerating", exact.getEquity(0), cached.getEquity(0), 0);
+  }
+
+  @Test
+  public void testModelRangeEquityOnBoard() {
+    HoldemModel model = new HoldemModel();
+    // The board gives KK a set against every aces combination that is still possible
+    EquityResult result = model.calculateRangeEquity("KK", "AA",
+        Arrays.asList(new CardF("K", "S"), new CardF("7", "D"), new CardF("2", "C")), 50_000);
+    assertTrue(result.getEquity(0) > 0.85);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoCompatibleCombinations() {
+    new RangeEquityCalculator().simulate(HandRange.parse("AsAh"), HandRange.parse("AsAd"), new int[0], 1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoardBlocksWholeRange() {
+    new HoldemModel().calculateRangeEquity("AsAh", "KK", Collections.singletonList(new CardF("A", "S")), 1000);
+  }
+}
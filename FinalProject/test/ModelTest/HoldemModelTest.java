@@ -3,6 +3,7 @@ import org.junit.Before;
 import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -114,4 +115,71 @@ public class HoldemModelTest {
     assertNotNull("Comments map should not be null", comments);
     assertFalse("Comments map should contain entries", comments.isEmpty());
   }
+
+  /**
+   * Tests that the batch API agrees with the one-hand path for every two-card hand.
+   */
+  @Test
+  public void testEvaluateBatchMatchesCreateHand() {
+    int[] encoded = new int[CardF.DECK_SIZE * (CardF.DECK_SIZE - 1)];
+    int count = 0;
+    for (int i = 0; i < CardF.DECK_SIZE; i++) {
+      for (int j = 0; j < CardF.DECK_SIZE; j++) {
+        if (i != j) {
+          encoded[count++] = HoldemModel.encodeHand(CardF.of(i), CardF.of(j));
+        }
+      }
+    }
+    HandBatchResult result = HoldemModel.evaluateBatch(encoded);
+    assertEquals(encoded.length, result.size());
+    for (int hand = 0; hand < encoded.length; hand++) {
+      CardF card1 = CardF.of(encoded[hand] / CardF.DECK_SIZE);
+      CardF card2 = CardF.of(encoded[hand] % CardF.DECK_SIZE);
+      holdemModel.createHand(card1.getValue(), card1.getSuit(), card2.getValue(), card2.getSuit());
+      assertEquals(holdemModel.calculateScore(), result.getScore(hand));
+      assertEquals(holdemModel.getHandCombination(), result.getCombination(hand));
+      Map<String, String> decisions = holdemModel.getPositionDecisions();
+      assertEquals(decisions.get("Early Position(Bet > 20)").equals("Bet"), (result.getDecisionMask(hand) & 1) != 0);
+      assertEquals(decisions.get("Middle Position(Bet > 15)").equals("Bet"), (result.getDecisionMask(hand) & 2) != 0);
+      assertEquals(decisions.get("Late Position(Bet > 12)").equals("Bet"), (result.getDecisionMask(hand) & 4) != 0);
+    }
+  }
+
+  /**
+   * Tests that the batch API rejects the same card twice.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvaluateBatchRejectsInvalidHand() {
+    CardF ace = CardF.of("A", "S");
+    HoldemModel.evaluateBatch(new int[] {HoldemModel.encodeHand(ace, ace)});
+  }
+
+  /**
+   * Tests that the equity against a random hand is reported after every round, ends at the cached answer, and
+   * that a stopped simulation is not cached.
+   */
+  @Test
+  public void testProgressiveEquity() {
+    CardF ace = CardF.of("A", "S");
+    CardF king = CardF.of("K", "S");
+    List<EquityResult> estimates = new ArrayList<>();
+    EquityResult stopped = holdemModel.evaluateAgainstRandomHand(ace, king, List.of(), estimate -> {
+      estimates.add(estimate);
+      return estimates.size() < 3;
+    });
+    assertEquals(3, estimates.size());
+    assertSame(estimates.get(2), stopped);
+    assertEquals(3L * HoldemModel.RANDOM_HAND_TRIALS / HoldemModel.RANDOM_HAND_ROUNDS, stopped.getTrials());
+    assertEquals(0, holdemModel.getEvaluationCacheStats().getSize());
+
+    estimates.clear();
+    EquityResult complete = holdemModel.evaluateAgainstRandomHand(ace, king, List.of(), estimates::add);
+    assertEquals(HoldemModel.RANDOM_HAND_ROUNDS, estimates.size());
+    assertEquals(HoldemModel.RANDOM_HAND_TRIALS, complete.getTrials());
+    assertTrue("Margins shrink as run-outs are added",
+        estimates.get(0).getMarginOfError(0) > complete.getMarginOfError(0));
+    assertEquals("The first rounds are the same run-outs", stopped.getEquity(0),
+        estimates.get(2).getEquity(0), 0);
+    assertSame(complete, holdemModel.evaluateAgainstRandomHand(king, ace, List.of()));
+  }
 }
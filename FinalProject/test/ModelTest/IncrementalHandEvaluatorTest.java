@@ -0,0 +1,148 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for {@code IncrementalHandEvaluator}.
+ */
+public class IncrementalHandEvaluatorTest {
+
+  @Test
+  public void testStreetsMatchIndependentEvaluation() {
+    Deck deck = Deck.seeded(5004);
+    int[] cards = new int[7];
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator();
+    for (int deal = 0; deal < 5000; deal++) {
+      deck.reset();
+      deck.deal(cards, 0, cards.length);
+      evaluator.reset();
+      for (int i = 0; i < cards.length; i++) {
+        evaluator.add(cards[i]);
+        if (i >= 4) {
+          assertEquals(SevenCardHandEvaluator.evaluate(cards, i + 1), evaluator.getRank());
+        }
+      }
+      assertEquals(evaluator.getRank(), evaluator.calculateScore());
+    }
+  }
+
+  @Test
+  public void testTwoSuitDealsMatchIndependentEvaluation() {
+    // Seven cards from two suits always hold a flush or many repeated ranks
+    Random random = new Random(5020);
+    int[] deck = new int[26];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = (i >> 1) * 4 + (i & 1);
+    }
+    int[] cards = new int[7];
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator();
+    for (int deal = 0; deal < 5000; deal++) {
+      evaluator.reset();
+      for (int i = 0; i < cards.length; i++) {
+        int pick = i + random.nextInt(deck.length - i);
+        int card = deck[pick];
+        deck[pick] = deck[i];
+        deck[i] = card;
+        cards[i] = card;
+        evaluator.add(card);
+        if (i >= 4) {
+          assertEquals(SevenCardHandEvaluator.evaluate(cards, i + 1), evaluator.getRank());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testStreetsAndReset() {
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator(List.of(CardF.of("A", "S"),
+        CardF.of("K", "S"), CardF.of("Q", "S"), CardF.of("J", "S"), CardF.of("2", "D")));
+    assertEquals("High Card", evaluator.getHandCombination());
+    evaluator.add(CardF.of("2", "H"));
+    assertEquals("One Pair", evaluator.getHandCombination());
+    evaluator.add(CardF.of("10", "S"));
+    assertEquals("Straight Flush", evaluator.getHandCombination());
+    assertEquals(7, evaluator.size());
+    assertEquals(CardF.of("10", "S"), evaluator.getCards().get(6));
+
+    evaluator.reset();
+    assertEquals(0, evaluator.size());
+    assertTrue(evaluator.getCards().isEmpty());
+    // The cards of the previous hand are gone, so adding them again is no duplicate
+    evaluator.add(CardF.of("A", "S"));
+    assertEquals(List.of(CardF.of("A", "S")), evaluator.getCards());
+  }
+
+  @Test
+  public void testStreetAddsMatchSingleCards() {
+    Deck deck = Deck.seeded(5020);
+    int[] cards = new int[7];
+    IncrementalHandEvaluator single = new IncrementalHandEvaluator();
+    IncrementalHandEvaluator streets = new IncrementalHandEvaluator();
+    for (int deal = 0; deal < 1000; deal++) {
+      deck.reset();
+      deck.deal(cards, 0, cards.length);
+      single.reset();
+      for (int card : cards) {
+        single.add(card);
+      }
+      streets.reset();
+      streets.add(cards, 0, 2);
+      streets.add(cards, 2, 5);
+      streets.add(cards, 5, 7);
+      assertEquals(single.getRank(), streets.getRank());
+      assertEquals(single.getCards(), streets.getCards());
+    }
+  }
+
+  @Test
+  public void testRejectedStreetLeavesHand() {
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator(List.of(CardF.of("A", "S"),
+        CardF.of("K", "S")));
+    int[] flop = {CardF.of("Q", "S").getIndex(), CardF.of("J", "S").getIndex(), CardF.of("Q", "S").getIndex()};
+    try {
+      evaluator.add(flop, 0, 3);
+      fail("A repeated card was added");
+    } catch (IllegalArgumentException expected) {
+      // The hand is unchanged
+    }
+    assertEquals(List.of(CardF.of("A", "S"), CardF.of("K", "S")), evaluator.getCards());
+    evaluator.add(flop, 0, 2);
+    assertEquals(4, evaluator.size());
+    try {
+      evaluator.add(new int[] {0, 1, 2, 3}, 0, 4);
+      fail("An eighth card was added");
+    } catch (IllegalArgumentException expected) {
+      // The hand is unchanged
+    }
+    assertEquals(4, evaluator.size());
+  }
+
+  @Test
+  public void testPreflopDelegation() {
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator(List.of(CardF.of("A", "S"),
+        CardF.of("A", "H")));
+    assertEquals(3, evaluator.getPositionDecisions(30).size());
+    assertEquals("Bet", evaluator.decideAction(30, 20));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateCard() {
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator();
+    evaluator.add(CardF.of("A", "S"));
+    evaluator.add(CardF.of("A", "S"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEighthCard() {
+    IncrementalHandEvaluator evaluator = new IncrementalHandEvaluator();
+    for (int card = 0; card < 8; card++) {
+      evaluator.add(card);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRankNeedsFiveCards() {
+    new IncrementalHandEvaluator(List.of(CardF.of("A", "S"), CardF.of("K", "S"))).getRank();
+  }
+}
@@ -0,0 +1,73 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Test class for {@code LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMean(), 0);
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 50; value++) {
+      histogram.record(value);
+    }
+    assertEquals(50, histogram.getCount());
+    assertEquals(25.5, histogram.getMean(), 1e-9);
+    assertEquals(25, histogram.getValueAtPercentile(50));
+    assertEquals(1, histogram.getValueAtPercentile(0));
+    assertEquals(50, histogram.getValueAtPercentile(100));
+    assertEquals(50, histogram.getMax());
+  }
+
+  @Test
+  public void testPercentilesAreWithinPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 1_000_000; value++) {
+      histogram.record(value * 100);
+    }
+    assertWithinPrecision(50_000_000, histogram.getValueAtPercentile(50));
+    assertWithinPrecision(99_000_000, histogram.getValueAtPercentile(99));
+    assertWithinPrecision(99_900_000, histogram.getValueAtPercentile(99.9));
+    assertWithinPrecision(100_000_000, histogram.getMax());
+    assertEquals(50_000_050, histogram.getMean(), 1e-3);
+  }
+
+  private static void assertWithinPrecision(long expected, long actual) {
+    assertTrue("expected about " + expected + " but was " + actual,
+        actual >= expected && actual <= expected * 1.04);
+  }
+
+  @Test
+  public void testOutOfRangeValuesAreClamped() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+  }
+
+  @Test
+  public void testReset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1234);
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new LatencyHistogram().getValueAtPercentile(100.5);
+  }
+}
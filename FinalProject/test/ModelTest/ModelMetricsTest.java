@@ -0,0 +1,150 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+
+/**
+ * Test class for {@code ModelMetrics} and the measurements {@code HoldemModel} records through it. Most tests
+ * sample every call, so the counts are exact.
+ */
+public class ModelMetricsTest {
+
+  @Before
+  public void setUp() {
+    ModelMetrics.setSampleInterval(1);
+    ModelMetrics.setEnabled(true);
+    ModelMetrics.reset();
+  }
+
+  @After
+  public void tearDown() {
+    ModelMetrics.setEnabled(false);
+    ModelMetrics.setSampleInterval(ModelMetrics.DEFAULT_SAMPLE_INTERVAL);
+    ModelMetrics.reset();
+  }
+
+  private static void evaluate(HoldemModel model, String value1, String suit1, String value2, String suit2) {
+    model.createHand(value1, suit1, value2, suit2);
+    model.calculateScore();
+    model.getPositionDecisions();
+    model.getPositionBasedComments();
+  }
+
+  private static HandCombination combinationOf(String value1, String suit1, String value2, String suit2) {
+    int handClass = StartingHandTable.classOf(CardF.indexOf(value1, suit1), CardF.indexOf(value2, suit2));
+    return HandCombination.values()[StartingHandTable.getCombinationOrdinal(handClass)];
+  }
+
+  @Test
+  public void testEveryCallIsCountedAndTimedWithIntervalOne() {
+    HoldemModel model = new HoldemModel();
+    for (int i = 0; i < 100; i++) {
+      evaluate(model, "A", "S", "K", "H");
+    }
+    for (ModelMetrics.Operation operation : ModelMetrics.Operation.values()) {
+      assertEquals(operation.getMethodName(), 100, ModelMetrics.getCalls(operation));
+      assertEquals(100, ModelMetrics.getLatencies(operation).getCount());
+    }
+    assertEquals(100, ModelMetrics.getCombinationHits(combinationOf("A", "S", "K", "H")));
+  }
+
+  @Test
+  public void testSampledCountsAreEstimates() {
+    ModelMetrics.setSampleInterval(64);
+    HoldemModel model = new HoldemModel();
+    int hands = 100_000;
+    for (int i = 0; i < hands; i++) {
+      evaluate(model, "A", "S", "A", "H");
+    }
+    // The standard error is sqrt(100000 * 64), about 2.5% of the count
+    for (ModelMetrics.Operation operation : ModelMetrics.Operation.values()) {
+      long calls = ModelMetrics.getCalls(operation);
+      assertEquals(operation.getMethodName(), hands, calls, hands * 0.15);
+      LatencyHistogram latencies = ModelMetrics.getLatencies(operation);
+      assertEquals(calls, latencies.getCount() * 64);
+    }
+    assertEquals(hands, ModelMetrics.getCombinationHits(combinationOf("A", "S", "A", "H")), hands * 0.15);
+  }
+
+  @Test
+  public void testCallsThatThrowAreNotCounted() {
+    HoldemModel model = new HoldemModel();
+    try {
+      model.calculateScore();
+      fail("No hand was created");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    try {
+      model.createHand("1", "S", "K", "H");
+      fail("1 is not a card value");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    assertEquals(0, ModelMetrics.getCalls(ModelMetrics.Operation.CALCULATE_SCORE));
+    assertEquals(0, ModelMetrics.getCalls(ModelMetrics.Operation.CREATE_HAND));
+  }
+
+  @Test
+  public void testCombinationHits() {
+    HoldemModel model = new HoldemModel();
+    evaluate(model, "A", "S", "A", "H");
+    evaluate(model, "A", "S", "A", "H");
+    evaluate(model, "7", "C", "2", "D");
+    HandCombination pair = combinationOf("A", "S", "A", "H");
+    HandCombination other = combinationOf("7", "C", "2", "D");
+    assertNotEquals(pair, other);
+    assertEquals(2, ModelMetrics.getCombinationHits(pair));
+    assertEquals(1, ModelMetrics.getCombinationHits(other));
+  }
+
+  @Test
+  public void testNothingIsRecordedWhileDisabled() {
+    ModelMetrics.setEnabled(false);
+    evaluate(new HoldemModel(), "A", "S", "K", "H");
+    for (ModelMetrics.Operation operation : ModelMetrics.Operation.values()) {
+      assertEquals(0, ModelMetrics.getCalls(operation));
+      assertEquals(0, ModelMetrics.getLatencies(operation).getCount());
+    }
+    assertEquals(0, ModelMetrics.getCombinationHits(combinationOf("A", "S", "K", "H")));
+  }
+
+  @Test
+  public void testReset() {
+    evaluate(new HoldemModel(), "Q", "D", "J", "D");
+    ModelMetrics.reset();
+    assertEquals(0, ModelMetrics.getCalls(ModelMetrics.Operation.CREATE_HAND));
+    assertEquals(0, ModelMetrics.getLatencies(ModelMetrics.Operation.CREATE_HAND).getCount());
+    assertEquals(0, ModelMetrics.getCombinationHits(combinationOf("Q", "D", "J", "D")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSampleInterval() {
+    ModelMetrics.setSampleInterval(0);
+  }
+
+  @Test
+  public void testDumpListsEveryOperation() {
+    evaluate(new HoldemModel(), "10", "C", "9", "C");
+    String dump = ModelMetrics.dump();
+    for (ModelMetrics.Operation operation : ModelMetrics.Operation.values()) {
+      assertTrue(dump.contains(operation.getMethodName()));
+    }
+    assertTrue(dump.contains(combinationOf("10", "C", "9", "C").getLabel()));
+  }
+
+  @Test
+  public void testMetricsAreReadableOverJmx() throws Exception {
+    HoldemModel model = new HoldemModel();
+    evaluate(model, "8", "H", "8", "S");
+    evaluate(model, "8", "H", "8", "S");
+    Object calls = ManagementFactory.getPlatformMBeanServer().getAttribute(
+        new ObjectName("holdem:type=ModelMetrics,operation=createHand"), "Calls");
+    assertEquals(2L, calls);
+    Object interval = ManagementFactory.getPlatformMBeanServer().getAttribute(
+        new ObjectName("holdem:type=ModelMetrics"), "SampleInterval");
+    assertEquals(1, interval);
+  }
+}
@@ -0,0 +1,252 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for {@code SevenCardHandEvaluator}. Checks known showdown hands, and compares the table-based ranking
+ * against a straightforward "best of all five-card subsets" reference and against the rank masks on many random
+ * hands.
+ */
+public class SevenCardHandEvaluatorTest {
+
+  /**
+   * Builds a list of cards from short names such as "AS" or "10H".
+   *
+   * @param names the card names, value followed by suit.
+   * @return the list of cards.
+   */
+  private List<CardF> cards(String... names) {
+    List<CardF> cards = new ArrayList<>();
+    for (String name : names) {
+      cards.add(CardF.of(name.substring(0, name.length() - 1), name.substring(name.length() - 1)));
+    }
+    return cards;
+  }
+
+  private String combination(String... names) {
+    return new SevenCardHandEvaluator(cards(names)).getHandCombination();
+  }
+
+  @Test
+  public void testCategories() {
+    assertEquals("High Card", combination("AS", "KH", "9D", "7C", "2S", "3H", "5D"));
+    assertEquals("One Pair", combination("AS", "AH", "9D", "7C", "2S", "3H", "5D"));
+    assertEquals("Two Pair", combination("AS", "AH", "9D", "9C", "2S", "2H", "5D"));
+    assertEquals("Three of a Kind", combination("AS", "AH", "AD", "7C", "2S", "3H", "9D"));
+    assertEquals("Straight", combination("AS", "2H", "3D", "4C", "5S", "KH", "QD"));
+    assertEquals("Flush", combination("AS", "2S", "9S", "4S", "JS", "KH", "QD"));
+    assertEquals("Full House", combination("AS", "AH", "AD", "KC", "KS", "3H", "3D"));
+    assertEquals("Four of a Kind", combination("AS", "AH", "AD", "AC", "KS", "KH", "KD"));
+    assertEquals("Straight Flush", combination("10H", "JH", "QH", "KH", "AH", "9H", "2D"));
+  }
+
+  @Test
+  public void testShowdownComparison() {
+    SevenCardHandEvaluator aceHighFlush = new SevenCardHandEvaluator(cards("AH", "3H", "KH", "8H", "2H", "9S", "9D"));
+    SevenCardHandEvaluator kingHighFlush = new SevenCardHandEvaluator(cards("QH", "JH", "KH", "8H", "2H", "9S", "9D"));
+    SevenCardHandEvaluator sameBoardNines = new SevenCardHandEvaluator(cards("9C", "4S", "KH", "8H", "2H", "9S", "9D"));
+    assertTrue("Ace-high flush beats king-high flush", aceHighFlush.compareRanks(kingHighFlush) > 0);
+    assertTrue("Trips lose to a flush", sameBoardNines.compareRanks(kingHighFlush) < 0);
+
+    SevenCardHandEvaluator wheel = new SevenCardHandEvaluator(cards("AS", "2H", "3D", "4C", "5S"));
+    SevenCardHandEvaluator sixHigh = new SevenCardHandEvaluator(cards("6S", "2H", "3D", "4C", "5S"));
+    assertTrue("A wheel is the lowest straight", wheel.compareRanks(sixHigh) < 0);
+
+    SevenCardHandEvaluator split1 = new SevenCardHandEvaluator(cards("2S", "3H", "AD", "KC", "QS", "JH", "10D"));
+    SevenCardHandEvaluator split2 = new SevenCardHandEvaluator(cards("2D", "3C", "AD", "KC", "QS", "JH", "10D"));
+    assertEquals("Playing the board is a split pot", 0, split1.compareRanks(split2));
+  }
+
+  @Test
+  public void testMatchesBruteForceReference() {
+    Random random = new Random(5004);
+    int[] deck = new int[CardF.DECK_SIZE];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = i;
+    }
+    for (int trial = 0; trial < 20000; trial++) {
+      for (int i = 0; i < 7; i++) {
+        int j = i + random.nextInt(deck.length - i);
+        int swap = deck[i];
+        deck[i] = deck[j];
+        deck[j] = swap;
+      }
+      int count = 5 + trial % 3;
+      int[] hand = Arrays.copyOf(deck, count);
+      int expected = bestOfFive(hand);
+      int actual = SevenCardHandEvaluator.evaluate(hand, count);
+      assertEquals("Category mismatch for " + Arrays.toString(hand),
+          expected >>> 20, SevenCardHandEvaluator.categoryOf(actual));
+      // Compare ordering against a second random hand through the reference too
+      int[] other = Arrays.copyOfRange(deck, count == 5 ? 0 : 1, count == 5 ? 5 : 1 + 5);
+      assertEquals("Ordering mismatch for " + Arrays.toString(hand) + " and " + Arrays.toString(other),
+          Integer.signum(Integer.compare(expected, bestOfFive(other))),
+          Integer.signum(Integer.compare(actual, SevenCardHandEvaluator.evaluate(other, 5))));
+    }
+  }
+
+  @Test
+  public void testRankTableMatchesRankMasks() {
+    // The table of rank combinations is filled from the rank masks, so every lookup must give the same rank
+    Random random = new Random(5003);
+    int[] deck = new int[CardF.DECK_SIZE];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = i;
+    }
+    for (int trial = 0; trial < 200000; trial++) {
+      long bits = 0;
+      for (int i = 0; i < 7; i++) {
+        int j = i + random.nextInt(deck.length - i);
+        int swap = deck[i];
+        deck[i] = deck[j];
+        deck[j] = swap;
+        bits |= SevenCardHandEvaluator.cardBits(deck[i]);
+        if (i >= 4) {
+          assertEquals(Arrays.toString(Arrays.copyOf(deck, i + 1)), SevenCardHandEvaluator.evaluateBits(bits, i + 1),
+              SevenCardHandEvaluator.evaluate(deck, i + 1));
+        }
+      }
+      assertEquals(SevenCardHandEvaluator.evaluateBits(bits, 7),
+          SevenCardHandEvaluator.evaluate(deck[0], deck[1], deck[2], deck[3], deck[4], deck[5], deck[6]));
+    }
+  }
+
+  @Test
+  public void testSevenArgumentOverload() {
+    int[] hand = {48, 44, 40, 36, 32, 0, 5};  // A, K, Q, J, 10 of spades plus two deuces
+    assertEquals(SevenCardHandEvaluator.evaluate(hand, 7),
+        SevenCardHandEvaluator.evaluate(48, 44, 40, 36, 32, 0, 5));
+    assertEquals(SevenCardHandEvaluator.STRAIGHT_FLUSH,
+        SevenCardHandEvaluator.categoryOf(SevenCardHandEvaluator.evaluate(hand, 7)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooFewCards() {
+    new SevenCardHandEvaluator(cards("AS", "KS", "QS", "JS")).calculateScore();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateCards() {
+    new SevenCardHandEvaluator(cards("AS", "AS", "QS", "JS", "2D")).calculateScore();
+  }
+
+  @Test
+  public void testArrayOverloadChecksCards() {
+    int[] hand = {48, 44, 40, 36, 32, 0, 5, 9};
+    for (int count : new int[] {0, 4, 8}) {
+      try {
+        SevenCardHandEvaluator.evaluate(hand, count);
+        fail("Ranked " + count + " cards");
+      } catch (IllegalArgumentException expected) {
+        // Only five to seven cards make a hand
+      }
+    }
+    int[] repeated = {48, 44, 40, 36, 48, 0, 5};
+    for (int count = 5; count <= 7; count++) {
+      try {
+        SevenCardHandEvaluator.evaluate(repeated, count);
+        fail("Ranked a repeated card among " + count + " cards");
+      } catch (IllegalArgumentException expected) {
+        // The repeated ace of spades is caught
+      }
+    }
+  }
+
+  @Test(expected = AssertionError.class)
+  public void testSevenArgumentOverloadAssertsDistinctCards() {
+    SevenCardHandEvaluator.evaluate(48, 44, 40, 36, 32, 0, 48);
+  }
+
+  @Test
+  public void testPositionAdviceUsesHoleCards() {
+    SevenCardHandEvaluator evaluator = new SevenCardHandEvaluator(cards("AH", "KH", "2S", "7D", "9C"));
+    TexasHoldemHandEvaluator preflop = new TexasHoldemHandEvaluator(cards("AH", "KH"));
+    assertEquals(preflop.getPositionBasedComments(), evaluator.getPositionBasedComments());
+  }
+
+  /**
+   * Reference ranking: the best straightforward five-card rank over every five-card subset.
+   */
+  private int bestOfFive(int[] hand) {
+    int best = -1;
+    int n = hand.length;
+    for (int a = 0; a < n; a++) {
+      for (int b = a + 1; b < n; b++) {
+        for (int c = b + 1; c < n; c++) {
+          for (int d = c + 1; d < n; d++) {
+            for (int e = d + 1; e < n; e++) {
+              best = Math.max(best, rankFive(new int[] {hand[a], hand[b], hand[c], hand[d], hand[e]}));
+            }
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Reference ranking of exactly five cards: category in the high bits, then ranks ordered by count and rank.
+   */
+  private int rankFive(int[] five) {
+    int[] counts = new int[13];
+    boolean flush = true;
+    for (int card : five) {
+      counts[CardF.rankOf(card)]++;
+      flush &= CardF.suitOf(card) == CardF.suitOf(five[0]);
+    }
+    int straightHigh = -1;
+    for (int high = 12; high >= 4 && straightHigh < 0; high--) {
+      boolean run = true;
+      for (int r = high - 4; r <= high; r++) {
+        run &= counts[r] == 1;
+      }
+      if (run) {
+        straightHigh = high;
+      }
+    }
+    if (straightHigh < 0 && counts[12] == 1 && counts[0] == 1 && counts[1] == 1 && counts[2] == 1 && counts[3] == 1) {
+      straightHigh = 3;
+    }
+    // Order ranks by count, then by rank
+    int kickers = 0;
+    for (int count = 4; count >= 1; count--) {
+      for (int r = 12; r >= 0; r--) {
+        if (counts[r] == count) {
+          kickers = kickers * 13 + r;
+        }
+      }
+    }
+    int maxCount = 0;
+    int pairs = 0;
+    for (int count : counts) {
+      maxCount = Math.max(maxCount, count);
+      pairs += count == 2 ? 1 : 0;
+    }
+    int category;
+    if (straightHigh >= 0 && flush) {
+      category = 8;
+      kickers = straightHigh;
+    } else if (maxCount == 4) {
+      category = 7;
+    } else if (maxCount == 3 && pairs == 1) {
+      category = 6;
+    } else if (flush) {
+      category = 5;
+    } else if (straightHigh >= 0) {
+      category = 4;
+      kickers = straightHigh;
+    } else if (maxCount == 3) {
+      category = 3;
+    } else if (pairs == 2) {
+      category = 2;
+    } else if (pairs == 1) {
+      category = 1;
+    } else {
+      category = 0;
+    }
+    return (category << 20) | kickers;
+  }
+}
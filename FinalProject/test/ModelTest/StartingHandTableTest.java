@@ -0,0 +1,131 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test class for {@code StartingHandTable}. Verifies that the precomputed table agrees with the rule-based
+ * evaluation in {@code TexasHoldemHandEvaluator} for every two-card starting hand.
+ */
+public class StartingHandTableTest {
+  private static final String[] VALUES = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+  private static final String[] SUITS = {"S", "H", "C", "D"};
+
+  /**
+   * Builds all 52 cards of a standard deck.
+   *
+   * @return the deck of cards.
+   */
+  private CardF[] deck() {
+    CardF[] deck = new CardF[52];
+    for (int i = 0; i < 52; i++) {
+      deck[i] = new CardF(VALUES[i / 4], SUITS[i % 4]);
+    }
+    return deck;
+  }
+
+  /**
+   * Tests that the table matches the rule-based score, combination and decisions for all 1,326 combinations,
+   * in both card orders.
+   */
+  @Test
+  public void testTableMatchesRulesForEveryCombination() {
+    CardF[] deck = deck();
+    int combinations = 0;
+    for (int i = 0; i < 52; i++) {
+      for (int j = 0; j < 52; j++) {
+        if (i == j) {
+          continue;
+        }
+        TexasHoldemHandEvaluator evaluator = new TexasHoldemHandEvaluator(Arrays.asList(deck[i], deck[j]));
+        int expectedScore = TexasHoldemHandEvaluator.ruleBasedScore(deck[i], deck[j]);
+        assertEquals("Score mismatch for " + deck[i] + " and " + deck[j],
+            expectedScore, evaluator.calculateScore());
+        assertEquals("Combination mismatch for " + deck[i] + " and " + deck[j],
+            TexasHoldemHandEvaluator.ruleBasedCombination(deck[i], deck[j]), evaluator.getHandCombination());
+        assertEquals("Decision mismatch for " + deck[i] + " and " + deck[j],
+            evaluator.getPositionDecisions(expectedScore),
+            StartingHandTable.getDecisions(StartingHandTable.classOf(deck[i], deck[j])));
+        if (i < j) {
+          combinations++;
+        }
+      }
+    }
+    assertEquals(StartingHandTable.COMBINATION_COUNT, combinations);
+  }
+
+  /**
+   * Tests that the combinations collapse into exactly 169 classes with the expected number of combinations each.
+   */
+  @Test
+  public void testClassCounts() {
+    CardF[] deck = deck();
+    int[] counts = new int[StartingHandTable.CLASS_COUNT];
+    Set<Integer> classes = new HashSet<>();
+    for (int i = 0; i < 52; i++) {
+      for (int j = i + 1; j < 52; j++) {
+        int handClass = StartingHandTable.classOf(deck[i], deck[j]);
+        assertEquals("Class should not depend on card order", handClass,
+            StartingHandTable.classOf(deck[j], deck[i]));
+        counts[handClass]++;
+        classes.add(handClass);
+      }
+    }
+    assertEquals(StartingHandTable.CLASS_COUNT, classes.size());
+    assertEquals("Pairs have 6 combinations", 6, counts[StartingHandTable.classOf(12, 12, false)]);
+    assertEquals("Suited hands have 4 combinations", 4, counts[StartingHandTable.classOf(12, 11, true)]);
+    assertEquals("Offsuit hands have 12 combinations", 12, counts[StartingHandTable.classOf(12, 11, false)]);
+  }
+
+  /**
+   * Tests that the same card twice is not a table entry and still evaluates through the rules.
+   */
+  @Test
+  public void testSameCardTwiceFallsBackToRules() {
+    CardF aceOfHearts = new CardF("A", "H");
+    assertEquals(-1, StartingHandTable.classOf(aceOfHearts, new CardF("A", "H")));
+    TexasHoldemHandEvaluator evaluator =
+        new TexasHoldemHandEvaluator(Arrays.asList(aceOfHearts, new CardF("A", "H")));
+    assertEquals("Pair", evaluator.getHandCombination());
+    assertEquals(TexasHoldemHandEvaluator.ruleBasedScore(aceOfHearts, aceOfHearts), evaluator.calculateScore());
+  }
+
+  @Test
+  public void testEnumLookupsMatchStringMaps() {
+    for (int first = 0; first < CardF.DECK_SIZE; first++) {
+      for (int second = 0; second < CardF.DECK_SIZE; second++) {
+        if (first == second) {
+          continue;
+        }
+        CardF card1 = CardF.of(first);
+        CardF card2 = CardF.of(second);
+        TexasHoldemHandEvaluator evaluator = new TexasHoldemHandEvaluator(Arrays.asList(card1, card2));
+        Map<String, String> decisions = evaluator.getPositionDecisions(evaluator.calculateScore());
+        Map<String, String> comments = evaluator.getPositionBasedComments();
+        HandEvaluation evaluation = HandEvaluation.of(card1, card2);
+        for (Position position : Position.values()) {
+          assertEquals(decisions.get(position.getLabel()), evaluator.getPositionAction(position).getLabel());
+          assertEquals(comments.get(position.getLabel()), evaluator.getPositionComment(position));
+          assertSame(evaluator.getPositionComment(position), evaluation.getComment(position));
+          assertEquals(evaluator.getPositionAction(position), evaluation.getAction(position));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEnumLabels() {
+    for (Position position : Position.values()) {
+      assertSame(position, Position.fromLabel(position.getLabel()));
+    }
+    for (HandCombination combination : HandCombination.values()) {
+      assertSame(combination, HandCombination.fromLabel(combination.getLabel()));
+      assertEquals(combination.getLabel(), StartingHandTable.getCombinationName(combination.ordinal()));
+    }
+    assertNull(Position.fromLabel("Button"));
+    assertEquals(Action.BET, Action.forScore(21, 20));
+    assertEquals(Action.FOLD, Action.forScore(20, 20));
+  }
+}
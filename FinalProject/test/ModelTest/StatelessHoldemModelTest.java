@@ -0,0 +1,103 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for {@code StatelessHoldemModel} and {@code HandEvaluation}. Verifies that evaluations match the
+ * stateful model, are immutable, and stay correct when one instance is shared by 1,000 threads.
+ */
+public class StatelessHoldemModelTest {
+  private final StatelessHoldemModel model = new StatelessHoldemModel();
+
+  /**
+   * Tests that an evaluation carries the same information as the stateful model.
+   */
+  @Test
+  public void testEvaluateMatchesHoldemModel() {
+    HoldemModel holdemModel = new HoldemModel();
+    holdemModel.createHand("Q", "C", "Q", "D");
+    HandEvaluation evaluation = model.evaluate("Q", "C", "Q", "D");
+    assertEquals(holdemModel.calculateScore(), evaluation.getScore());
+    assertEquals(holdemModel.getHandCombination(), evaluation.getCombination());
+    assertEquals(holdemModel.getPositionDecisions(), evaluation.getDecisions());
+    assertEquals(holdemModel.getPositionBasedComments(), evaluation.getComments());
+    assertEquals(CardF.of("Q", "C"), evaluation.getFirstCard());
+  }
+
+  /**
+   * Tests that the maps of an evaluation cannot be modified.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testEvaluationIsImmutable() {
+    model.evaluate("A", "H", "K", "H").getDecisions().put("Early Position(Bet > 20)", "Fold");
+  }
+
+  /**
+   * Tests that the stateful model no longer exposes its internal card list.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testHoldemModelCardsAreNotLeaked() {
+    HoldemModel holdemModel = new HoldemModel();
+    holdemModel.createHand("A", "H", "K", "D");
+    holdemModel.getCards().clear();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEncodedHand() {
+    model.evaluate(-1);
+  }
+
+  /**
+   * Evaluates every hand from 1,000 virtual threads sharing one instance and checks every result against a
+   * single-threaded evaluation.
+   */
+  @Test
+  public void testSharedAcrossThousandThreads() throws Exception {
+    int deck = CardF.DECK_SIZE;
+    int[] expectedScores = new int[deck * deck];
+    String[] expectedCombinations = new String[deck * deck];
+    Map<?, ?>[] expectedComments = new Map<?, ?>[deck * deck];
+    for (int hand = 0; hand < deck * deck; hand++) {
+      if (hand / deck != hand % deck) {
+        HandEvaluation evaluation = model.evaluate(hand);
+        expectedScores[hand] = evaluation.getScore();
+        expectedCombinations[hand] = evaluation.getCombination();
+        expectedComments[hand] = evaluation.getComments();
+      }
+    }
+
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int thread = 0; thread < 1000; thread++) {
+      int offset = thread * 37;
+      futures.add(executor.submit(() -> {
+        int checked = 0;
+        for (int i = 0; i < 200; i++) {
+          int hand = (offset + i * 131) % (deck * deck);
+          if (hand / deck == hand % deck) {
+            continue;
+          }
+          HandEvaluation evaluation = model.evaluate(hand);
+          assertEquals(expectedScores[hand], evaluation.getScore());
+          assertEquals(expectedCombinations[hand], evaluation.getCombination());
+          assertEquals(expectedComments[hand], evaluation.getComments());
+          checked++;
+        }
+        return checked;
+      }));
+    }
+    int checked = 0;
+    for (Future<Integer> future : futures) {
+      checked += future.get();
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertTrue("Most evaluations should have been checked", checked > 190000);
+  }
+}
@@ -0,0 +1,142 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Test class for {@code StrategyProfile} and swapping the strategy of the {@code StartingHandTable}.
+ */
+public class StrategyProfileTest {
+
+  @After
+  public void restoreDefaultStrategy() {
+    StartingHandTable.setStrategyProfile(StrategyProfile.DEFAULT);
+  }
+
+  @Test
+  public void testDefaultProfile() {
+    StrategyProfile profile = StrategyProfile.DEFAULT;
+    assertEquals(15, profile.getPairBonus());
+    assertEquals(7, profile.getSuitedBonus());
+    assertEquals(7, profile.getHighCardsBonus());
+    assertEquals(3, profile.getConnectedBonus());
+    assertEquals(20, profile.getThreshold(Position.EARLY));
+    assertEquals(15, profile.getThreshold(Position.MIDDLE));
+    assertEquals(12, profile.getThreshold(Position.LATE));
+    // (14 + 13) / 2 + 7 suited + 7 high cards + 3 connected
+    assertEquals(30, profile.score(new CardF("A", "S"), new CardF("K", "S")));
+  }
+
+  @Test
+  public void testPropertiesFallBackToDefaults() {
+    Properties properties = new Properties();
+    properties.setProperty("name", "loose");
+    properties.setProperty("threshold.early", " 12 ");
+    StrategyProfile profile = StrategyProfile.fromProperties(properties);
+    assertEquals("loose", profile.getName());
+    assertEquals(12, profile.getThreshold(Position.EARLY));
+    assertEquals(15, profile.getThreshold(Position.MIDDLE));
+    assertEquals(15, profile.getPairBonus());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidValue() {
+    Properties properties = new Properties();
+    properties.setProperty("score.pair", "lots");
+    StrategyProfile.fromProperties(properties);
+  }
+
+  @Test
+  public void testShippedConfigIsTheDefault() throws IOException {
+    StrategyProfile profile = StrategyProfile.load(Paths.get("config", "strategy.properties"));
+    assertEquals(StrategyProfile.DEFAULT.toString(), profile.toString());
+  }
+
+  @Test
+  public void testSwapRebuildsDecisions() {
+    CardF sevenSpades = new CardF("7", "S");
+    CardF twoHearts = new CardF("2", "H");
+    HandEvaluation before = HandEvaluation.of(sevenSpades, twoHearts);
+    assertEquals(Action.FOLD, before.getAction(Position.LATE));
+    long version = StartingHandTable.getStrategyVersion();
+
+    StartingHandTable.setStrategyProfile(new StrategyProfile("any-two", 15, 7, 7, 3, 0, 0, 0));
+    assertTrue(StartingHandTable.getStrategyVersion() > version);
+    HandEvaluation after = HandEvaluation.of(sevenSpades, twoHearts);
+    assertEquals(Action.BET, after.getAction(Position.EARLY));
+    assertEquals("Bet", after.getDecisions().get(Position.LATE.getLabel()));
+    assertEquals(Action.BET, new TexasHoldemHandEvaluator(Arrays.asList(sevenSpades, twoHearts))
+        .getPositionAction(Position.MIDDLE));
+    assertEquals("An evaluation made earlier keeps its strategy", Action.FOLD, before.getAction(Position.LATE));
+  }
+
+  @Test
+  public void testLabelsStateTheActiveThresholds() {
+    StrategyProfile tight = new StrategyProfile("tight", 15, 7, 7, 3, 25, 18, 8);
+    StartingHandTable.setStrategyProfile(tight);
+    assertEquals("Early Position(Bet > 25)", Position.EARLY.getLabel());
+    assertEquals("Late Position(Bet > 8)", tight.getLabel(Position.LATE));
+
+    HoldemModel model = new HoldemModel();
+    model.createHand("A", "S", "K", "S");
+    Map<String, String> decisions = model.getPositionDecisions();
+    Map<String, String> comments = model.getPositionBasedComments();
+    assertEquals(Set.of("Early Position(Bet > 25)", "Middle Position(Bet > 18)", "Late Position(Bet > 8)"),
+        decisions.keySet());
+    assertEquals(decisions.keySet(), comments.keySet());
+    assertTrue(comments.get("Early Position(Bet > 25)").contains("Betting early since"));
+    assertTrue(tight.toString().endsWith("thresholds early 25, middle 18, late 8"));
+  }
+
+  @Test
+  public void testLabelsOfAnyThresholdAreRecognized() {
+    assertSame(Position.MIDDLE, Position.fromLabel("Middle Position(Bet > 3)"));
+    assertSame(Position.LATE, Position.fromLabel("Late Position"));
+    assertNull(Position.fromLabel("Middle Position(Raise)"));
+  }
+
+  @Test
+  public void testBonusesChangeScores() {
+    StartingHandTable.setStrategyProfile(new StrategyProfile("big-pairs", 40, 7, 7, 3, 20, 15, 12));
+    int twos = StartingHandTable.classOf(CardF.indexOf("2", "S"), CardF.indexOf("2", "H"));
+    assertEquals(2 + 40, StartingHandTable.getScore(twos));
+    HandBatchResult batch = HoldemModel.evaluateBatch(new int[] {CardF.indexOf("2", "S") * CardF.DECK_SIZE
+        + CardF.indexOf("2", "H")});
+    assertEquals(42, batch.getScore(0));
+  }
+
+  @Test
+  public void testReloadInBackground() throws Exception {
+    Path file = Files.createTempFile("strategy", ".properties");
+    try {
+      Files.writeString(file, "name=tight\nthreshold.late=40\n");
+      StrategyProfile loaded = new HoldemModel().reloadStrategy(file).get();
+      assertEquals("tight", loaded.getName());
+      assertEquals("tight", StartingHandTable.getStrategyProfile().getName());
+      int aces = StartingHandTable.classOf(CardF.indexOf("A", "S"), CardF.indexOf("A", "H"));
+      assertEquals(Action.FOLD, StartingHandTable.getAction(aces, Position.LATE));
+      assertEquals(Action.BET, StartingHandTable.getAction(aces, Position.EARLY));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testFailedReloadKeepsStrategy() throws InterruptedException {
+    StrategyProfile active = StartingHandTable.getStrategyProfile();
+    try {
+      StartingHandTable.reloadStrategyProfile(Paths.get("no-such-strategy.properties")).get();
+      fail("Expected the reload to fail");
+    } catch (ExecutionException e) {
+      assertSame(active, StartingHandTable.getStrategyProfile());
+    }
+  }
+}
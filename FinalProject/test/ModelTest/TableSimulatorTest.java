@@ -0,0 +1,61 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Test class for {@code TableSimulator}.
+ */
+public class TableSimulatorTest {
+
+  @Test
+  public void testTotalsAreConsistent() {
+    SimulationSummary summary = new TableSimulator(6).simulate(50, 200, 5004);
+    assertEquals(50, summary.getTables());
+    assertEquals(6, summary.getSeatsPerTable());
+    assertEquals(50 * 200, summary.getHands());
+    assertTrue(summary.getShowdowns() + summary.getUncontested() <= summary.getHands());
+    assertTrue(summary.getSplitPots() <= summary.getShowdowns());
+    assertTrue("Strong hands should bet sometimes", summary.getBets() > 0);
+    assertTrue(summary.getBets() >= summary.getUncontested() + 2 * summary.getShowdowns());
+    assertTrue(summary.getHandsPerSecond() > 0);
+  }
+
+  @Test
+  public void testSameSeedGivesSameTotals() {
+    SimulationSummary first = new TableSimulator(9).simulate(20, 500, 42);
+    SimulationSummary second = new TableSimulator(9).simulate(20, 500, 42);
+    assertEquals(first.getShowdowns(), second.getShowdowns());
+    assertEquals(first.getUncontested(), second.getUncontested());
+    assertEquals(first.getSplitPots(), second.getSplitPots());
+    assertEquals(first.getBets(), second.getBets());
+  }
+
+  @Test
+  public void testPositions() {
+    // 6-max: two seats per position, the button acts last
+    assertEquals(Position.EARLY, TableSimulator.positionOf(0, 6));
+    assertEquals(Position.EARLY, TableSimulator.positionOf(1, 6));
+    assertEquals(Position.MIDDLE, TableSimulator.positionOf(2, 6));
+    assertEquals(Position.MIDDLE, TableSimulator.positionOf(3, 6));
+    assertEquals(Position.LATE, TableSimulator.positionOf(5, 6));
+    // 9-max: three seats per position
+    assertEquals(Position.EARLY, TableSimulator.positionOf(2, 9));
+    assertEquals(Position.MIDDLE, TableSimulator.positionOf(3, 9));
+    assertEquals(Position.LATE, TableSimulator.positionOf(8, 9));
+  }
+
+  @Test
+  public void testModelRunsSimulation() {
+    SimulationSummary summary = new HoldemModel().simulateTables(6, 4, 100, 1);
+    assertEquals(400, summary.getHands());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManySeats() {
+    new TableSimulator(10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoTables() {
+    new TableSimulator(6).simulate(0, 10, 1);
+  }
+}
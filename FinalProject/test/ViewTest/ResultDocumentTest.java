@@ -0,0 +1,124 @@
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import view.ResultDocument;
+
+/**
+ * Tests for {@code ResultDocument}, drawing into a {@code PlainDocument} so no display is needed.
+ */
+public class ResultDocumentTest {
+  private PlainDocument document;
+  private List<DocumentEvent> edits;
+
+  @Before
+  public void setUp() {
+    document = new PlainDocument();
+    edits = new ArrayList<>();
+    document.addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        edits.add(e);
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        edits.add(e);
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        edits.add(e);
+      }
+    });
+  }
+
+  private String text() throws BadLocationException {
+    return document.getText(0, document.getLength());
+  }
+
+  @Test
+  public void testFirstUpdateIsDrawnAtOnce() throws BadLocationException {
+    ResultDocument results = new ResultDocument(document, 1000);
+    results.append("Hand: AK\n\n");
+    assertEquals("Hand: AK\n\n", text());
+  }
+
+  @Test
+  public void testOnlyChangedCharactersAreEdited() throws BadLocationException {
+    ResultDocument results = new ResultDocument(document, 1000);
+    results.clear();
+    results.append("Equity: 52.3%\n\n");
+    results.append("Decisions:\nLate Position: Bet\n\n");
+    results.flush();
+    edits.clear();
+
+    results.clear();
+    results.append("Equity: 52.7%\n\n");
+    results.append("Decisions:\nLate Position: Bet\n\n");
+    assertEquals("Equity: 52.3%\n\nDecisions:\nLate Position: Bet\n\n", text());
+    results.flush();
+
+    assertEquals("Equity: 52.7%\n\nDecisions:\nLate Position: Bet\n\n", text());
+    assertEquals(2, edits.size());
+    for (DocumentEvent edit : edits) {
+      assertEquals(11, edit.getOffset());
+      assertEquals(1, edit.getLength());
+    }
+  }
+
+  @Test
+  public void testSectionsAreAddedAndRemovedAtTheEnd() throws BadLocationException {
+    ResultDocument results = new ResultDocument(document, 0);
+    results.append("one\n");
+    results.append("two\n");
+    results.append("three\n");
+    assertEquals("one\ntwo\nthree\n", text());
+
+    results.clear();
+    results.append("one\n");
+    results.flush();
+    assertEquals("one\n", text());
+
+    results.append("four\n");
+    assertEquals("one\nfour\n", text());
+  }
+
+  @Test
+  public void testBurstOfUpdatesIsMerged() throws Exception {
+    ResultDocument results = new ResultDocument(document, 200);
+    for (int i = 0; i < 10_000; i++) {
+      results.clear();
+      results.append("Run-outs: " + i + "\n");
+    }
+    assertEquals("Run-outs: 9999\n", results.getText());
+
+    Thread.sleep(500);
+    // The timer draws on the Event Dispatch Thread; wait for anything it queued
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals("Run-outs: 9999\n", text());
+    assertTrue("Expected only a few edits but saw " + edits.size(), edits.size() <= 4);
+  }
+
+  @Test
+  public void testOutsideEditIsRedrawnFromScratch() throws BadLocationException {
+    ResultDocument results = new ResultDocument(document, 0);
+    results.append("Hand: AK\n");
+    document.insertString(0, "noise", null);
+
+    results.append("Decisions:\n");
+    assertEquals("Hand: AK\nDecisions:\n", text());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeRefreshIsRejected() {
+    new ResultDocument(document, -1);
+  }
+}